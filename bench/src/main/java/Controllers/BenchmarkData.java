@@ -0,0 +1,197 @@
+package Controllers;
+
+import Model.Appointment;
+import Model.Customer;
+import Model.Record;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetProvider;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+
+/**
+ * the fixture shared by the benchmark suites. it points the app at an in-memory embedded database, fills it with
+ * -Dbench.customers (1000) customers and -Dbench.appointments (10000) appointments and sets up the resource bundle the
+ * models and reports read their labels from. the rows are the same on every run: appointment i belongs to customer
+ * i % customers and falls on day i / customers at hour 9 + i % 10, so no customer has two appointments on a day and
+ * every appointment passes validation and the overlap check
+ */
+final class BenchmarkData extends Base {
+    static final int customers = Integer.getInteger("bench.customers", 1000);
+    static final int appointments = Integer.getInteger("bench.appointments", 10000);
+    static final String[] types = {"Planning Session", "De-Briefing", "Follow Up", "Consultation", "Review"};
+    static final String[] locations = {"Phoenix, Arizona", "White Plains, New York", "Montreal, Canada", "London, England"};
+    private static final LocalDateTime firstDay = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final int batchSize = 1000;
+    private static boolean opened = false;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * sets up the database and the bundle once per benchmark process
+     *
+     * @throws SQLException any exception while filling the database
+     */
+    static synchronized void open() throws SQLException {
+        if (opened) return;
+        setBundle();
+        setDataSource(new EmbeddedDataSource(EmbeddedDataSource.memoryUrl));
+        try (Connection connection = new BenchmarkData().openConnection()) {
+            fill(connection);
+        }
+        opened = true;
+    }
+
+    /**
+     * @return a new connection to the benchmark database
+     */
+    static Connection connect() {
+        return new BenchmarkData().openConnection();
+    }
+
+    /**
+     * runs a query and keeps its rows in memory, so mapping benchmarks measure the mapping and not the database
+     *
+     * @param query the query
+     * @return the rows, positioned before the first one
+     * @throws SQLException any exception while running the query
+     */
+    static CachedRowSet cache(String query) throws SQLException {
+        final CachedRowSet rows = RowSetProvider.newFactory().createCachedRowSet();
+        try (
+                Connection connection = connect();
+                PreparedStatement stmt = connection.prepareStatement(query);
+                ResultSet rs = stmt.executeQuery()
+        ) {
+            rows.populate(rs);
+        }
+        return rows;
+    }
+
+    /**
+     * @param i the index of the appointment
+     * @return the appointment with the values the database is filled with
+     */
+    static Appointment appointment(int i) {
+        final LocalDateTime start = firstDay.plusDays(i / customers).withHour(9 + i % 10);
+        return new Appointment(i + 1,
+                "Appointment " + (i + 1),
+                "Description of appointment " + (i + 1),
+                locations[i % locations.length],
+                types[i % types.length],
+                start,
+                start.plusMinutes(30),
+                i % customers + 1,
+                i % 2 + 1,
+                i % 3 + 1);
+    }
+
+    /**
+     * @param i the index of the customer
+     * @return the customer with the values the database is filled with
+     */
+    static Customer customer(int i) {
+        return new Customer(i + 1,
+                "Customer " + (i + 1),
+                (i + 1) + " Main Street",
+                String.format("%05d", i),
+                String.format("555-%03d-%04d", i % 1000, i),
+                i % 49 + 1);
+    }
+
+    /**
+     * adds the generated customers and appointments after the sample data, unless they are already there
+     */
+    private static void fill(Connection connection) throws SQLException {
+        try (
+                PreparedStatement stmt = connection.prepareStatement("SELECT COUNT(*) FROM appointments");
+                ResultSet rs = stmt.executeQuery()
+        ) {
+            rs.next();
+            if (rs.getInt(1) >= appointments) return;
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement stmt = connection.prepareStatement("DELETE FROM appointments")) {
+            stmt.executeUpdate();
+        }
+        try (PreparedStatement stmt = connection.prepareStatement("DELETE FROM customers")) {
+            stmt.executeUpdate();
+        }
+        try (PreparedStatement stmt = connection.prepareStatement("INSERT INTO customers " +
+                "(Customer_ID, Customer_Name, Address, Postal_Code, Phone, Division_ID, Created_By, Last_Updated_By) " +
+                "VALUES (?, ?, ?, ?, ?, ?, 'bench', 'bench')")) {
+            for (int i = 0; i < customers; i++) {
+                final Customer customer = customer(i);
+                stmt.setLong(1, customer.getId());
+                stmt.setString(2, customer.getName());
+                stmt.setString(3, customer.getAddress());
+                stmt.setString(4, customer.getPostalCode());
+                stmt.setString(5, customer.getPhone());
+                stmt.setLong(6, customer.getDivisionId());
+                stmt.addBatch();
+                if (i % batchSize == batchSize - 1) stmt.executeBatch();
+            }
+            stmt.executeBatch();
+        }
+        try (PreparedStatement stmt = connection.prepareStatement("INSERT INTO appointments " +
+                "(Appointment_ID, Title, Description, `Location`, `Type`, `Start`, `End`, Customer_ID, User_ID, " +
+                "Contact_ID, Created_By, Last_Updated_By) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'bench', 'bench')")) {
+            for (int i = 0; i < appointments; i++) {
+                final Appointment appointment = appointment(i);
+                stmt.setLong(1, appointment.getId());
+                stmt.setString(2, appointment.getTitle());
+                stmt.setString(3, appointment.getDescription());
+                stmt.setString(4, appointment.getLocation());
+                stmt.setString(5, appointment.getType());
+                stmt.setTimestamp(6, Timestamp.valueOf(appointment.getStart()));
+                stmt.setTimestamp(7, Timestamp.valueOf(appointment.getEnd()));
+                stmt.setLong(8, appointment.getCustomerId());
+                stmt.setLong(9, appointment.getUserId());
+                stmt.setLong(10, appointment.getContactId());
+                stmt.addBatch();
+                if (i % batchSize == batchSize - 1) stmt.executeBatch();
+            }
+            stmt.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    /**
+     * uses the app's bundle when it is on the class path, otherwise every label is its own key
+     */
+    private static void setBundle() {
+        ResourceBundle appBundle;
+        try {
+            appBundle = ResourceBundle.getBundle("App", Locale.US);
+        } catch (MissingResourceException ex) {
+            appBundle = new KeyBundle();
+        }
+        bundle = appBundle;
+        Record.bundle = appBundle;
+        Record.locale = Locale.US;
+    }
+
+    private static final class KeyBundle extends ResourceBundle {
+        @Override
+        protected Object handleGetObject(String key) {
+            return key;
+        }
+
+        @Override
+        public Enumeration<String> getKeys() {
+            return Collections.emptyEnumeration();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package Controllers;
+
+import Model.Appointment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * formatting appointment dates for the table and for SQL. the appointments are cycled through so the memoized display
+ * strings are measured as they are used, once per row, rather than as a single cached value
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateFormatBenchmark {
+    private static final int rows = 1024;
+    private final Appointment[] appointments = new Appointment[rows];
+    private int next = 0;
+
+    @Setup
+    public void setUp() throws SQLException {
+        BenchmarkData.open();
+        for (int i = 0; i < rows; i++) {
+            appointments[i] = BenchmarkData.appointment(i);
+        }
+    }
+
+    private Appointment nextAppointment() {
+        next = (next + 1) & (rows - 1);
+        return appointments[next];
+    }
+
+    @Benchmark
+    public String formatLocalDate() {
+        return Appointment.formatLocalDate(nextAppointment().getStart());
+    }
+
+    @Benchmark
+    public String getSQLStart() {
+        return nextAppointment().getSQLStart();
+    }
+
+    @Benchmark
+    public String getFormattedStart() {
+        return nextAppointment().getFormattedStart();
+    }
+}
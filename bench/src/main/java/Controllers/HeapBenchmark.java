@@ -0,0 +1,116 @@
+package Controllers;
+
+import Model.Appointment;
+import Model.AppointmentStore;
+import Model.StringDictionary;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the heap a synthetic 1M-row appointment table keeps alive, reported as the retainedBytes counter. every row gets
+ * fresh type and location strings the way a JDBC driver hands them out, and the variants keep them as they are, share
+ * them through StringDictionary like AppointmentTable#readRecord does, or dictionary encode them in the columnar
+ * AppointmentStore. -Dbench.heapRows changes the number of rows
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class HeapBenchmark {
+    private static final int rows = Integer.getInteger("bench.heapRows", 1_000_000);
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    @Setup
+    public void setUp() throws SQLException {
+        BenchmarkData.open();
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Heap {
+        public long retainedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            retainedBytes = 0;
+        }
+    }
+
+    @Benchmark
+    public Object copiedStrings(Heap heap) {
+        final long before = usedAfterGc();
+        final List<Appointment> appointments = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            final Appointment appointment = BenchmarkData.appointment(i);
+            appointment.setType(new String(appointment.getType()));
+            appointment.setLocation(new String(appointment.getLocation()));
+            appointments.add(appointment);
+        }
+        heap.retainedBytes = usedAfterGc() - before;
+        return appointments;
+    }
+
+    @Benchmark
+    public Object sharedStrings(Heap heap) {
+        final long before = usedAfterGc();
+        final List<Appointment> appointments = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            final Appointment appointment = BenchmarkData.appointment(i);
+            appointment.setType(StringDictionary.types.intern(new String(appointment.getType())));
+            appointment.setLocation(StringDictionary.locations.intern(new String(appointment.getLocation())));
+            appointments.add(appointment);
+        }
+        heap.retainedBytes = usedAfterGc() - before;
+        return appointments;
+    }
+
+    @Benchmark
+    public Object columnarStore(Heap heap) {
+        final long before = usedAfterGc();
+        final AppointmentStore store = new AppointmentStore();
+        for (int i = 0; i < rows; i++) {
+            final Appointment appointment = BenchmarkData.appointment(i);
+            store.add(appointment.getId(),
+                    appointment.getTitle(),
+                    appointment.getDescription(),
+                    new String(appointment.getLocation()),
+                    new String(appointment.getType()),
+                    appointment.getStart(),
+                    appointment.getEnd(),
+                    appointment.getCustomerId(),
+                    appointment.getUserId(),
+                    appointment.getContactId());
+        }
+        heap.retainedBytes = usedAfterGc() - before;
+        return store;
+    }
+
+    /**
+     * @return the bytes in use after a few full collections, so only reachable objects are counted
+     */
+    private long usedAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,95 @@
+package Controllers;
+
+import Model.Customer;
+import Model.Division;
+import Model.DivisionIndex;
+import Model.LongMap;
+import Model.RecordIndex;
+import Model.StringDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the lookups every table cell and form makes: customers and divisions by id, with a boxed HashMap as the baseline for
+ * LongMap, customers by name prefix for the type-ahead, divisions by country and the type dictionary
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+    private final LongMap<Customer> customersById = new LongMap<>();
+    private final Map<Long, Customer> boxedCustomersById = new HashMap<>();
+    private RecordIndex<Customer> customerIndex;
+    private DivisionIndex divisionIndex;
+    private long next = 0;
+
+    @Setup
+    public void setUp() throws SQLException {
+        BenchmarkData.open();
+        customerIndex = new RecordIndex<>();
+        for (int i = 0; i < BenchmarkData.customers; i++) {
+            final Customer customer = BenchmarkData.customer(i);
+            customersById.put(customer.getId(), customer);
+            boxedCustomersById.put(customer.getId(), customer);
+            customerIndex.put(customer);
+        }
+        divisionIndex = ReferenceData.getInstance().get().getDivisionIndex();
+    }
+
+    private long nextId() {
+        next = next % BenchmarkData.customers + 1;
+        return next;
+    }
+
+    @Benchmark
+    public Customer longMapGet() {
+        return customersById.get(nextId());
+    }
+
+    @Benchmark
+    public Customer boxedHashMapGet() {
+        return boxedCustomersById.get(nextId());
+    }
+
+    @Benchmark
+    public Customer recordIndexGet() {
+        return customerIndex.get(nextId());
+    }
+
+    @Benchmark
+    public List<Customer> recordIndexSearch() {
+        return customerIndex.search("Customer 1", 10);
+    }
+
+    @Benchmark
+    public Division divisionById() {
+        return divisionIndex.getDivision(nextId() % 49 + 1);
+    }
+
+    @Benchmark
+    public List<Division> divisionsByCountry() {
+        return divisionIndex.getDivisions(nextId() % 3 + 1);
+    }
+
+    @Benchmark
+    public int encodeType() {
+        return StringDictionary.types.encode(BenchmarkData.types[(int) (nextId() % BenchmarkData.types.length)]);
+    }
+}
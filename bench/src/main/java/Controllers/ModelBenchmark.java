@@ -0,0 +1,72 @@
+package Controllers;
+
+import Model.Appointment;
+import Model.Customer;
+import Model.Record;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Record#validate() and Model#applyChanges(Object), which run every time a form is saved and every time the change
+ * feed patches a row
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+    private Appointment appointment;
+    private Appointment editedAppointment;
+    private Customer customer;
+    private Customer editedCustomer;
+
+    @Setup
+    public void setUp() throws SQLException {
+        BenchmarkData.open();
+        appointment = BenchmarkData.appointment(0);
+        editedAppointment = BenchmarkData.appointment(0);
+        editedAppointment.setTitle("Edited title");
+        final LocalDateTime start = appointment.getStart().plusHours(1);
+        editedAppointment.setStart(start);
+        editedAppointment.setEnd(start.plusMinutes(45));
+        customer = BenchmarkData.customer(0);
+        editedCustomer = BenchmarkData.customer(0);
+        editedCustomer.setName("Edited name");
+    }
+
+    @Benchmark
+    public Appointment validateAppointment() throws Record.ValidationError {
+        appointment.validate();
+        return appointment;
+    }
+
+    @Benchmark
+    public Customer validateCustomer() throws Record.ValidationError {
+        customer.validate();
+        return customer;
+    }
+
+    @Benchmark
+    public Appointment applyAppointmentChanges() {
+        return appointment.copy().applyChanges(editedAppointment);
+    }
+
+    @Benchmark
+    public Customer applyCustomerChanges() {
+        return customer.copy().applyChanges(editedCustomer);
+    }
+}
@@ -0,0 +1,53 @@
+package Controllers;
+
+import Model.Appointment;
+import Model.RecordIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the overlap check that runs before an appointment is saved, against the embedded database. both appointments are
+ * free of overlaps, an overlap would show an alert
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OverlapBenchmark {
+    private AppointmentTable appointmentTable;
+    private Appointment existing;
+    private Appointment created;
+
+    @Setup
+    public void setUp() throws SQLException {
+        BenchmarkData.open();
+        appointmentTable = new AppointmentTable(new RecordIndex<>(), new EventBus(Runnable::run));
+        existing = BenchmarkData.appointment(BenchmarkData.appointments / 2);
+        // the day after the last generated appointment, which no customer has anything on
+        created = BenchmarkData.appointment(BenchmarkData.appointments + BenchmarkData.customers);
+        created.setId(0);
+    }
+
+    @Benchmark
+    public boolean updateExisting() {
+        return appointmentTable.canUpdate(existing);
+    }
+
+    @Benchmark
+    public boolean insertNew() {
+        return appointmentTable.canUpdate(created);
+    }
+}
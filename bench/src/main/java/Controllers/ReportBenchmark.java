@@ -0,0 +1,72 @@
+package Controllers;
+
+import Model.Appointment;
+import Model.Contact;
+import Model.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the report text of single records and the three reports rendered whole, queries included
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportBenchmark {
+    private final Report report = new Report();
+    private Appointment appointment;
+    private Customer customer;
+    private Contact contact;
+
+    @Setup
+    public void setUp() throws SQLException {
+        BenchmarkData.open();
+        appointment = BenchmarkData.appointment(0);
+        customer = BenchmarkData.customer(0);
+        contact = new Contact(1, "Anika Costa", "acoasta@company.com");
+    }
+
+    @Benchmark
+    public String appointmentReportString() {
+        return appointment.toReportString();
+    }
+
+    @Benchmark
+    public String customerReportString() {
+        return customer.toReportString();
+    }
+
+    @Benchmark
+    public String contactReportString() {
+        return contact.toReportString();
+    }
+
+    @Benchmark
+    public String appointmentsByMonthAndType() {
+        return report.report1();
+    }
+
+    @Benchmark
+    public String scheduleByContact() {
+        return report.report2();
+    }
+
+    @Benchmark
+    public String customersByDivision() {
+        return report.report3();
+    }
+}
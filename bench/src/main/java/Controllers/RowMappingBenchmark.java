@@ -0,0 +1,93 @@
+package Controllers;
+
+import Model.Appointment;
+import Model.Customer;
+import Model.RecordIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.sql.rowset.CachedRowSet;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * maps every appointment and customer row into its model. the cached variants read rows kept in memory, so they
+ * measure only the mapping, the query variants include the round trip to the embedded database
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMappingBenchmark {
+    private AppointmentTable appointmentTable;
+    private CachedRowSet appointmentRows;
+    private CachedRowSet customerRows;
+    private Connection connection;
+
+    @Setup
+    public void setUp() throws SQLException {
+        BenchmarkData.open();
+        appointmentTable = new AppointmentTable(new RecordIndex<>(), new EventBus(Runnable::run));
+        appointmentRows = BenchmarkData.cache(appointmentTable.getSelectStatement());
+        customerRows = BenchmarkData.cache(CustomerTable.customerQuery);
+        connection = BenchmarkData.connect();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void mapCachedAppointments(Blackhole blackhole) throws SQLException {
+        appointmentRows.beforeFirst();
+        while (appointmentRows.next()) {
+            blackhole.consume(appointmentTable.readRecord(appointmentRows));
+        }
+    }
+
+    @Benchmark
+    public List<Customer> mapCachedCustomers() throws SQLException {
+        customerRows.beforeFirst();
+        return CustomerTable.readCustomers(customerRows);
+    }
+
+    @Benchmark
+    public void queryAndMapAppointments(Blackhole blackhole) throws SQLException {
+        try (
+                PreparedStatement stmt = connection.prepareStatement(appointmentTable.getSelectStatement());
+                ResultSet rs = stmt.executeQuery()
+        ) {
+            while (rs.next()) {
+                final Appointment appointment = appointmentTable.readRecord(rs);
+                blackhole.consume(appointment);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Customer> queryAndMapCustomers() throws SQLException {
+        try (
+                PreparedStatement stmt = connection.prepareStatement(CustomerTable.customerQuery);
+                ResultSet rs = stmt.executeQuery()
+        ) {
+            return CustomerTable.readCustomers(rs);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+-- the change log read by Controllers.ChangeFeed so every client sees the writes of the others. run it once against the
+-- schema, the triggers record every insert, update and delete of customers and appointments, including the
+-- appointments deleted together with their customer
+
+CREATE TABLE IF NOT EXISTS change_log
+(
+    Version    BIGINT      NOT NULL AUTO_INCREMENT,
+    Entity     VARCHAR(32) NOT NULL,
+    Entity_ID  INT         NOT NULL,
+    Op         CHAR(1)     NOT NULL,
+    Changed_At TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (Version),
+    INDEX change_log_changed_at (Changed_At)
+);
+
+CREATE TRIGGER customers_log_insert AFTER INSERT ON customers FOR EACH ROW
+    INSERT INTO change_log (Entity, Entity_ID, Op) VALUES ('customers', NEW.Customer_ID, 'I');
+CREATE TRIGGER customers_log_update AFTER UPDATE ON customers FOR EACH ROW
+    INSERT INTO change_log (Entity, Entity_ID, Op) VALUES ('customers', NEW.Customer_ID, 'U');
+CREATE TRIGGER customers_log_delete AFTER DELETE ON customers FOR EACH ROW
+    INSERT INTO change_log (Entity, Entity_ID, Op) VALUES ('customers', OLD.Customer_ID, 'D');
+
+CREATE TRIGGER appointments_log_insert AFTER INSERT ON appointments FOR EACH ROW
+    INSERT INTO change_log (Entity, Entity_ID, Op) VALUES ('appointments', NEW.Appointment_ID, 'I');
+CREATE TRIGGER appointments_log_update AFTER UPDATE ON appointments FOR EACH ROW
+    INSERT INTO change_log (Entity, Entity_ID, Op) VALUES ('appointments', NEW.Appointment_ID, 'U');
+CREATE TRIGGER appointments_log_delete AFTER DELETE ON appointments FOR EACH ROW
+    INSERT INTO change_log (Entity, Entity_ID, Op) VALUES ('appointments', OLD.Appointment_ID, 'D');
+
+-- clients only read the entries written while they are running, so a day of history is plenty. needs the event
+-- scheduler, SET GLOBAL event_scheduler = ON
+CREATE EVENT IF NOT EXISTS change_log_prune ON SCHEDULE EVERY 1 HOUR DO
+    DELETE FROM change_log WHERE Changed_At < NOW() - INTERVAL 1 DAY;
@@ -0,0 +1,194 @@
+-- the schema and sample data of the embedded database, run by Controllers.EmbeddedDataSource the first time an empty
+-- database is opened. it mirrors the MySQL schema the app was written against, in the subset of SQL that H2 accepts in
+-- MySQL mode. the change_log triggers in change_log.sql are MySQL only, the change feed stops when the table is missing
+
+CREATE TABLE countries
+(
+    Country_ID      INT         NOT NULL AUTO_INCREMENT,
+    Country         VARCHAR(50),
+    Create_Date     DATETIME    DEFAULT CURRENT_TIMESTAMP,
+    Created_By      VARCHAR(50),
+    Last_Update     TIMESTAMP   DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    Last_Updated_By VARCHAR(50),
+    PRIMARY KEY (Country_ID)
+);
+
+CREATE TABLE first_level_divisions
+(
+    Division_ID     INT         NOT NULL AUTO_INCREMENT,
+    Division        VARCHAR(50),
+    Create_Date     DATETIME    DEFAULT CURRENT_TIMESTAMP,
+    Created_By      VARCHAR(50),
+    Last_Update     TIMESTAMP   DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    Last_Updated_By VARCHAR(50),
+    Country_ID      INT         NOT NULL,
+    PRIMARY KEY (Division_ID),
+    CONSTRAINT fk_country_id FOREIGN KEY (Country_ID) REFERENCES countries (Country_ID)
+);
+
+CREATE TABLE customers
+(
+    Customer_ID     INT         NOT NULL AUTO_INCREMENT,
+    Customer_Name   VARCHAR(50),
+    Address         VARCHAR(100),
+    Postal_Code     VARCHAR(50),
+    Phone           VARCHAR(50),
+    Create_Date     DATETIME    DEFAULT CURRENT_TIMESTAMP,
+    Created_By      VARCHAR(50),
+    Last_Update     TIMESTAMP   DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    Last_Updated_By VARCHAR(50),
+    Division_ID     INT         NOT NULL,
+    PRIMARY KEY (Customer_ID),
+    CONSTRAINT fk_division_id FOREIGN KEY (Division_ID) REFERENCES first_level_divisions (Division_ID)
+);
+
+CREATE TABLE users
+(
+    User_ID         INT         NOT NULL AUTO_INCREMENT,
+    User_Name       VARCHAR(50) UNIQUE,
+    Password        VARCHAR(255),
+    Create_Date     DATETIME    DEFAULT CURRENT_TIMESTAMP,
+    Created_By      VARCHAR(50),
+    Last_Update     TIMESTAMP   DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    Last_Updated_By VARCHAR(50),
+    PRIMARY KEY (User_ID)
+);
+
+CREATE TABLE contacts
+(
+    Contact_ID   INT         NOT NULL AUTO_INCREMENT,
+    Contact_Name VARCHAR(50),
+    Email        VARCHAR(50),
+    PRIMARY KEY (Contact_ID)
+);
+
+CREATE TABLE appointments
+(
+    Appointment_ID  INT         NOT NULL AUTO_INCREMENT,
+    Title           VARCHAR(50),
+    Description     VARCHAR(50),
+    `Location`      VARCHAR(50),
+    `Type`          VARCHAR(50),
+    `Start`         DATETIME,
+    `End`           DATETIME,
+    Create_Date     DATETIME    DEFAULT CURRENT_TIMESTAMP,
+    Created_By      VARCHAR(50),
+    Last_Update     TIMESTAMP   DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    Last_Updated_By VARCHAR(50),
+    Customer_ID     INT         NOT NULL,
+    User_ID         INT         NOT NULL,
+    Contact_ID      INT         NOT NULL,
+    PRIMARY KEY (Appointment_ID),
+    CONSTRAINT fk_customer_id FOREIGN KEY (Customer_ID) REFERENCES customers (Customer_ID),
+    CONSTRAINT fk_user_id FOREIGN KEY (User_ID) REFERENCES users (User_ID),
+    CONSTRAINT fk_contact_id FOREIGN KEY (Contact_ID) REFERENCES contacts (Contact_ID)
+);
+
+CREATE INDEX appointments_start ON appointments (`Start`);
+CREATE INDEX appointments_customer ON appointments (Customer_ID);
+
+INSERT INTO countries (Country_ID, Country, Created_By, Last_Updated_By)
+VALUES (1, 'U.S', 'script', 'script'),
+       (2, 'UK', 'script', 'script'),
+       (3, 'Canada', 'script', 'script');
+
+INSERT INTO first_level_divisions (Division_ID, Division, Country_ID)
+VALUES
+       (1, 'Alabama', 1),
+       (2, 'Arizona', 1),
+       (3, 'Arkansas', 1),
+       (4, 'California', 1),
+       (5, 'Colorado', 1),
+       (6, 'Connecticut', 1),
+       (7, 'Delaware', 1),
+       (8, 'District of Columbia', 1),
+       (9, 'Florida', 1),
+       (10, 'Georgia', 1),
+       (11, 'Idaho', 1),
+       (12, 'Illinois', 1),
+       (13, 'Indiana', 1),
+       (14, 'Iowa', 1),
+       (15, 'Kansas', 1),
+       (16, 'Kentucky', 1),
+       (17, 'Louisiana', 1),
+       (18, 'Maine', 1),
+       (19, 'Maryland', 1),
+       (20, 'Massachusetts', 1),
+       (21, 'Michigan', 1),
+       (22, 'Minnesota', 1),
+       (23, 'Mississippi', 1),
+       (24, 'Missouri', 1),
+       (25, 'Montana', 1),
+       (26, 'Nebraska', 1),
+       (27, 'Nevada', 1),
+       (28, 'New Hampshire', 1),
+       (29, 'New Jersey', 1),
+       (30, 'New Mexico', 1),
+       (31, 'New York', 1),
+       (32, 'North Carolina', 1),
+       (33, 'North Dakota', 1),
+       (34, 'Ohio', 1),
+       (35, 'Oklahoma', 1),
+       (36, 'Oregon', 1),
+       (37, 'Pennsylvania', 1),
+       (38, 'Rhode Island', 1),
+       (39, 'South Carolina', 1),
+       (40, 'South Dakota', 1),
+       (41, 'Tennessee', 1),
+       (42, 'Texas', 1),
+       (43, 'Utah', 1),
+       (44, 'Vermont', 1),
+       (45, 'Virginia', 1),
+       (46, 'Washington', 1),
+       (47, 'West Virginia', 1),
+       (48, 'Wisconsin', 1),
+       (49, 'Wyoming', 1),
+       (52, 'Hawaii', 1),
+       (54, 'Alaska', 1),
+       (60, 'Northwest Territories', 3),
+       (61, 'Alberta', 3),
+       (62, 'British Columbia', 3),
+       (63, 'Manitoba', 3),
+       (64, 'New Brunswick', 3),
+       (65, 'Nova Scotia', 3),
+       (66, 'Prince Edward Island', 3),
+       (67, 'Ontario', 3),
+       (68, 'Québec', 3),
+       (69, 'Saskatchewan', 3),
+       (70, 'Nunavut', 3),
+       (71, 'Yukon', 3),
+       (72, 'Newfoundland and Labrador', 3),
+       (101, 'England', 2),
+       (102, 'Wales', 2),
+       (103, 'Scotland', 2),
+       (104, 'Northern Ireland', 2);
+
+-- passwords are stored the way Login compares them, Base64(SHA-512(password)), the sample passwords are the user names
+INSERT INTO users (User_ID, User_Name, Password, Created_By, Last_Updated_By)
+VALUES (1, 'test', '7iaw3Ur350mqGo7jwQrpkj9hiYB3Lkc/iBml1JQODbJ6wYX4oOHV+E+IvIh/1nsUNzLDBMxfqa2Ob1f1ACio/w==', 'script', 'script'),
+       (2, 'admin', 'x61Ey612Kl2gpFL56FT9weDnpSo4AV8j8+qx2AuTHdRyY036xxzTTrw10Wq3+4qQyB+XURPWx1ONxp3Y3pB37A==', 'script', 'script');
+
+INSERT INTO contacts (Contact_ID, Contact_Name, Email)
+VALUES (1, 'Anika Costa', 'acoasta@company.com'),
+       (2, 'Daniel Garcia', 'dgarcia@company.com'),
+       (3, 'Li Lee', 'llee@company.com');
+
+INSERT INTO customers (Customer_ID, Customer_Name, Address, Postal_Code, Phone, Created_By, Last_Updated_By, Division_ID)
+VALUES (1, 'Daddy Warbucks', '1919 Boardwalk', '01291', '869-908-1875', 'script', 'script', 29),
+       (2, 'Lady McAnderson', '2 Wonder Way', 'AF19B', '11-445-910-2135', 'script', 'script', 103),
+       (3, 'Dudley Do-Right', '48 Horse Manor', '28198', '874-916-2671', 'script', 'script', 60);
+
+INSERT INTO appointments (Appointment_ID, Title, Description, `Location`, `Type`, `Start`, `End`, Created_By,
+                          Last_Updated_By, Customer_ID, User_ID, Contact_ID)
+VALUES (1, 'title', 'description', 'location', 'Planning Session', '2020-05-28 12:00:00', '2020-05-28 13:00:00',
+        'script', 'script', 1, 1, 3),
+       (2, 'title', 'description', 'location', 'De-Briefing', '2020-05-29 12:00:00', '2020-05-29 13:00:00',
+        'script', 'script', 2, 2, 2);
+
+-- the ids above were given explicitly, so the sequences have to skip past them
+ALTER TABLE countries ALTER COLUMN Country_ID RESTART WITH 4;
+ALTER TABLE first_level_divisions ALTER COLUMN Division_ID RESTART WITH 105;
+ALTER TABLE users ALTER COLUMN User_ID RESTART WITH 3;
+ALTER TABLE contacts ALTER COLUMN Contact_ID RESTART WITH 4;
+ALTER TABLE customers ALTER COLUMN Customer_ID RESTART WITH 4;
+ALTER TABLE appointments ALTER COLUMN Appointment_ID RESTART WITH 3;
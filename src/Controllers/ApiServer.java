@@ -0,0 +1,605 @@
+package Controllers;
+
+import Model.Appointment;
+import Model.Customer;
+import Model.DateTimeFormats;
+import Model.JsonReader;
+import Model.JsonWriter;
+import Model.Model;
+import Model.Record;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * serves appointments, customers and the reports as JSON over HTTP so other tools can use them, with the JDK's HTTP
+ * server. it is started instead of the user interface:
+ * <pre>
+ * java -cp out:$JAVAFX_LIB/*:$JDBC_DRIVER -Dapi.port=8195 Main.Main --api
+ * </pre>
+ * <pre>
+ * GET  /appointments?after=&amp;limit=&amp;customerId=&amp;contactId=&amp;userId=&amp;type=&amp;from=&amp;to=
+ * GET  /appointments/{id}
+ * POST /appointments          PUT /appointments/{id}
+ * GET  /customers?after=&amp;limit=&amp;divisionId=&amp;name=
+ * GET  /customers/{id}
+ * POST /customers             PUT /customers/{id}
+ * GET  /reports/{1,2,3}?from=&amp;to=
+ * </pre>
+ * lists are paged by id: a page holds the records after the given id, up to limit of them, and next is the id to ask
+ * for the page after it, or null on the last page. from and to are dates, times are ISO local date times in the time
+ * zone of the server, like the app shows them. rows are written to the response as they are read, so a page is never
+ * held in memory. saved records pass Record#validate() and appointments the same overlap check as the app, inside a
+ * transaction that locks the customer so two requests can't book the same time. requests are handled on a pool of
+ * -Dapi.threads workers and every worker keeps a connection and its prepared statements of its own
+ */
+public final class ApiServer extends Base {
+    private static final String host = System.getProperty("api.host", "127.0.0.1");
+    private static final int port = Integer.getInteger("api.port", 8195);
+    private static final int threads = Integer.getInteger("api.threads",
+            4 * Runtime.getRuntime().availableProcessors());
+    private static final int backlog = Integer.getInteger("api.backlog", 1024);
+    private static final int maxLimit = Integer.getInteger("api.maxLimit", 1000);
+    private static final int defaultLimit = Math.min(100, maxLimit);
+    // the user that records created and updated through the api are attributed to
+    private static final long apiUserId = Long.getLong("api.userId", 1L);
+    private static ApiServer instance;
+    private final ThreadLocal<Session> sessions = new ThreadLocal<>();
+    private HttpServer server;
+
+    private ApiServer() {
+    }
+
+    public static synchronized ApiServer getInstance() {
+        if (instance == null) instance = new ApiServer();
+        return instance;
+    }
+
+    /**
+     * a worker's connection and the statements prepared on it, reused for every request the worker handles
+     */
+    private static final class Session {
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+        private Session(Connection connection) {
+            this.connection = connection;
+        }
+
+        private PreparedStatement prepare(String query) throws SQLException {
+            PreparedStatement statement = statements.get(query);
+            if (statement == null) {
+                statement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
+                statements.put(query, statement);
+            } else {
+                statement.clearParameters();
+            }
+            return statement;
+        }
+    }
+
+    /**
+     * an error that is answered with the given status and message
+     */
+    private static final class ApiError extends Exception {
+        private static final long serialVersionUID = 1L;
+        private final int status;
+
+        private ApiError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /**
+     * lambda1: creates the daemon threads requests are handled on
+     * lambda2: stops the server when the process is asked to exit
+     *
+     * @throws IOException if the port can't be bound
+     */
+    public synchronized void start() throws IOException {
+        if (server != null) return;
+        server = HttpServer.create(new InetSocketAddress(host, port), backlog);
+        server.createContext("/", this::handle);
+        // lambda to create the daemon threads requests are handled on
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "api");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.start();
+        // lambda to stop the server when the process is asked to exit
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(1);
+            executor.shutdown();
+        }, "api-shutdown"));
+        System.out.println("serving the api on http://" + host + ":" + server.getAddress().getPort());
+    }
+
+    /**
+     * routes a request by its method and path
+     *
+     * @param exchange the request and its response
+     */
+    private void handle(HttpExchange exchange) {
+        try {
+            final String[] path = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/");
+            final Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            final String method = exchange.getRequestMethod();
+            final Long id = path.length == 2 ? parseId(path[1]) : null;
+            if (path.length > 2) throw new ApiError(404, "not found");
+            switch (path[0] + " " + method + (id == null ? "" : " id")) {
+                case "appointments GET":
+                    listAppointments(exchange, query);
+                    break;
+                case "appointments GET id":
+                    getAppointment(exchange, id);
+                    break;
+                case "appointments POST":
+                    saveAppointment(exchange, readAppointment(readBody(exchange), 0));
+                    break;
+                case "appointments PUT id":
+                    saveAppointment(exchange, readAppointment(readBody(exchange), id));
+                    break;
+                case "customers GET":
+                    listCustomers(exchange, query);
+                    break;
+                case "customers GET id":
+                    getCustomer(exchange, id);
+                    break;
+                case "customers POST":
+                    saveCustomer(exchange, readCustomer(readBody(exchange), 0));
+                    break;
+                case "customers PUT id":
+                    saveCustomer(exchange, readCustomer(readBody(exchange), id));
+                    break;
+                case "reports GET id":
+                    writeReport(exchange, id, query);
+                    break;
+                default:
+                    throw new ApiError(path[0].matches("appointments|customers|reports") ? 405 : 404,
+                            "no " + method + " " + exchange.getRequestURI().getPath());
+            }
+        } catch (ApiError ex) {
+            sendError(exchange, ex.status, ex.getMessage());
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            sendError(exchange, 400, ex.getMessage());
+        } catch (SQLException ex) {
+            // class 23 is an integrity constraint violation, e.g. a division or contact that doesn't exist. only the
+            // statement failed, so the session is kept and the database's message isn't passed on to the client
+            if (ex.getSQLState() != null && ex.getSQLState().startsWith("23")) {
+                sendError(exchange, 422, "invalid reference");
+            } else {
+                printSQLException(ex);
+                discardSession();
+                sendError(exchange, 500, "database error");
+            }
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            discardSession();
+            sendError(exchange, 500, "internal error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void listAppointments(HttpExchange exchange, Map<String, String> query) throws SQLException, IOException {
+        final StringBuilder sql = new StringBuilder(AppointmentTable.selectQuery).append(" WHERE Appointment_ID > ?");
+        final List<Object> arguments = new ArrayList<>();
+        arguments.add(parseLong(query, "after", 0));
+        for (String[] filter : new String[][]{
+                {"customerId", "Customer_ID"}, {"contactId", "Contact_ID"}, {"userId", "User_ID"}}) {
+            if (query.containsKey(filter[0])) {
+                sql.append(" AND ").append(filter[1]).append(" = ?");
+                arguments.add(parseLong(query, filter[0], 0));
+            }
+        }
+        if (query.containsKey("type")) {
+            sql.append(" AND `Type` = ?");
+            arguments.add(query.get("type"));
+        }
+        if (query.containsKey("from")) {
+            sql.append(" AND `Start` >= ?");
+            arguments.add(DateTimeFormats.toUTC(parseDate(query, "from")));
+        }
+        if (query.containsKey("to")) {
+            sql.append(" AND `Start` < ?");
+            arguments.add(DateTimeFormats.toUTC(parseDate(query, "to")));
+        }
+        final int limit = parseLimit(query);
+        sql.append(" ORDER BY Appointment_ID LIMIT ?");
+        arguments.add(limit);
+        try (ResultSet rs = executeQuery(sql.toString(), arguments)) {
+            final JsonWriter json = beginResponse(exchange, 200);
+            json.beginObject().name("items").beginArray();
+            long lastId = 0;
+            int count = 0;
+            while (rs.next()) {
+                final Appointment appointment = AppointmentTable.readAppointment(rs);
+                writeAppointment(json, appointment);
+                lastId = appointment.getId();
+                count++;
+            }
+            endPage(json, count == limit ? lastId : 0);
+        }
+    }
+
+    private void getAppointment(HttpExchange exchange, long id) throws SQLException, IOException, ApiError {
+        final List<Object> arguments = new ArrayList<>();
+        arguments.add(id);
+        try (ResultSet rs = executeQuery(AppointmentTable.selectQuery + " WHERE Appointment_ID = ?", arguments)) {
+            if (!rs.next()) throw new ApiError(404, "no appointment " + id);
+            final JsonWriter json = beginResponse(exchange, 200);
+            writeAppointment(json, AppointmentTable.readAppointment(rs));
+            json.flush();
+        }
+    }
+
+    /**
+     * inserts a new appointment or updates an existing one. the customer's row is locked first, so the overlap check
+     * and the write can't interleave with another request for the same customer
+     *
+     * @param exchange    the request and its response
+     * @param appointment the appointment from the request, with the id to update or 0 to insert
+     * @throws SQLException any exception while saving
+     * @throws IOException  any exception while responding
+     * @throws ApiError     if the appointment is invalid, overlaps another one or doesn't exist
+     */
+    private void saveAppointment(HttpExchange exchange, Appointment appointment)
+            throws SQLException, IOException, ApiError {
+        validate(appointment);
+        final Session session = getSession();
+        session.connection.setAutoCommit(false);
+        try {
+            final PreparedStatement lock = session.prepare("SELECT Customer_ID FROM customers WHERE Customer_ID = ? " +
+                    "FOR UPDATE");
+            lock.setLong(1, appointment.getCustomerId());
+            try (ResultSet rs = lock.executeQuery()) {
+                if (!rs.next()) throw new ApiError(422, "no customer " + appointment.getCustomerId());
+            }
+            if (AppointmentTable.hasOverlaps(session.connection, appointment)) {
+                throw new ApiError(409, bundle.getString("error.overlapping"));
+            }
+            write(session, appointment, AppointmentTable.insertQuery, AppointmentTable.updateQuery);
+            session.connection.commit();
+        } catch (SQLException | ApiError ex) {
+            // a failed rollback mustn't hide the error that caused it
+            try {
+                session.connection.rollback();
+            } catch (SQLException rollbackEx) {
+                ex.addSuppressed(rollbackEx);
+            }
+            throw ex;
+        } finally {
+            try {
+                session.connection.setAutoCommit(true);
+            } catch (SQLException ex) {
+                // the connection is left inside a transaction, so the next request gets a new one
+                printSQLException(ex);
+                discardSession();
+            }
+        }
+        final JsonWriter json = beginResponse(exchange, exchange.getRequestMethod().equals("POST") ? 201 : 200);
+        writeAppointment(json, appointment);
+        json.flush();
+    }
+
+    private void listCustomers(HttpExchange exchange, Map<String, String> query) throws SQLException, IOException {
+        final StringBuilder sql = new StringBuilder(CustomerTable.customerQuery)
+                .append(" WHERE customers.Customer_ID > ?");
+        final List<Object> arguments = new ArrayList<>();
+        arguments.add(parseLong(query, "after", 0));
+        if (query.containsKey("divisionId")) {
+            sql.append(" AND d.Division_ID = ?");
+            arguments.add(parseLong(query, "divisionId", 0));
+        }
+        if (query.containsKey("name")) {
+            sql.append(" AND Customer_Name LIKE ?");
+            arguments.add(query.get("name").replaceAll("([\\\\%_])", "\\\\$1") + "%");
+        }
+        final int limit = parseLimit(query);
+        sql.append(" ORDER BY customers.Customer_ID LIMIT ?");
+        arguments.add(limit);
+        try (ResultSet rs = executeQuery(sql.toString(), arguments)) {
+            final JsonWriter json = beginResponse(exchange, 200);
+            json.beginObject().name("items").beginArray();
+            long lastId = 0;
+            int count = 0;
+            while (rs.next()) {
+                final Customer customer = CustomerTable.readCustomer(rs);
+                writeCustomer(json, customer);
+                lastId = customer.getId();
+                count++;
+            }
+            endPage(json, count == limit ? lastId : 0);
+        }
+    }
+
+    private void getCustomer(HttpExchange exchange, long id) throws SQLException, IOException, ApiError {
+        final List<Object> arguments = new ArrayList<>();
+        arguments.add(id);
+        try (ResultSet rs = executeQuery(CustomerTable.customerQuery + " WHERE customers.Customer_ID = ?", arguments)) {
+            if (!rs.next()) throw new ApiError(404, "no customer " + id);
+            final JsonWriter json = beginResponse(exchange, 200);
+            writeCustomer(json, CustomerTable.readCustomer(rs));
+            json.flush();
+        }
+    }
+
+    private void saveCustomer(HttpExchange exchange, Customer customer) throws SQLException, IOException, ApiError {
+        validate(customer);
+        write(getSession(), customer, CustomerTable.insertQuery, CustomerTable.updateQuery);
+        final JsonWriter json = beginResponse(exchange, exchange.getRequestMethod().equals("POST") ? 201 : 200);
+        writeCustomer(json, customer);
+        json.flush();
+    }
+
+    /**
+     * streams a report into the text member of the response
+     *
+     * @param exchange the request and its response
+     * @param report   the number of the report
+     * @param query    the date range of the report
+     * @throws SQLException any exception while querying
+     * @throws IOException  any exception while responding
+     * @throws ApiError     if there is no such report
+     */
+    private void writeReport(HttpExchange exchange, long report, Map<String, String> query)
+            throws SQLException, IOException, ApiError {
+        if (report < 1 || report > 3) throw new ApiError(404, "no report " + report);
+        final LocalDateTime from = query.containsKey("from") ? parseDate(query, "from") : null;
+        final LocalDateTime to = query.containsKey("to") ? parseDate(query, "to") : null;
+        final ReportWriter writer = new ReportWriter(getSession().connection, from, to);
+        final JsonWriter json = beginResponse(exchange, 200);
+        json.beginObject().name("report").value(report).name("text");
+        final Appendable text = json.beginString();
+        if (report == 1) {
+            writer.writeAppointmentsByMonthAndType(text);
+        } else if (report == 2) {
+            writer.writeScheduleByContact(contact -> text);
+        } else {
+            writer.writeCustomersByDivision(text);
+        }
+        json.endString().endObject().flush();
+    }
+
+    /**
+     * inserts the record when its id is 0 and updates it otherwise, attributing the change to -Dapi.userId
+     *
+     * @throws ApiError if the record to update doesn't exist
+     */
+    private <T extends Record & Model<T>> void write(Session session, T record, String insertQuery,
+                                                     String updateQuery) throws SQLException, ApiError {
+        final boolean insert = record.getId() == 0;
+        final PreparedStatement statement = session.prepare(insert ? insertQuery : updateQuery);
+        final int index = record.bindValues(statement, 1);
+        statement.setLong(index, apiUserId);
+        if (insert) {
+            statement.setLong(index + 1, apiUserId);
+            statement.executeUpdate();
+            try (ResultSet rs = statement.getGeneratedKeys()) {
+                if (rs.next()) record.setId(rs.getLong(1));
+            }
+        } else {
+            statement.setLong(index + 1, record.getId());
+            if (statement.executeUpdate() == 0) throw new ApiError(404, "no record " + record.getId());
+        }
+    }
+
+    private void validate(Record record) throws ApiError {
+        try {
+            record.validate();
+        } catch (Record.ValidationError ex) {
+            throw new ApiError(422, ex.getMessage());
+        }
+    }
+
+    /**
+     * runs a query on the worker's connection with a cached statement. the result set has to be closed by the caller
+     */
+    private ResultSet executeQuery(String query, List<Object> arguments) throws SQLException {
+        final PreparedStatement statement = getSession().prepare(query);
+        for (int i = 0; i < arguments.size(); i++) {
+            statement.setObject(i + 1, arguments.get(i));
+        }
+        return statement.executeQuery();
+    }
+
+    /**
+     * @return the worker's session, connecting the first time or after the connection was lost
+     */
+    private Session getSession() throws SQLException {
+        Session session = sessions.get();
+        if (session == null || session.connection.isClosed()) {
+            session = new Session(openConnection());
+            sessions.set(session);
+        }
+        return session;
+    }
+
+    /**
+     * closes the worker's connection after an error, so the next request starts with a new one
+     */
+    private void discardSession() {
+        final Session session = sessions.get();
+        sessions.remove();
+        if (session == null) return;
+        try {
+            session.connection.close();
+        } catch (SQLException ex) {
+            printSQLException(ex);
+        }
+    }
+
+    private Appointment readAppointment(Map<String, Object> body, long id) {
+        return new Appointment(id,
+                getString(body, "title"),
+                getString(body, "description"),
+                getString(body, "location"),
+                getString(body, "type"),
+                getDateTime(body, "start"),
+                getDateTime(body, "end"),
+                getLong(body, "customerId"),
+                getLong(body, "userId"),
+                getLong(body, "contactId"));
+    }
+
+    private Customer readCustomer(Map<String, Object> body, long id) {
+        return new Customer(id,
+                getString(body, "name"),
+                getString(body, "address"),
+                getString(body, "postalCode"),
+                getString(body, "phone"),
+                getLong(body, "divisionId"));
+    }
+
+    private void writeAppointment(JsonWriter json, Appointment appointment) throws IOException {
+        json.beginObject()
+                .name("id").value(appointment.getId())
+                .name("title").value(appointment.getTitle())
+                .name("description").value(appointment.getDescription())
+                .name("location").value(appointment.getLocation())
+                .name("type").value(appointment.getType())
+                .name("start").value(appointment.getStart())
+                .name("end").value(appointment.getEnd())
+                .name("customerId").value(appointment.getCustomerId())
+                .name("userId").value(appointment.getUserId())
+                .name("contactId").value(appointment.getContactId())
+                .endObject();
+    }
+
+    private void writeCustomer(JsonWriter json, Customer customer) throws IOException {
+        json.beginObject()
+                .name("id").value(customer.getId())
+                .name("name").value(customer.getName())
+                .name("address").value(customer.getAddress())
+                .name("postalCode").value(customer.getPostalCode())
+                .name("phone").value(customer.getPhone())
+                .name("divisionId").value(customer.getDivisionId())
+                .endObject();
+    }
+
+    /**
+     * closes the items of a page and adds the id the next page starts after
+     *
+     * @param next the id of the last record when the page is full, or 0 on the last page
+     */
+    private void endPage(JsonWriter json, long next) throws IOException {
+        json.endArray().name("next");
+        if (next == 0) {
+            json.nullValue();
+        } else {
+            json.value(next);
+        }
+        json.endObject().flush();
+    }
+
+    /**
+     * sends the headers of a JSON response of unknown length, the body is sent in chunks as it is written
+     */
+    private JsonWriter beginResponse(HttpExchange exchange, int status) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, 0);
+        return new JsonWriter(new BufferedWriter(
+                new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * answers with an error, unless the response has already started, then the truncated body has to do
+     */
+    private void sendError(HttpExchange exchange, int status, String message) {
+        if (exchange.getResponseCode() != -1) return;
+        try {
+            final JsonWriter json = beginResponse(exchange, status);
+            json.beginObject().name("error").value(message).endObject().flush();
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        return JsonReader.parseObject(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        final Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return query;
+        for (String parameter : rawQuery.split("&")) {
+            final int equals = parameter.indexOf('=');
+            if (equals <= 0) continue;
+            query.put(URLDecoder.decode(parameter.substring(0, equals), StandardCharsets.UTF_8),
+                    URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static Long parseId(String id) {
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("invalid id " + id);
+        }
+    }
+
+    private static long parseLong(Map<String, String> query, String name, long defaultValue) {
+        if (!query.containsKey(name)) return defaultValue;
+        try {
+            return Long.parseLong(query.get(name));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("invalid " + name + " " + query.get(name));
+        }
+    }
+
+    private static int parseLimit(Map<String, String> query) {
+        final long limit = parseLong(query, "limit", defaultLimit);
+        if (limit < 1 || limit > maxLimit) throw new IllegalArgumentException("limit has to be 1 to " + maxLimit);
+        return (int) limit;
+    }
+
+    private static LocalDateTime parseDate(Map<String, String> query, String name) {
+        return LocalDate.parse(query.get(name)).atStartOfDay();
+    }
+
+    private static String getString(Map<String, Object> body, String name) {
+        final Object value = body.get(name);
+        if (value != null && !(value instanceof String)) {
+            throw new IllegalArgumentException(name + " has to be a string");
+        }
+        return (String) value;
+    }
+
+    private static long getLong(Map<String, Object> body, String name) {
+        final Object value = body.get(name);
+        if (value != null && !(value instanceof Long)) {
+            throw new IllegalArgumentException(name + " has to be a whole number");
+        }
+        return value == null ? 0 : (Long) value;
+    }
+
+    private static LocalDateTime getDateTime(Map<String, Object> body, String name) {
+        final String value = getString(body, name);
+        if (value == null) throw new IllegalArgumentException(name + " is required");
+        return LocalDateTime.parse(value);
+    }
+}
@@ -9,23 +9,24 @@ import javafx.scene.control.DatePicker;
 import javafx.scene.control.TextField;
 
 import java.net.URL;
-import java.sql.SQLException;
 import java.time.*;
-import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
 import java.util.ResourceBundle;
-import java.util.function.Function;
+import java.util.function.IntFunction;
 
 public class AppointmentForm extends Form<Appointment> {
+    private static final List<String> hourOptions24 = options(24, hour -> String.format("%02d", hour));
+    private static final List<String> hourOptions12 = options(12, hour -> Integer.toString(hour == 0 ? 12 : hour));
+    private static final List<String> minuteOptions = options(60, minute -> String.format("%02d", minute));
+    private static final List<String> meridiemOptions = List.of("am", "pm");
     final boolean use24HourTime = LocalTime.of(23, 00)
-            .format(DateTimeFormatter.ofLocalizedTime(FormatStyle.SHORT))
+            .format(DateTimeFormats.getTimeFormatter(Locale.getDefault(), FormatStyle.SHORT))
             .matches("^23.+00$");
-    private final Map<Long, Contact> contactMap;
-    private final HashMap<Long, Customer> customerMap = new HashMap<>();
-    private final HashMap<Long, User> userMap = new HashMap<>();
+    private RecordIndex<Contact> contactMap;
+    private RecordIndex<Customer> customerMap;
+    private RecordIndex<User> userMap;
     @FXML
     private DatePicker startDatePicker;
     @FXML
@@ -57,28 +58,57 @@ public class AppointmentForm extends Form<Appointment> {
     @FXML
     private TextField typeField;
 
-    public AppointmentForm(String windowTitle,
-                           Map<Long, Contact> contactMap,
-                           List<Customer> customers,
-                           FormFactory.Mode mode,
-                           Appointment record,
-                           Function<Appointment, Boolean> callback) {
-        super(windowTitle, mode, record, callback);
+    /**
+     * sets the lookups for the pickers. called before every open, so a reused form sees the current reference data
+     *
+     * @param contactMap  the contacts by id and name
+     * @param userMap     the users by id and name
+     * @param customerMap the customers by id and name
+     */
+    void setLookups(RecordIndex<Contact> contactMap, RecordIndex<User> userMap, RecordIndex<Customer> customerMap) {
         this.contactMap = contactMap;
-        for (Customer customer : customers) {
-            customerMap.put(customer.getId(), customer);
-        }
+        this.userMap = userMap;
+        this.customerMap = customerMap;
     }
 
+    /**
+     * lambda1-3: search whichever index the form is currently bound to
+     * <p>
+     * the pickers only hold the first matches for what has been typed, so opening the form doesn't depend on the
+     * number of customers, contacts or users
+     *
+     * @see Form#initialize(URL, ResourceBundle)
+     */
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
-        buildUserMap();
         initializeDateFields();
-        contactComboBox.getItems().addAll(contactMap.values());
-        customerComboBox.getItems().addAll(customerMap.values());
+        // lambda to search whichever contact index the form is currently bound to
+        TypeAhead.bind(contactComboBox, (prefix, limit) -> contactMap.search(prefix, limit));
+        // lambda to search whichever customer index the form is currently bound to
+        TypeAhead.bind(customerComboBox, (prefix, limit) -> customerMap.search(prefix, limit));
+        // lambda to search whichever user index the form is currently bound to
+        TypeAhead.bind(userComboBox, (prefix, limit) -> userMap.search(prefix, limit));
+        TypeAhead.bind(typeField, StringDictionary.types::complete);
+        TypeAhead.bind(locationField, StringDictionary.locations::complete);
         super.initialize(url, resourceBundle);
     }
 
+    /**
+     * the pickers are refilled because a reused form may have been handed new lookups since it was last open
+     *
+     * @see Form#resetFields()
+     */
+    @Override
+    protected void resetFields() {
+        resetDateFields();
+        ComboBox[] recordPickers = {contactComboBox, customerComboBox, userComboBox};
+        for (ComboBox<?> recordPicker : recordPickers) {
+            recordPicker.setValue(null);
+            TypeAhead.refresh(recordPicker);
+            recordPicker.setDisable(readOnly);
+        }
+    }
+
     /**
      * @see Form#applyOtherFieldsToRecord()
      */
@@ -105,8 +135,8 @@ public class AppointmentForm extends Form<Appointment> {
         setDateFields(record.getLocalEnd(), endDatePicker, endHourPicker, endMinutePicker, endMeridiemPicker);
     }
 
-    private <T extends Record> void setComboBoxFromMap(ComboBox<T> comboBox, Map<Long, T> map, long id) {
-        if (id != 0) comboBox.getSelectionModel().select(map.get(id));
+    private <T extends Record> void setComboBoxFromMap(ComboBox<T> comboBox, LongLookup<T> map, long id) {
+        if (id != 0) comboBox.setValue(map.get(id));
         comboBox.setDisable(readOnly);
     }
 
@@ -164,7 +194,8 @@ public class AppointmentForm extends Form<Appointment> {
     }
 
     /**
-     * fills the date fields with all necessary options to choose a start/end date and time
+     * fills the date and time pickers with the shared option lists. called once, the options are the same for every
+     * record
      */
     private void initializeDateFields() {
         ChoiceBox[] meridiemPickers = {endMeridiemPicker, startMeridiemPicker};
@@ -173,61 +204,63 @@ public class AppointmentForm extends Form<Appointment> {
                 meridiemPicker.setDisable(true);
                 meridiemPicker.setVisible(false);
             } else {
-                meridiemPicker.getItems().addAll("am", "pm");
+                meridiemPicker.getItems().setAll(meridiemOptions);
+            }
+        }
+
+        ComboBox[] hourPickers = {startHourPicker, endHourPicker};
+        for (ComboBox<String> hourPicker : hourPickers) {
+            hourPicker.getItems().setAll(use24HourTime ? hourOptions24 : hourOptions12);
+        }
+
+        ComboBox[] minutePickers = {startMinutePicker, endMinutePicker};
+        for (ComboBox<String> minutePicker : minutePickers) {
+            minutePicker.getItems().setAll(minuteOptions);
+        }
+    }
+
+    /**
+     * puts the date and time pickers back to their defaults, today at 12:00
+     */
+    private void resetDateFields() {
+        if (!use24HourTime) {
+            ChoiceBox[] meridiemPickers = {endMeridiemPicker, startMeridiemPicker};
+            for (ChoiceBox<String> meridiemPicker : meridiemPickers) {
                 meridiemPicker.getSelectionModel().select("am");
                 meridiemPicker.setDisable(readOnly);
             }
         }
 
         ComboBox[] hourPickers = {startHourPicker, endHourPicker};
-        for (ComboBox hourPicker : hourPickers) {
-            final ObservableList<String> options = hourPicker.getItems();
-            if (use24HourTime) {
-                for (int h = 0; h < 24; h++) {
-                    options.add(String.format("%02d", h));
-                }
-            } else {
-                for (int h = 0; h < 12; h++) {
-                    options.add(Integer.toString(h == 0 ? 12 : h));
-                }
-            }
+        for (ComboBox<String> hourPicker : hourPickers) {
             hourPicker.getSelectionModel().select("12");
+            hourPicker.setDisable(readOnly);
         }
 
         ComboBox[] minutePickers = {startMinutePicker, endMinutePicker};
-        for (ComboBox minutePicker : minutePickers) {
-            final ObservableList<String> options = minutePicker.getItems();
-            for (int m = 0; m < 60; m++) {
-                options.add(String.format("%02d", m));
-            }
+        for (ComboBox<String> minutePicker : minutePickers) {
             minutePicker.getSelectionModel().select("00");
+            minutePicker.setDisable(readOnly);
         }
 
         DatePicker[] datePickers = {startDatePicker, endDatePicker};
         for (DatePicker datePicker : datePickers) {
             datePicker.setValue(LocalDate.now());
+            datePicker.setDisable(readOnly);
         }
     }
 
     /**
-     * lambda1: consume an exception and result set and allow for DRY resource cleanup
-     * <p>
-     * creates a map of User Id to User object for easy lookup
+     * @param count the number of options
+     * @param label formats the label for an option
+     * @return an immutable list of the labels
      */
-    private void buildUserMap() {
-        // lambda to consume an exception and result set and allow for DRY resource cleanup
-        executeQuery("SELECT User_ID, User_Name FROM users", (ex, rs) -> {
-            if (ex != null) return;
-            try {
-                while (rs.next()) {
-                    final User user = new User(rs.getLong(1), rs.getString(2));
-                    userMap.put(user.getId(), user);
-                }
-            } catch (SQLException exception) {
-                printSQLException(exception);
-            }
-        });
-        userComboBox.getItems().addAll(userMap.values());
+    private static List<String> options(int count, IntFunction<String> label) {
+        final String[] options = new String[count];
+        for (int i = 0; i < count; i++) {
+            options[i] = label.apply(i);
+        }
+        return List.of(options);
     }
 
     /**
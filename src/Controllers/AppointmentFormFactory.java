@@ -1,45 +1,40 @@
 package Controllers;
 
 import Model.Appointment;
-import Model.Contact;
 import Model.Customer;
-import Model.Record;
-
-import java.util.List;
-import java.util.Map;
-import java.util.function.Function;
+import Model.RecordIndex;
 
 public class AppointmentFormFactory extends FormFactory<Appointment, AppointmentForm> {
-    private Map<Long, Contact> contactMap;
-    private List<Customer> customers;
+    private RecordIndex<Customer> customers;
 
     public AppointmentFormFactory(Class<Appointment> modelClass) {
         super(modelClass);
     }
 
     /**
-     * @see FormFactory#getInstance(Mode, Record, Function)
+     * @see FormFactory#createForm()
      */
     @Override
-    public AppointmentForm getInstance(Mode mode, Appointment record, Function<Appointment, Boolean> callback) {
-        return new AppointmentForm(getTitle(mode), contactMap, customers, mode, record, callback);
+    protected AppointmentForm createForm() {
+        return new AppointmentForm();
     }
 
     /**
-     * sets the contact map that is passed to every form controller instance. it prevents excessive sql requests
-     *
-     * @param contactMap a map of contactId to contact models
+     * @see FormFactory#prepareForm(Form)
      */
-    public void setContactMap(Map<Long, Contact> contactMap) {
-        this.contactMap = contactMap;
+    @Override
+    protected void prepareForm(AppointmentForm form) {
+        final ReferenceData.Snapshot referenceData = ReferenceData.getInstance().get();
+        form.setLookups(referenceData.getContacts(), referenceData.getUsers(), customers);
     }
 
     /**
-     * passes a list of all customers to every form controller instance. it prevents excessive sql requests
+     * passes the shared customer index to every form controller instance. it prevents excessive sql requests and
+     * copying the customers for every form
      *
-     * @param customers a list of all customers
+     * @param customers the index of all customers
      */
-    public void setCustomers(List<Customer> customers) {
+    public void setCustomers(RecordIndex<Customer> customers) {
         this.customers = customers;
     }
 }
\ No newline at end of file
@@ -0,0 +1,242 @@
+package Controllers;
+
+import Model.Appointment;
+import Model.AppointmentStore;
+import javafx.collections.ModifiableObservableListBase;
+
+import java.lang.ref.WeakReference;
+import java.util.AbstractList;
+import java.util.Arrays;
+
+/**
+ * an observable list of appointments backed by a columnar AppointmentStore. an Appointment is only materialized when
+ * the table asks for its row, and it is held weakly so rows that scroll out of view can be collected. as long as a
+ * row is referenced, by a cell or the selection, the same instance is returned for it. the list is sorted in the
+ * store, see #sort(RowComparator)
+ */
+final class AppointmentList extends ModifiableObservableListBase<Appointment> {
+    private AppointmentStore store;
+    private WeakReference<Appointment>[] views;
+
+    /**
+     * compares two rows of the store by their indexes, without materializing them
+     */
+    @FunctionalInterface
+    interface RowComparator {
+        int compare(AppointmentStore store, int a, int b);
+    }
+
+    AppointmentList(AppointmentStore store) {
+        this.store = store;
+        views = newViews(Math.max(16, store.size()));
+    }
+
+    /**
+     * @param length the length of the array
+     * @return an empty array for the materialized rows
+     */
+    @SuppressWarnings("unchecked")
+    private static WeakReference<Appointment>[] newViews(int length) {
+        return (WeakReference<Appointment>[]) new WeakReference<?>[length];
+    }
+
+    /**
+     * @see java.util.List#get(int)
+     */
+    @Override
+    public Appointment get(int index) {
+        final WeakReference<Appointment> reference = views[index];
+        Appointment view = reference == null ? null : reference.get();
+        if (view == null) {
+            view = store.get(index);
+            views[index] = new WeakReference<>(view);
+        }
+        return view;
+    }
+
+    /**
+     * @see java.util.List#size()
+     */
+    @Override
+    public int size() {
+        return store.size();
+    }
+
+    /**
+     * finds the row by id in the store's id index, so the selection and focus models can look rows up without
+     * scanning or materializing the list. Appointment doesn't override equals, so like any list only the instance
+     * this list holds for the row matches, not another Appointment with the same id. an instance that isn't held
+     * anymore can't be referenced by the caller either
+     *
+     * @see java.util.List#indexOf(Object)
+     */
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof Appointment)) return -1;
+        final int index = store.indexOfId(((Appointment) o).getId());
+        if (index == -1 || views[index] == null || views[index].get() != o) return -1;
+        return index;
+    }
+
+    /**
+     * @see java.util.List#lastIndexOf(Object)
+     */
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    /**
+     * @see java.util.List#contains(Object)
+     */
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) != -1;
+    }
+
+    /**
+     * removes the row through #indexOf(Object) instead of scanning and materializing every row before it
+     *
+     * @see java.util.List#remove(Object)
+     */
+    @Override
+    public boolean remove(Object o) {
+        final int index = indexOf(o);
+        if (index == -1) return false;
+        remove(index);
+        return true;
+    }
+
+    /**
+     * sorts the rows in the store and reports the move as a permutation, so the rows aren't copied out of the store
+     * and added back one by one like FXCollections#sort(ObservableList, Comparator) does. the sort is stable and the
+     * rows that are materialized keep their instances
+     *
+     * @param comparator compares two rows of the store
+     */
+    void sort(RowComparator comparator) {
+        final int size = store.size();
+        final int[] order = new int[size];
+        for (int row = 0; row < size; row++) {
+            order[row] = row;
+        }
+        mergeSort(order, Arrays.copyOf(order, size), 0, size, comparator);
+        final int[] permutation = new int[size];
+        boolean moved = false;
+        for (int row = 0; row < size; row++) {
+            permutation[order[row]] = row;
+            moved |= order[row] != row;
+        }
+        if (!moved) return;
+        store.reorder(order);
+        final WeakReference<Appointment>[] sortedViews = Arrays.copyOf(views, views.length);
+        for (int row = 0; row < size; row++) {
+            sortedViews[row] = views[order[row]];
+        }
+        views = sortedViews;
+        beginChange();
+        nextPermutation(0, size, permutation);
+        endChange();
+    }
+
+    /**
+     * a stable merge sort of row indexes, so sorting doesn't box a million of them
+     *
+     * @param rows       the rows to sort from start to end
+     * @param buffer     a copy of the rows, used as the other half of each merge
+     * @param start      the first position to sort
+     * @param end        the position after the last one to sort
+     * @param comparator compares two rows of the store
+     */
+    private void mergeSort(int[] rows, int[] buffer, int start, int end, RowComparator comparator) {
+        if (end - start < 2) return;
+        final int middle = (start + end) >>> 1;
+        // the halves are sorted into the buffer and merged back into the rows
+        mergeSort(buffer, rows, start, middle, comparator);
+        mergeSort(buffer, rows, middle, end, comparator);
+        if (comparator.compare(store, buffer[middle - 1], buffer[middle]) <= 0) {
+            System.arraycopy(buffer, start, rows, start, end - start);
+            return;
+        }
+        for (int i = start, left = start, right = middle; i < end; i++) {
+            if (right >= end || (left < middle && comparator.compare(store, buffer[left], buffer[right]) <= 0)) {
+                rows[i] = buffer[left++];
+            } else {
+                rows[i] = buffer[right++];
+            }
+        }
+    }
+
+    /**
+     * swaps in an empty store instead of removing rows one at a time. the removed rows are only materialized if a
+     * listener asks for them
+     */
+    @Override
+    public void clear() {
+        if (store.size() == 0) return;
+        final AppointmentStore removed = store;
+        final WeakReference<Appointment>[] removedViews = views;
+        store = new AppointmentStore();
+        views = newViews(16);
+        beginChange();
+        nextRemove(0, new AbstractList<Appointment>() {
+            @Override
+            public Appointment get(int index) {
+                final Appointment view = removedViews[index] == null ? null : removedViews[index].get();
+                return view != null ? view : removed.get(index);
+            }
+
+            @Override
+            public int size() {
+                return removed.size();
+            }
+        });
+        endChange();
+    }
+
+    /**
+     * writes the values of a materialized row back to the store after it was edited in place
+     *
+     * @param view the edited row
+     */
+    void writeBack(Appointment view) {
+        final int index = indexOf(view);
+        if (index != -1) store.set(index, view);
+    }
+
+    /**
+     * @see ModifiableObservableListBase#doAdd(int, Object)
+     */
+    @Override
+    protected void doAdd(int index, Appointment element) {
+        store.insert(index, element);
+        if (views.length < store.size()) {
+            views = Arrays.copyOf(views, views.length + (views.length >> 1));
+        }
+        System.arraycopy(views, index, views, index + 1, store.size() - index - 1);
+        views[index] = new WeakReference<>(element);
+    }
+
+    /**
+     * @see ModifiableObservableListBase#doSet(int, Object)
+     */
+    @Override
+    protected Appointment doSet(int index, Appointment element) {
+        final Appointment old = get(index);
+        store.set(index, element);
+        views[index] = new WeakReference<>(element);
+        return old;
+    }
+
+    /**
+     * @see ModifiableObservableListBase#doRemove(int)
+     */
+    @Override
+    protected Appointment doRemove(int index) {
+        final Appointment old = get(index);
+        store.remove(index);
+        System.arraycopy(views, index + 1, views, index, store.size() - index);
+        views[store.size()] = null;
+        return old;
+    }
+}
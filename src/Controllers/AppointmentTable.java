@@ -1,41 +1,153 @@
 package Controllers;
 
 import Model.Appointment;
+import Model.AppointmentStore;
 import Model.Contact;
 import Model.Customer;
+import Model.LongLookup;
 import Model.Record;
-import javafx.beans.property.SimpleStringProperty;
+import Model.RecordIndex;
+import Model.StringDictionary;
 import javafx.collections.ObservableList;
 import javafx.fxml.Initializable;
 import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
 
 import java.net.URL;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.*;
 
 public final class AppointmentTable extends Table<Appointment> implements Initializable {
+    /**
+     * when set with -Dappointments.columnar=true, appointments are held in a columnar store and only materialized for
+     * the rows being displayed. meant for working sets too large to hold as Appointment objects
+     */
+    private static final boolean useColumnarStore = Boolean.getBoolean("appointments.columnar");
     private final Filter filterController = new Filter();
-    private final HashMap<Long, Contact> contactMap = new HashMap<>();
-    private final ObservableList<Customer> customers;
-    private final String selectQuery = "SELECT Appointment_ID, Title, Description, `Location`, `Type`, `Start`, " +
+    /**
+     * the query for every appointment, also run by the ApiServer
+     */
+    static final String selectQuery = "SELECT Appointment_ID, Title, Description, `Location`, `Type`, `Start`, " +
             "`End`, Customer_ID, User_ID, Contact_ID " +
             "FROM appointments";
+    static final String insertQuery = "INSERT INTO appointments (Title, Description, `Location`, `Type`, `Start`, `End`, Customer_ID, User_ID, Contact_ID, Created_By, Last_Updated_By) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    static final String updateQuery = "UPDATE appointments " +
+            "SET Title = ?, Description = ?, `Location` = ?, `Type` = ?, `Start` = ?, `End` = ?, Customer_ID = ?, User_ID = ?, Contact_ID = ?, Last_Updated_By = ?, Last_Update = NOW() " +
+            "WHERE Appointment_ID = ?";
     private Filter.FilterFields currentFilter = null;
+    private LongLookup<Contact> contactMap;
+    /**
+     * how the columnar store compares its rows for each column, so sorting doesn't materialize them
+     */
+    private final Map<TableColumn<Appointment, ?>, AppointmentList.RowComparator> storeComparators = new HashMap<>();
 
-    public AppointmentTable(ObservableList<Customer> customers, Main.EventEmitter eventEmitter) {
-        super(new AppointmentFormFactory(Appointment.class), eventEmitter);
-        ((AppointmentFormFactory) formFactory).setContactMap(Collections.unmodifiableMap(contactMap));
-        ((AppointmentFormFactory) formFactory).setCustomers(Collections.unmodifiableList(customers));
-        this.customers = customers;
-        eventEmitter.addListener(Main.Event.CustomerDeleted, this::populateTable);
+    public AppointmentTable(RecordIndex<Customer> customers, EventBus eventBus) {
+        super(new AppointmentFormFactory(Appointment.class), eventBus);
+        ((AppointmentFormFactory) formFactory).setCustomers(customers);
+        eventBus.subscribe(Customer.class, this::customersChanged);
     }
 
+    /**
+     * removes the appointments of deleted customers from the table without querying the database again. the columnar
+     * store can't remove rows, so it is reloaded instead
+     *
+     * @param event the customer changes
+     */
+    private void customersChanged(EventBus.RecordEvent<Customer> event) {
+        if (event.getChange() != EventBus.Change.Deleted) return;
+        final ObservableList<Appointment> appointments = tableView.getItems();
+        if (appointments instanceof AppointmentList) {
+            populateTable();
+            return;
+        }
+        final Set<Long> customerIds = new HashSet<>();
+        for (long id : event.getIds()) {
+            customerIds.add(id);
+        }
+        final List<Appointment> removed = new ArrayList<>();
+        for (Appointment appointment : appointments) {
+            if (customerIds.contains(appointment.getCustomerId())) removed.add(appointment);
+        }
+        for (Appointment appointment : removed) {
+            rowCache.remove(appointment);
+        }
+        appointments.removeAll(removed);
+    }
+
+    /**
+     * lambda1: sorts the columnar store in place, other lists are sorted like any table
+     *
+     * @see Table#initialize(URL, ResourceBundle)
+     */
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
         super.initialize(url, resourceBundle);
         filterButton.setDisable(false);
         filterButton.setVisible(true);
+        // lambda to sort the columnar store in place, other lists are sorted like any table
+        tableView.setSortPolicy(table -> {
+            if (!(table.getItems() instanceof AppointmentList)) return TableView.DEFAULT_SORT_POLICY.call(table);
+            sortStore((AppointmentList) table.getItems(), table.getSortOrder());
+            return true;
+        });
+    }
+
+    /**
+     * lambda1: compares the rows of a descending column the other way around
+     * lambda2: compares two rows by the sorted columns in order
+     * <p>
+     * sorts the columnar store by the table's sort order. text columns are compared with the columns' comparators
+     * like the other lists, while the times and the customer id are compared by value rather than by their text
+     *
+     * @param appointments the list backed by the columnar store
+     * @param sortOrder    the columns to sort by
+     */
+    private void sortStore(AppointmentList appointments, List<TableColumn<Appointment, ?>> sortOrder) {
+        final List<AppointmentList.RowComparator> comparators = new ArrayList<>(sortOrder.size());
+        for (TableColumn<Appointment, ?> column : sortOrder) {
+            final AppointmentList.RowComparator comparator = storeComparators.get(column);
+            if (comparator == null) continue;
+            if (column.getSortType() == TableColumn.SortType.DESCENDING) {
+                // lambda to compare the rows the other way around
+                comparators.add((store, a, b) -> comparator.compare(store, b, a));
+            } else {
+                comparators.add(comparator);
+            }
+        }
+        if (comparators.isEmpty()) return;
+        // lambda to compare two rows by the sorted columns in order
+        appointments.sort((store, a, b) -> {
+            for (AppointmentList.RowComparator comparator : comparators) {
+                final int result = comparator.compare(store, a, b);
+                if (result != 0) return result;
+            }
+            return 0;
+        });
+    }
+
+    /**
+     * lambda1: compares the values of two rows with the column's comparator
+     *
+     * @param column the column
+     * @param value  reads the value the column shows from a row of the store
+     */
+    private void addStoreComparator(TableColumn<Appointment, String> column, StoreValue value) {
+        // lambda to compare the values of two rows with the column's comparator
+        storeComparators.put(column,
+                (store, a, b) -> column.getComparator().compare(value.get(store, a), value.get(store, b)));
+    }
+
+    /**
+     * reads a value from a row of the columnar store
+     */
+    @FunctionalInterface
+    private interface StoreValue {
+        String get(AppointmentStore store, int row);
     }
 
     /**
@@ -43,44 +155,76 @@ public final class AppointmentTable extends Table<Appointment> implements Initia
      * lambda2: correctly translate a start time into the local time zone
      * lambda3: correctly translate an end time into the local time zone
      * lambda4: correctly display a customer id, if valid
+     * lambda5: look up the contact name of a row of the columnar store
+     * lambda6-8: compare the times and customer ids of two rows of the columnar store
      *
      * @see Table#addColumns()
      */
     @Override
     protected void addColumns() {
-        final TableColumn<Appointment, String> contactCol = new TableColumn<>(bundle.getString("appointment.contact"));
-        contactCol
+        final TableColumn<Appointment, String> contactCol = rowCache.createColumn(bundle.getString("appointment.contact"),
                 // lambda to correctly translate a contact id into a contact name
-                .setCellValueFactory(param -> {
-                    final Optional<Contact> contact = Optional.ofNullable(contactMap.get(param.getValue().getContactId()));
-                    return new SimpleStringProperty(contact.map(Contact::getName).orElse(""));
+                appointment -> {
+                    final Optional<Contact> contact = Optional.ofNullable(contactMap.get(appointment.getContactId()));
+                    return contact.map(Contact::getName).orElse("");
                 });
-        final TableColumn<Appointment, String> startCol = new TableColumn<>(bundle.getString("appointment.start"));
         // lambda to correctly translate a start time into the local time zone
-        startCol.setCellValueFactory(param -> new SimpleStringProperty(param.getValue().getFormattedStart()));
-        final TableColumn<Appointment, String> endCol = new TableColumn<>(bundle.getString("appointment.end"));
+        final TableColumn<Appointment, String> startCol = rowCache.createColumn(bundle.getString("appointment.start"),
+                appointment -> appointment.getFormattedStart());
         // lambda to correctly translate an end time into the local time zone
-        endCol.setCellValueFactory(param -> new SimpleStringProperty(param.getValue().getFormattedEnd()));
-        final TableColumn<Appointment, String> customerIdCol = new TableColumn<>(bundle.getString("appointment.customerId"));
+        final TableColumn<Appointment, String> endCol = rowCache.createColumn(bundle.getString("appointment.end"),
+                appointment -> appointment.getFormattedEnd());
         // lambda to correctly display a customer id, if valid
-        customerIdCol.setCellValueFactory(param -> new SimpleStringProperty(nonZero(param.getValue().getCustomerId())));
-        tableView.getColumns().addAll(getStringColumn(Appointment.class, "title"),
-                getStringColumn(Appointment.class, "description"),
-                getStringColumn(Appointment.class, "location"),
+        final TableColumn<Appointment, String> customerIdCol = rowCache.createColumn(bundle.getString("appointment.customerId"),
+                appointment -> nonZero(appointment.getCustomerId()));
+        final TableColumn<Appointment, String> titleCol = getStringColumn(Appointment.class, "title");
+        final TableColumn<Appointment, String> descriptionCol = getStringColumn(Appointment.class, "description");
+        final TableColumn<Appointment, String> locationCol = getStringColumn(Appointment.class, "location");
+        final TableColumn<Appointment, String> typeCol = getStringColumn(Appointment.class, "type");
+        tableView.getColumns().addAll(titleCol,
+                descriptionCol,
+                locationCol,
                 contactCol,
-                getStringColumn(Appointment.class, "type"),
+                typeCol,
                 startCol,
                 endCol,
                 customerIdCol);
+        addStoreComparator(titleCol, AppointmentStore::getTitle);
+        addStoreComparator(descriptionCol, AppointmentStore::getDescription);
+        addStoreComparator(locationCol, AppointmentStore::getLocation);
+        addStoreComparator(typeCol, AppointmentStore::getType);
+        // lambda to look up the contact name of a row of the columnar store
+        addStoreComparator(contactCol, (store, row) -> {
+            final Contact contact = contactMap.get(store.getContactId(row));
+            return contact == null ? "" : contact.getName();
+        });
+        // lambda to compare the starts of two rows of the columnar store
+        storeComparators.put(startCol, (store, a, b) -> Long.compare(store.getStartSecond(a), store.getStartSecond(b)));
+        // lambda to compare the ends of two rows of the columnar store
+        storeComparators.put(endCol, (store, a, b) -> Long.compare(store.getEndSecond(a), store.getEndSecond(b)));
+        // lambda to compare the customer ids of two rows of the columnar store
+        storeComparators.put(customerIdCol,
+                (store, a, b) -> Long.compare(store.getCustomerId(a), store.getCustomerId(b)));
     }
 
     /**
+     * uses the appointments saved by the last run if there are any, they are only handed out for the first load
+     *
      * @see Table#populateData()
      */
     @Override
     protected final void populateData() {
+        contactMap = ReferenceData.getInstance().get().getContacts();
+        rowCache.clear();
+        final List<Appointment> saved = currentFilter == null && !useColumnarStore
+                ? LocalSnapshot.getInstance().takeAppointments(this)
+                : null;
+        if (saved != null) {
+            tableView.getItems().setAll(saved);
+            return;
+        }
         populateTable();
-        executeQuery("SELECT * FROM contacts", this::buildContactMap);
+        LocalSnapshot.getInstance().track(this);
     }
 
     /**
@@ -106,20 +250,15 @@ public final class AppointmentTable extends Table<Appointment> implements Initia
      */
     private void parseAppointments(SQLException ex, ResultSet rs) {
         if (ex != null) return;
+        if (useColumnarStore) {
+            parseAppointmentsIntoStore(rs);
+            return;
+        }
         final ObservableList<Appointment> appointments = tableView.getItems();
         appointments.clear();
         try {
             while (rs.next()) {
-                appointments.add(new Appointment(rs.getLong(1),
-                        rs.getString(2),
-                        rs.getString(3),
-                        rs.getString(4),
-                        rs.getString(5),
-                        rs.getTimestamp(6).toLocalDateTime(),
-                        rs.getTimestamp(7).toLocalDateTime(),
-                        rs.getLong(8),
-                        rs.getLong(9),
-                        rs.getLong(10)));
+                appointments.add(readRecord(rs));
             }
         } catch (SQLException exception) {
             printSQLException(exception);
@@ -127,22 +266,114 @@ public final class AppointmentTable extends Table<Appointment> implements Initia
     }
 
     /**
-     * builds a map of contactId to contact model instances. used to look up the contact name from an appointment record
-     * so the contact name is displayed in the table
+     * @see Table#readRecord(ResultSet)
+     */
+    @Override
+    protected Appointment readRecord(ResultSet rs) throws SQLException {
+        return readAppointment(rs);
+    }
+
+    /**
+     * @param rs a result set positioned on a row of the appointment query
+     * @return the appointment in the row
+     * @throws SQLException any exception while reading the row
+     */
+    static Appointment readAppointment(ResultSet rs) throws SQLException {
+        // locations and types repeat heavily, so every row shares the interned instance of its value
+        return new Appointment(rs.getLong(1),
+                rs.getString(2),
+                rs.getString(3),
+                StringDictionary.locations.intern(rs.getString(4)),
+                StringDictionary.types.intern(rs.getString(5)),
+                rs.getTimestamp(6).toLocalDateTime(),
+                rs.getTimestamp(7).toLocalDateTime(),
+                rs.getLong(8),
+                rs.getLong(9),
+                rs.getLong(10));
+    }
+
+    /**
+     * @see Table#getSelectStatement()
+     */
+    @Override
+    protected String getSelectStatement() {
+        return selectQuery;
+    }
+
+    /**
+     * @see Table#getTableName()
+     */
+    @Override
+    protected String getTableName() {
+        return "appointments";
+    }
+
+    /**
+     * @see Table#getIdColumn()
+     */
+    @Override
+    protected String getIdColumn() {
+        return "Appointment_ID";
+    }
+
+    /**
+     * a filtered table or the columnar store only hold some of the appointments or can't hand them out
+     *
+     * @see Table#isComplete()
+     */
+    @Override
+    boolean isComplete() {
+        return currentFilter == null && !(tableView.getItems() instanceof AppointmentList);
+    }
+
+    /**
+     * a filtered table or the columnar store can't be patched row by row, so it is reloaded instead. the changes are
+     * still published so reminders stay up to date
+     *
+     * @see Table#applyRemoteChanges(List, long[])
+     */
+    @Override
+    void applyRemoteChanges(List<Appointment> changed, long[] deletedIds) {
+        if (isComplete()) {
+            super.applyRemoteChanges(changed, deletedIds);
+            return;
+        }
+        populateTable();
+        for (Appointment appointment : changed) {
+            eventBus.publish(Appointment.class, EventBus.Change.Updated, appointment);
+        }
+        for (long id : deletedIds) {
+            final Appointment deleted = getNewRecord();
+            deleted.setId(id);
+            eventBus.publish(Appointment.class, EventBus.Change.Deleted, deleted);
+        }
+    }
+
+    /**
+     * parses the results of an appointment query straight into a columnar store, without creating an Appointment per
+     * row, and displays it in the table
      *
-     * @param ex a sql exception from the query
-     * @param rs the result set containing the contact rows
+     * @param rs the result set containing the appointment rows
      */
-    private void buildContactMap(SQLException ex, ResultSet rs) {
-        if (ex != null) return;
+    private void parseAppointmentsIntoStore(ResultSet rs) {
+        final AppointmentStore store = new AppointmentStore();
         try {
             while (rs.next()) {
-                final Contact contact = new Contact(rs.getLong(1), rs.getString(2), rs.getString((3)));
-                contactMap.put(contact.getId(), contact);
+                store.add(rs.getLong(1),
+                        rs.getString(2),
+                        rs.getString(3),
+                        rs.getString(4),
+                        rs.getString(5),
+                        rs.getTimestamp(6).toLocalDateTime(),
+                        rs.getTimestamp(7).toLocalDateTime(),
+                        rs.getLong(8),
+                        rs.getLong(9),
+                        rs.getLong(10));
             }
         } catch (SQLException exception) {
             printSQLException(exception);
         }
+        tableView.setItems(new AppointmentList(store));
     }
 
     /**
@@ -150,8 +381,7 @@ public final class AppointmentTable extends Table<Appointment> implements Initia
      */
     @Override
     protected String getInsertStatement() {
-        return "INSERT INTO appointments (Title, Description, `Location`, `Type`, `Start`, `End`, Customer_ID, User_ID, Contact_ID, Created_By, Last_Updated_By) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        return insertQuery;
     }
 
     /**
@@ -167,9 +397,7 @@ public final class AppointmentTable extends Table<Appointment> implements Initia
      */
     @Override
     protected String getUpdateStatement() {
-        return "UPDATE appointments " +
-                "SET Title = ?, Description = ?, `Location` = ?, `Type` = ?, `Start` = ?, `End` = ?, Customer_ID = ?, User_ID = ?, Contact_ID = ?, Last_Updated_By = ?, Last_Update = NOW() " +
-                "WHERE Appointment_ID = ?";
+        return updateQuery;
     }
 
     /**
@@ -214,6 +442,17 @@ public final class AppointmentTable extends Table<Appointment> implements Initia
         return val == 0 ? "" : Long.toString(val);
     }
 
+    /**
+     * keeps the columnar store in sync with a row that was edited in place
+     *
+     * @see Table#recordUpdated(Record)
+     */
+    @Override
+    protected void recordUpdated(Appointment record) {
+        final ObservableList<Appointment> appointments = tableView.getItems();
+        if (appointments instanceof AppointmentList) ((AppointmentList) appointments).writeBack(record);
+    }
+
     /**
      * lambda1: registers a callback with the filter controller so we know when the filter can be applied
      *
@@ -229,36 +468,17 @@ public final class AppointmentTable extends Table<Appointment> implements Initia
     }
 
     /**
-     * lambda1: consume an exception and result set and allow for DRY resource cleanup
-     *
      * @see Table#canUpdate(Record)
      */
     @Override
     protected boolean canUpdate(Appointment record) {
-        String query = "SELECT COUNT(*) FROM appointments " +
-                "WHERE (UNIX_TIMESTAMP(`START`) BETWEEN UNIX_TIMESTAMP(?) AND UNIX_TIMESTAMP(?)" +
-                "OR UNIX_TIMESTAMP(`END`) BETWEEN UNIX_TIMESTAMP(?) AND UNIX_TIMESTAMP(?)) " +
-                "AND Customer_ID = ?";
-        final List<Object> arguments = toArray(record.getSQLStart(),
-                record.getSQLEnd(),
-                record.getSQLStart(),
-                record.getSQLEnd(),
-                record.getCustomerId());
-        if (record.getId() != 0L) {
-            query += " AND Appointment_Id != ?";
-            arguments.add(record.getId());
+        boolean noOverlaps;
+        try {
+            noOverlaps = !hasOverlaps(createDatabaseConnection(), record);
+        } catch (SQLException exception) {
+            printSQLException(exception);
+            noOverlaps = false;
         }
-        // lambda to consume an exception and result set and allow for DRY resource cleanup
-        final boolean noOverlaps = executeQuery(query, arguments, (ex, rs) -> {
-            if (ex != null) return false;
-            try {
-                rs.next();
-                return rs.getInt("COUNT(*)") == 0;
-            } catch (SQLException exception) {
-                printSQLException(exception);
-                return false;
-            }
-        });
 
         if (!noOverlaps) {
             displayError(bundle.getString("error.overlapping"));
@@ -266,4 +486,36 @@ public final class AppointmentTable extends Table<Appointment> implements Initia
 
         return noOverlaps;
     }
+
+    /**
+     * checks whether the appointment overlaps another one of the same customer, i.e. whether one starts before the
+     * other ends and ends after the other starts. this also catches an appointment that lies within or around another,
+     * while back to back appointments don't overlap. shared with the ApiServer, which runs it on connections of its own
+     *
+     * @param connection the connection to query on
+     * @param record     the appointment to check, its own row is ignored when it has an id
+     * @return whether it overlaps
+     * @throws SQLException any exception while querying
+     */
+    static boolean hasOverlaps(Connection connection, Appointment record) throws SQLException {
+        String query = "SELECT COUNT(*) FROM appointments " +
+                "WHERE `Start` < ? AND `End` > ? " +
+                "AND Customer_ID = ?";
+        final boolean excludeSelf = record.getId() != 0L;
+        if (excludeSelf) {
+            query += " AND Appointment_Id != ?";
+        }
+        final LocalDateTime start = record.getUTCStart();
+        final LocalDateTime end = record.getUTCEnd();
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setObject(1, end);
+            statement.setObject(2, start);
+            statement.setLong(3, record.getCustomerId());
+            if (excludeSelf) statement.setLong(4, record.getId());
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getInt(1) != 0;
+            }
+        }
+    }
 }
@@ -0,0 +1,187 @@
+package Controllers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * appends lines to login_activity.txt without blocking the caller. lines are put on a bounded lock-free queue and a
+ * single background thread writes everything that is queued in one write and one fsync (a group commit) every
+ * -DauditLog.commitMillis (200 by default). the file is kept open between commits and rotated to
+ * login_activity-DATE-N.txt when it reaches -DauditLog.maxBytes (10 MB by default) or when the day changes. when the
+ * queue is full, lines are dropped and counted instead of waiting, and the count is written with the next commit.
+ * #close() writes whatever is still queued, it is called when the application stops
+ */
+public final class AuditLog {
+    private static final int capacity = Integer.getInteger("auditLog.capacity", 1024);
+    private static final long maxBytes = Long.getLong("auditLog.maxBytes", 10L * 1024 * 1024);
+    private static final long commitNanos = TimeUnit.MILLISECONDS.toNanos(Long.getLong("auditLog.commitMillis", 200));
+    private static AuditLog instance;
+    private final Path path;
+    private final ConcurrentLinkedQueue<String> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean closed = false;
+    // only used by the writer thread
+    private FileChannel channel;
+    private long size;
+    private LocalDate openedOn;
+
+    private AuditLog(Path path) {
+        this.path = path.toAbsolutePath();
+        writer = new Thread(this::run, "audit-log");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "audit-log-shutdown"));
+    }
+
+    /**
+     * @return the log for login_activity.txt in the working directory
+     */
+    public static synchronized AuditLog getInstance() {
+        if (instance == null) instance = new AuditLog(Paths.get("login_activity.txt"));
+        return instance;
+    }
+
+    /**
+     * closes the log if anything was logged, without starting the writer just to stop it again
+     */
+    public static void closeIfStarted() {
+        final AuditLog log;
+        synchronized (AuditLog.class) {
+            log = instance;
+        }
+        if (log != null) log.close();
+    }
+
+    /**
+     * queues a line to be written. never blocks and never touches the disk
+     *
+     * @param line the line, without a line separator
+     * @return whether the line was queued, false if the queue was full or the log is closed
+     */
+    public boolean append(String line) {
+        if (closed) return false;
+        if (queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            dropped.incrementAndGet();
+            return false;
+        }
+        queue.offer(line + System.lineSeparator());
+        return true;
+    }
+
+    /**
+     * stops the writer after it has written everything that is queued and closes the file. waits at most a few
+     * seconds, safe to call more than once
+     */
+    public void close() {
+        if (closed) return;
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            LockSupport.parkNanos(this, commitNanos);
+            commit();
+        }
+        commit();
+        closeChannel();
+    }
+
+    /**
+     * writes every queued line in one write followed by one fsync
+     */
+    private void commit() {
+        final StringBuilder batch = new StringBuilder();
+        String line;
+        while ((line = queue.poll()) != null) {
+            queued.decrementAndGet();
+            batch.append(line);
+        }
+        final long lost = dropped.getAndSet(0);
+        if (lost != 0) batch.append("dropped: ").append(lost).append(" entries").append(System.lineSeparator());
+        if (batch.length() == 0) return;
+        final ByteBuffer buffer = ByteBuffer.wrap(batch.toString().getBytes(StandardCharsets.UTF_8));
+        try {
+            prepareChannel(buffer.remaining());
+            while (buffer.hasRemaining()) {
+                size += channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException ex) {
+            System.out.println("Failed to write the audit log:");
+            System.out.println(ex.getMessage());
+            closeChannel();
+        }
+    }
+
+    /**
+     * opens the file if it isn't open yet and rotates it if the batch would make it too large or it's from another day
+     *
+     * @param length the number of bytes about to be written
+     * @throws IOException any exception while rotating or opening the file
+     */
+    private void prepareChannel(int length) throws IOException {
+        final LocalDate today = LocalDate.now();
+        if (channel == null) open(today);
+        if ((size > 0 && size + length > maxBytes) || !today.equals(openedOn)) {
+            closeChannel();
+            if (Files.exists(path)) Files.move(path, rotatedPath(openedOn), StandardCopyOption.ATOMIC_MOVE);
+            open(today);
+        }
+    }
+
+    private void open(LocalDate today) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        size = channel.size();
+        openedOn = size == 0
+                ? today
+                : LocalDate.ofInstant(Files.getLastModifiedTime(path).toInstant(), ZoneId.systemDefault());
+    }
+
+    /**
+     * @param date the day the entries in the file were written
+     * @return the first unused name like login_activity-2021-09-01-1.txt
+     */
+    private Path rotatedPath(LocalDate date) {
+        final String name = path.getFileName().toString();
+        final int dot = name.lastIndexOf('.');
+        final String base = dot == -1 ? name : name.substring(0, dot);
+        final String extension = dot == -1 ? "" : name.substring(dot);
+        for (int i = 1; ; i++) {
+            final Path rotated = path.resolveSibling(base + "-" + date + "-" + i + extension);
+            if (!Files.exists(rotated)) return rotated;
+        }
+    }
+
+    private void closeChannel() {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }
+        channel = null;
+    }
+}
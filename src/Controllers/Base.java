@@ -1,13 +1,20 @@
 package Controllers;
 
+import Model.Record;
+import Model.RowBinder;
+import Model.StatementBinder;
 import javafx.scene.control.Alert;
 import org.w3c.dom.Document;
 
+import javax.sql.DataSource;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import java.io.File;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.sql.*;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.ResourceBundle;
@@ -22,19 +29,12 @@ abstract public class Base {
     protected static Connection conn;
     protected static long userId = 0L;
     private static Locale coercedLocale = coerceLocale();
+    private static volatile String connectionString;
+    private static volatile DataSource dataSource;
+    private static volatile String databaseKey;
+    private static final int batchSize = Integer.getInteger("database.batchSize", 1000);
     protected View viewController;
 
-    {
-        if (conn == null) {
-            try {
-                createDatabaseConnection();
-            } catch (SQLException ex) {
-                printSQLException(ex);
-                conn = null;
-            }
-        }
-    }
-
     /**
      * Sets the locale to be used for the duration of the program
      *
@@ -68,21 +68,27 @@ abstract public class Base {
     }
 
     /**
-     * sets the locale and resource bundle for the app. they are static for the runtime of the application
+     * sets the locale and resource bundle for the app and the records, which use them for validation messages and
+     * report labels. they are static for the runtime of the application. called by the user interface, the api and the
+     * headless tools alike
      */
     public static void setLocaleAndBundle() {
         coercedLocale = coerceLocale();
         bundle = ResourceBundle.getBundle("App", getLocale());
+        Record.bundle = bundle;
+        Record.locale = coercedLocale;
+        Locale.setDefault(coercedLocale);
     }
 
     /**
      * parses the git ignored database.xml file in the root of the repo to build a connection string and keep the
-     * connection details private
+     * connection details private. the file is only parsed once
      *
      * @return the database connection string as parsed from the database.xml file
      * @throws Exception any IO or parsing exception
      */
-    private String getConnectionString() throws Exception {
+    private static String getConnectionString() throws Exception {
+        if (connectionString != null) return connectionString;
         final File inputFile = new File("database.xml");
         final DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
         final DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
@@ -94,27 +100,111 @@ abstract public class Base {
         final String name = doc.getElementsByTagName("name").item(0).getTextContent();
         final String user = doc.getElementsByTagName("user").item(0).getTextContent();
         final String password = doc.getElementsByTagName("password").item(0).getTextContent();
-        final String query = String.format("user=%s&password=%s", user, password);
+        final String query = String.format("user=%s&password=%s&rewriteBatchedStatements=true&useCursorFetch=true",
+                user, password);
+
+        connectionString = new URI("jdbc:mysql", null, serverName, port, "/" + name, query, null).toString();
+        return connectionString;
+    }
+
+    /**
+     * plugs in where connections come from, like a connection pool or a database set up by a benchmark. must be called
+     * before the first connection is opened
+     *
+     * @param source the data source for every connection of the app
+     */
+    public static void setDataSource(DataSource source) {
+        dataSource = source;
+        databaseKey = null;
+    }
+
+    /**
+     * the data source set with #setDataSource(DataSource) or, by default, the one picked by -Ddatabase:
+     * mysql (the default) connects to the server in database.xml, embedded and memory use EmbeddedDataSource.
+     * -Ddatabase.url overrides the url of any of them
+     *
+     * @return the data source for every connection of the app
+     * @throws Exception any IO or parsing exception while reading database.xml
+     */
+    protected static DataSource getDataSource() throws Exception {
+        if (dataSource != null) return dataSource;
+        synchronized (Base.class) {
+            if (dataSource != null) return dataSource;
+            final String url = System.getProperty("database.url");
+            switch (System.getProperty("database", "mysql")) {
+                case "embedded":
+                    dataSource = new EmbeddedDataSource(url != null ? url : EmbeddedDataSource.fileUrl);
+                    break;
+                case "memory":
+                    dataSource = new EmbeddedDataSource(url != null ? url : EmbeddedDataSource.memoryUrl);
+                    break;
+                default:
+                    dataSource = new DriverDataSource("com.mysql.cj.jdbc.Driver",
+                            url != null ? url : getConnectionString());
+            }
+            return dataSource;
+        }
+    }
 
-        return new URI("jdbc:mysql", null, serverName, port, "/" + name, query, null).toString();
+    /**
+     * a short name for the database that files kept between runs, like the local snapshot, can be named after. it is
+     * hashed from the connection url so it never reveals the password. a data source that isn't a DriverDataSource,
+     * like a pool plugged in with #setDataSource(DataSource), is identified by the url and user its connections report
+     * instead. computed once per data source
+     *
+     * @return the first 16 hex digits of the SHA-256 of the connection url
+     * @throws Exception any IO or parsing exception while reading database.xml, or SQL exception while connecting
+     */
+    protected String getDatabaseKey() throws Exception {
+        if (databaseKey != null) return databaseKey;
+        final DataSource source = getDataSource();
+        final String name;
+        if (source instanceof DriverDataSource) {
+            name = ((DriverDataSource) source).getUrl();
+        } else {
+            try (Connection connection = source.getConnection()) {
+                final DatabaseMetaData metaData = connection.getMetaData();
+                name = metaData.getURL() + "\n" + metaData.getUserName();
+            }
+        }
+        final byte[] hash = MessageDigest.getInstance("SHA-256").digest(name.getBytes(StandardCharsets.UTF_8));
+        final StringBuilder key = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            key.append(String.format("%02x", hash[i]));
+        }
+        databaseKey = key.toString();
+        return databaseKey;
     }
 
     /**
-     * establishes a connection to the database
+     * establishes the shared connection to the database the first time it's needed. synchronized because the warm
+     * start opens it in the background while the login view is showing
      *
      * @return the connection object
      * @throws SQLException any exception that occurs when trying to connect to the DB
      */
-    private Connection createDatabaseConnection() throws SQLException {
-        if (conn != null && !conn.isClosed()) return conn;
-        conn = null;
+    protected Connection createDatabaseConnection() throws SQLException {
+        synchronized (Base.class) {
+            if (conn != null && !conn.isClosed()) return conn;
+            conn = null;
+            conn = openConnection();
+
+            return conn;
+        }
+    }
+
+    /**
+     * opens a new connection to the database that isn't shared with the rest of the app. used for work that runs off
+     * of the JavaFX thread so it doesn't contend for the shared connection
+     *
+     * @return the new connection, the caller is responsible for closing it
+     */
+    protected Connection openConnection() {
         try {
-            conn = DriverManager.getConnection(getConnectionString());
+            return getDataSource().getConnection();
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
-
-        return conn;
     }
 
     /**
@@ -131,7 +221,7 @@ abstract public class Base {
      */
     protected <T> T executeQuery(String query, BiFunction<SQLException, ResultSet, T> handler) {
         // lambda to consume an exception and result set and allow for DRY resource cleanup
-        return executeQuery(query, null, (ex, rs) -> (T) handler.apply(ex, rs));
+        return executeQuery(query, (StatementBinder) null, (ex, rs) -> (T) handler.apply(ex, rs));
     }
 
     /**
@@ -146,7 +236,7 @@ abstract public class Base {
      */
     protected void executeQuery(String query, BiConsumer<SQLException, ResultSet> handler) {
         // lambda to consume an exception and result set and allow for DRY resource cleanup
-        executeQuery(query, null, (ex, rs) -> {
+        executeQuery(query, (StatementBinder) null, (ex, rs) -> {
             handler.accept(ex, rs);
             return null;
         });
@@ -172,9 +262,8 @@ abstract public class Base {
     }
 
     /**
-     * A wrapper around the SQL query that allows for a lambda function to be passed as an argument
-     * for a Node-esque error-first callback style. This allows for the caller to consume the result
-     * set or error and for the resources to be cleaned up in a DRY manner
+     * A wrapper around Base#executeQuery(String, StatementBinder, BiFunction) for when the arguments are a list of
+     * objects
      *
      * @param <T>       whatever value the handler returns
      * @param query     the query to execute
@@ -182,10 +271,27 @@ abstract public class Base {
      * @param handler   a function to handle any errors or result sets from the query, its return value will be returned
      *                  from this function
      * @return the value from the handler
+     * @see Base#executeQuery(String, StatementBinder, BiFunction)
      */
     protected <T> T executeQuery(String query, List<Object> arguments, BiFunction<SQLException, ResultSet, T> handler) {
+        return executeQuery(query, toBinder(arguments), handler);
+    }
+
+    /**
+     * A wrapper around the SQL query that allows for a lambda function to be passed as an argument
+     * for a Node-esque error-first callback style. This allows for the caller to consume the result
+     * set or error and for the resources to be cleaned up in a DRY manner
+     *
+     * @param <T>     whatever value the handler returns
+     * @param query   the query to execute
+     * @param binder  binds the arguments directly to the statement, may be null
+     * @param handler a function to handle any errors or result sets from the query, its return value will be returned
+     *                from this function
+     * @return the value from the handler
+     */
+    protected <T> T executeQuery(String query, StatementBinder binder, BiFunction<SQLException, ResultSet, T> handler) {
         try (var stmt = createDatabaseConnection().prepareStatement(query)) {
-            setArguments(stmt, arguments);
+            if (binder != null) binder.bind(stmt);
 
             try (var rs = stmt.executeQuery()) {
                 return handler.apply(null, rs);
@@ -197,19 +303,32 @@ abstract public class Base {
     }
 
     /**
-     * a function to insert a new record using the given statement and arguments and clean up any resources after the
-     * callback consumes any exception or result set
+     * A wrapper around Base#executeInsert(String, StatementBinder, BiConsumer) for when the arguments are a list of
+     * objects
      *
      * @param query     a SQL statement to execute
      * @param arguments a list of objects to use as arguments with the query
      * @param handler   a callback function to consume the exception or result set
+     * @see Base#executeInsert(String, StatementBinder, BiConsumer)
      */
     protected void executeInsert(String query, List<Object> arguments, BiConsumer<SQLException, Long> handler) {
+        executeInsert(query, toBinder(arguments), handler);
+    }
+
+    /**
+     * a function to insert a new record using the given statement and arguments and clean up any resources after the
+     * callback consumes any exception or result set
+     *
+     * @param query   a SQL statement to execute
+     * @param binder  binds the arguments directly to the statement
+     * @param handler a callback function to consume the exception or result set
+     */
+    protected void executeInsert(String query, StatementBinder binder, BiConsumer<SQLException, Long> handler) {
         try (
                 Connection connection = createDatabaseConnection();
                 PreparedStatement stmt = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)
         ) {
-            setArguments(stmt, arguments);
+            if (binder != null) binder.bind(stmt);
             stmt.executeUpdate();
 
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
@@ -245,22 +364,57 @@ abstract public class Base {
     }
 
     /**
-     * a method that executes an update statement with the provided arguments, calls the provided callback with any
-     * exception or result set, and automatically cleans up any resources after the callback returns. additionally,
-     * whatever value is returned from the callback is returned from this function
+     * A wrapper around Base#executeUpdate(String, StatementBinder, BiFunction) for when the arguments are a list of
+     * objects
      *
      * @param query     a SQL statement to execute
      * @param arguments a list of objects to use as arguments with the query
      * @param handler   a callback function to consume the exception or result set
      * @param <T>       the type that is returned from the callback
      * @return whatever value the caller returns from the callback
+     * @see Base#executeUpdate(String, StatementBinder, BiFunction)
      */
     protected <T> T executeUpdate(String query, List<Object> arguments, BiFunction<SQLException, Integer, T> handler) {
+        return executeUpdate(query, toBinder(arguments), handler);
+    }
+
+    /**
+     * lambda1: lambda to consume an exception and result set and allow for DRY resource cleanup
+     * <p>
+     * a wrapper around Base#executeUpdate(String, StatementBinder, BiFunction) for when the caller does not need to
+     * return any value from the callback. it has its own name so a handler lambda never matches both overloads
+     *
+     * @param query   a SQL statement to execute
+     * @param binder  binds the arguments directly to the statement
+     * @param handler a callback function to consume the exception or result set
+     * @see Base#executeUpdate(String, StatementBinder, BiFunction)
+     */
+    protected void executeUpdateAndConsume(String query, StatementBinder binder,
+                                           BiConsumer<SQLException, Integer> handler) {
+        // lambda to consume an exception and result set and allow for DRY resource cleanup
+        executeUpdate(query, binder, ((BiFunction<SQLException, Integer, Void>) (ex, updates) -> {
+            handler.accept(ex, updates);
+            return null;
+        }));
+    }
+
+    /**
+     * a method that executes an update statement with the provided arguments, calls the provided callback with any
+     * exception or result set, and automatically cleans up any resources after the callback returns. additionally,
+     * whatever value is returned from the callback is returned from this function
+     *
+     * @param query   a SQL statement to execute
+     * @param binder  binds the arguments directly to the statement
+     * @param handler a callback function to consume the exception or result set
+     * @param <T>     the type that is returned from the callback
+     * @return whatever value the caller returns from the callback
+     */
+    protected <T> T executeUpdate(String query, StatementBinder binder, BiFunction<SQLException, Integer, T> handler) {
         try (
                 Connection connection = createDatabaseConnection();
                 PreparedStatement stmt = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)
         ) {
-            setArguments(stmt, arguments);
+            if (binder != null) binder.bind(stmt);
 
             int affectedRows = stmt.executeUpdate();
             return handler.apply(null, affectedRows);
@@ -270,6 +424,59 @@ abstract public class Base {
         }
     }
 
+    /**
+     * the bulk counterpart of Base#executeInsert(String, StatementBinder, BiConsumer). the rows are bound to one
+     * statement and sent in JDBC batches of -Ddatabase.batchSize (1000 by default), committing after every batch so a
+     * bulk load neither pays a commit per row nor holds one huge transaction. the MySQL url sets
+     * rewriteBatchedStatements, so each batch goes to the server as a single multi-row insert. the rows are pulled from
+     * the iterator as they are bound, so they never all have to be in memory
+     *
+     * @param connection the connection to insert on, its auto-commit setting is restored afterwards
+     * @param query      a SQL statement to execute for every row
+     * @param rows       the rows to insert
+     * @param binder     binds a row to the statement
+     * @param <T>        the type of the rows
+     * @return the number of rows inserted
+     * @throws SQLException any exception while inserting, the batch that failed is rolled back
+     */
+    protected <T> long executeBatch(Connection connection, String query, Iterator<T> rows, RowBinder<T> binder)
+            throws SQLException {
+        final boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        long count = 0;
+        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+            while (rows.hasNext()) {
+                binder.bind(stmt, rows.next());
+                stmt.addBatch();
+                if (++count % batchSize == 0) {
+                    stmt.executeBatch();
+                    connection.commit();
+                }
+            }
+            stmt.executeBatch();
+            connection.commit();
+        } catch (SQLException ex) {
+            connection.rollback();
+            throw ex;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        return count;
+    }
+
+    /**
+     * lambda1: binds the list of arguments when the statement is prepared
+     * <p>
+     * adapts a list of objects into a binder for the statement
+     *
+     * @param arguments the arguments to use with the prepared statement
+     * @return the binder for the arguments
+     */
+    private StatementBinder toBinder(List<Object> arguments) {
+        // lambda binds the list of arguments when the statement is prepared
+        return arguments == null ? null : statement -> setArguments(statement, arguments);
+    }
+
     /**
      * iterates over a list of objects to use as arguments in a prepared statement
      *
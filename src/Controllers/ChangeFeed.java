@@ -0,0 +1,209 @@
+package Controllers;
+
+import Model.Model;
+import Model.Record;
+import javafx.application.Platform;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * keeps the open tables in sync with the writes of other clients. triggers record every insert, update and delete of
+ * customers and appointments in the change_log table (see sql/change_log.sql), and the feed polls it for entries newer
+ * than the last one it has seen. only the changed rows are fetched, and the tables are patched in place. the poll
+ * interval starts at -DchangeFeed.minMillis (1 second) and doubles up to -DchangeFeed.maxMillis (30 seconds) while
+ * nothing changes, so idle clients barely touch the database
+ */
+public final class ChangeFeed extends Base {
+    private static final long minInterval = Long.getLong("changeFeed.minMillis", 1000);
+    private static final long maxInterval = Long.getLong("changeFeed.maxMillis", 30000);
+    /**
+     * how long a gap in the versions is waited on. versions come from an auto increment, so a transaction that commits
+     * late can fill in a version below one that is already visible, or a rolled back one leaves a gap forever
+     */
+    private static final long gapTimeout = TimeUnit.SECONDS.toNanos(5);
+    private static final int batchSize = 500;
+    // the SQL state for a missing table, the same for MySQL and H2
+    private static final String noSuchTable = "42S02";
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "change-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ConcurrentMap<String, Table<?>> tables = new ConcurrentHashMap<>();
+    // only used by the poller thread
+    private Connection connection;
+    private long version = -1;
+    private long interval = minInterval;
+    private long gapSince = 0;
+
+    /**
+     * patches a table with the changes to an entity
+     *
+     * @param entity the name of the database table, as written by the triggers
+     * @param table  the table to patch
+     */
+    public void register(String entity, Table<?> table) {
+        tables.put(entity, table);
+    }
+
+    /**
+     * starts polling. the first poll only reads the latest version, anything before it is already in the tables
+     */
+    public void start() {
+        executor.execute(this::poll);
+    }
+
+    private void poll() {
+        try {
+            final boolean changed = pollOnce();
+            interval = changed ? minInterval : Math.min(maxInterval, interval * 2);
+        } catch (SQLException ex) {
+            if (noSuchTable.equals(ex.getSQLState())) {
+                System.out.println("change_log is missing, run sql/change_log.sql to keep clients in sync");
+                executor.shutdown();
+                return;
+            }
+            printSQLException(ex);
+            closeConnection();
+            interval = maxInterval;
+        } catch (RuntimeException ex) {
+            System.out.println("change feed could not connect:");
+            System.out.println(ex);
+            interval = maxInterval;
+        }
+        executor.schedule(this::poll, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * lambda1: starts the changes for an entity
+     * <p>
+     * reads the entries after the last version and patches the tables
+     *
+     * @return whether there were any entries
+     * @throws SQLException any exception while reading the log or the changed rows
+     */
+    private boolean pollOnce() throws SQLException {
+        if (connection == null || connection.isClosed()) connection = openConnection();
+        if (version < 0) {
+            try (
+                    PreparedStatement stmt = connection.prepareStatement("SELECT COALESCE(MAX(Version), 0) FROM change_log");
+                    ResultSet rs = stmt.executeQuery()
+            ) {
+                rs.next();
+                version = rs.getLong(1);
+            }
+            return false;
+        }
+
+        // the last operation on each id wins, the rows are fetched as they are now anyway
+        final Map<String, Map<Long, Boolean>> changesByEntity = new LinkedHashMap<>();
+        long contiguous = version;
+        long latest = version;
+        boolean gap = false;
+        try (PreparedStatement stmt = connection.prepareStatement("SELECT Version, Entity, Entity_ID, Op " +
+                "FROM change_log " +
+                "WHERE Version > ? " +
+                "ORDER BY Version " +
+                "LIMIT " + batchSize)) {
+            stmt.setLong(1, version);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    final long entryVersion = rs.getLong(1);
+                    if (!gap && entryVersion == contiguous + 1) {
+                        contiguous = entryVersion;
+                    } else {
+                        gap = true;
+                    }
+                    latest = entryVersion;
+                    // lambda to start the changes for an entity
+                    changesByEntity.computeIfAbsent(rs.getString(2), entity -> new LinkedHashMap<>())
+                            .put(rs.getLong(3), "D".equals(rs.getString(4)));
+                }
+            }
+        }
+        version = advance(contiguous, latest, gap);
+        for (Map.Entry<String, Map<Long, Boolean>> entry : changesByEntity.entrySet()) {
+            final Table<?> table = tables.get(entry.getKey());
+            if (table != null) patch(table, entry.getValue());
+        }
+        return !changesByEntity.isEmpty();
+    }
+
+    /**
+     * @return the version to read from next time. a gap is read across again until it is filled or times out, which is
+     * harmless because patching a table with rows it already shows does nothing
+     */
+    private long advance(long contiguous, long latest, boolean gap) {
+        if (!gap) {
+            gapSince = 0;
+            return contiguous;
+        }
+        final long now = System.nanoTime();
+        if (gapSince == 0) gapSince = now;
+        if (now - gapSince < gapTimeout) return contiguous;
+        gapSince = 0;
+        return latest;
+    }
+
+    /**
+     * lambda1: patches the table on the JavaFX thread
+     * <p>
+     * fetches the changed rows of a table and hands them to it. ids that aren't found anymore were deleted since
+     *
+     * @param table   the table to patch
+     * @param changes whether each changed id was deleted
+     * @param <T>     the type of record
+     * @throws SQLException any exception while reading the rows
+     */
+    private <T extends Record & Model<T>> void patch(Table<T> table, Map<Long, Boolean> changes) throws SQLException {
+        final List<Long> upserted = new ArrayList<>();
+        final List<Long> deleted = new ArrayList<>();
+        for (Map.Entry<Long, Boolean> change : changes.entrySet()) {
+            (change.getValue() ? deleted : upserted).add(change.getKey());
+        }
+        final List<T> records = new ArrayList<>(upserted.size());
+        if (!upserted.isEmpty()) {
+            try (PreparedStatement stmt = connection.prepareStatement(table.getSelectByIdsStatement(upserted.size()))) {
+                for (int i = 0; i < upserted.size(); i++) {
+                    stmt.setLong(i + 1, upserted.get(i));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        records.add(table.readRecord(rs));
+                    }
+                }
+            }
+            if (records.size() < upserted.size()) {
+                for (T record : records) {
+                    upserted.remove(Long.valueOf(record.getId()));
+                }
+                deleted.addAll(upserted);
+            }
+        }
+        final long[] deletedIds = deleted.stream().mapToLong(Long::longValue).toArray();
+        // lambda to patch the table on the JavaFX thread
+        Platform.runLater(() -> table.applyRemoteChanges(records, deletedIds));
+    }
+
+    private void closeConnection() {
+        if (connection == null) return;
+        try {
+            connection.close();
+        } catch (SQLException ex) {
+            printSQLException(ex);
+        }
+        connection = null;
+    }
+}
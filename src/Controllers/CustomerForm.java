@@ -3,22 +3,15 @@ package Controllers;
 import Model.Country;
 import Model.Customer;
 import Model.Division;
-import javafx.collections.ObservableList;
+import Model.DivisionIndex;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.TextField;
 
-import java.net.URL;
-import java.util.Comparator;
-import java.util.Map;
-import java.util.ResourceBundle;
-import java.util.function.Function;
-
 public final class CustomerForm extends Form<Customer> implements Initializable {
-    private final Map<Long, Country> countryMap;
-    private final Map<Long, Division> divisionMap;
+    private DivisionIndex divisionIndex;
     @FXML
     private TextField nameField;
     @FXML
@@ -32,35 +25,23 @@ public final class CustomerForm extends Form<Customer> implements Initializable
     @FXML
     private ComboBox<Country> countryComboBox;
 
-    public CustomerForm(String windowTitle,
-                        Map<Long, Division> divisionMap,
-                        Map<Long, Country> countryMap,
-                        FormFactory.Mode mode,
-                        Customer record,
-                        Function<Customer, Boolean> callback) {
-        super(windowTitle, mode, record, callback);
-        this.divisionMap = divisionMap;
-        this.countryMap = countryMap;
+    /**
+     * @param divisionIndex the divisions grouped by country, from the current reference data
+     */
+    void setDivisionIndex(DivisionIndex divisionIndex) {
+        this.divisionIndex = divisionIndex;
     }
 
     /**
-     * lambda1: iterate over all the key value pairs. cleaner and more readable than an anonymous class
-     *
-     * @see Initializable#initialize(URL, ResourceBundle)
+     * @see Form#resetFields()
      */
     @Override
-    public void initialize(URL url, ResourceBundle resourceBundle) {
-        ObservableList<Country> countries = countryComboBox.getItems();
-        // lambda to iterate over all the key value pairs. cleaner and more readable than an anonymous class
-        divisionMap.forEach((id, division) -> {
-            Country country = countryMap.get(division.getCountryId());
-            if (!countries.contains(country)) {
-                countries.add(country);
-            }
-        });
-        countries.sort(Comparator.comparing(Country::getCountry));
+    protected void resetFields() {
+        countryComboBox.getItems().setAll(divisionIndex.getCountries());
+        countryComboBox.setValue(null);
+        countryComboBox.setDisable(readOnly);
+        divisionComboBox.getItems().clear();
         divisionComboBox.setDisable(true);
-        super.initialize(url, resourceBundle);
     }
 
     /**
@@ -68,8 +49,8 @@ public final class CustomerForm extends Form<Customer> implements Initializable
      */
     @Override
     protected void setFields() {
-        final Division division = divisionMap.get(record.getDivisionId());
-        countryComboBox.getSelectionModel().select(countryMap.get(division.getCountryId()));
+        final Division division = divisionIndex.getDivision(record.getDivisionId());
+        countryComboBox.getSelectionModel().select(divisionIndex.getCountry(division.getCountryId()));
         countryComboBox.setDisable(readOnly);
         populateDivisions(null);
         divisionComboBox.getSelectionModel().select(division);
@@ -84,8 +65,6 @@ public final class CustomerForm extends Form<Customer> implements Initializable
     }
 
     /**
-     * lambda1: iterate over all the key value pairs. cleaner and more readable than an anonymous class
-     * <p>
      * sets the division ComboBox with all the divisions for the selected country
      *
      * @param event JavaFX action event
@@ -93,14 +72,13 @@ public final class CustomerForm extends Form<Customer> implements Initializable
     @FXML
     private void populateDivisions(ActionEvent event) {
         final Country country = countryComboBox.getValue();
-        final ObservableList<Division> divisions = divisionComboBox.getItems();
-        divisions.clear();
-        // lambda to iterate over all the key value pairs. cleaner and more readable than an anonymous class
-        divisionMap.forEach((key, division) -> {
-            if (division.getCountryId() == country.getId()) divisions.add(division);
-        });
+        if (country == null) {
+            divisionComboBox.getItems().clear();
+            divisionComboBox.setDisable(true);
+            return;
+        }
+        divisionComboBox.getItems().setAll(divisionIndex.getDivisions(country.getId()));
         divisionComboBox.setDisable(readOnly || divisionComboBox.getItems().isEmpty());
-        divisions.sort(Comparator.comparing(Division::getDivision));
     }
 
     /**
@@ -1,23 +1,32 @@
 package Controllers;
 
 import Model.*;
-import javafx.beans.property.SimpleStringProperty;
-import javafx.scene.control.Alert;
 import javafx.scene.control.TableColumn;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 
 public final class CustomerTable extends Table<Customer> {
-    private final HashMap<Long, Division> divisionMap = new HashMap<>();
-    private final HashMap<Long, Country> countryMap = new HashMap<>();
+    /**
+     * the query for every customer, also run by WarmStart before the user has logged in
+     */
+    static final String customerQuery = "SELECT customers.Customer_ID, Customer_Name, Address, Postal_Code, Phone, d.Division_ID, d.Country_ID " +
+            "FROM customers " +
+            "JOIN first_level_divisions d ON d.Division_ID = customers.Division_ID";
+    static final String insertQuery = "INSERT INTO customers " +
+            "(Customer_Name, Address, Postal_Code, Phone, Division_ID, Created_By, Last_Updated_By) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    static final String updateQuery = "UPDATE customers " +
+            "SET Customer_Name = ?, Address = ?, Postal_Code = ?, Phone = ?, Division_ID = ?, Last_Updated_By = ?, Last_Update = NOW() " +
+            "WHERE Customer_ID = ?";
+    private final RecordIndex<Customer> customerIndex = new RecordIndex<>();
+    private LongLookup<Division> divisionMap;
+    private LongLookup<Country> countryMap;
 
-    public CustomerTable(Main.EventEmitter eventEmitter) {
-        super(new CustomerFormFactory(Customer.class), eventEmitter);
-        ((CustomerFormFactory) formFactory).setDivisionMap(Collections.unmodifiableMap(divisionMap));
-        ((CustomerFormFactory) formFactory).setCountryMap(Collections.unmodifiableMap(countryMap));
+    public CustomerTable(EventBus eventBus) {
+        super(new CustomerFormFactory(Customer.class), eventBus);
     }
 
     /**
@@ -32,99 +41,79 @@ public final class CustomerTable extends Table<Customer> {
         final TableColumn<Customer, String> addressColumn = getStringColumn(Customer.class, "address");
         final TableColumn<Customer, String> postalCodeColumn = getStringColumn(Customer.class, "postalCode");
         final TableColumn<Customer, String> phoneColumn = getStringColumn(Customer.class, "phone");
-        final TableColumn<Customer, String> divisionColumn = new TableColumn<>(bundle.getString("customer.division"));
-        // lambda to properly convert a division id into a displayable division name
-        divisionColumn.setCellValueFactory(param -> {
-            final Division division = divisionMap.get(param.getValue().getDivisionId());
-            return new SimpleStringProperty(division.getDivision());
-        });
-        final TableColumn<Customer, String> countryColumn = new TableColumn<>(bundle.getString("customer.country"));
-        // lambda to properly convert a country id into a displayable country name
-        countryColumn.setCellValueFactory(param -> {
-            final Division division = divisionMap.get(param.getValue().getDivisionId());
-            return new SimpleStringProperty(countryMap.get(division.getCountryId()).getCountry());
-        });
+        final TableColumn<Customer, String> divisionColumn = rowCache.createColumn(bundle.getString("customer.division"),
+                // lambda to properly convert a division id into a displayable division name
+                customer -> divisionMap.get(customer.getDivisionId()).getDivision());
+        final TableColumn<Customer, String> countryColumn = rowCache.createColumn(bundle.getString("customer.country"),
+                // lambda to properly convert a country id into a displayable country name
+                customer -> {
+                    final Division division = divisionMap.get(customer.getDivisionId());
+                    return countryMap.get(division.getCountryId()).getCountry();
+                });
         tableView.getColumns().addAll(nameColumn, addressColumn, postalCodeColumn, phoneColumn, divisionColumn, countryColumn);
     }
 
     /**
-     * lambda1-3: consume an exception and result set and allow for DRY resource cleanup
+     * lambda1: consume an exception and result set and allow for DRY resource cleanup
+     * <p>
+     * uses the customers saved by the last run or, failing that, the ones the warm start fetched while the login view
+     * was showing, if there are any
      *
      * @see Table#populateData()
      */
     @Override
     protected final void populateData() {
-        // lambda to consume an exception and result set and allow for DRY resource cleanup
-        executeQuery("SELECT Division_ID, Division, Country_ID FROM first_level_divisions", (ex, rs) -> {
-            if (ex == null) buildDivisionMap(rs);
-        });
-        // lambda to consume an exception and result set and allow for DRY resource cleanup
-        executeQuery("SELECT Country_ID, Country FROM countries", (ex, rs) -> {
-            if (ex == null) addCountries(rs);
-        });
-        // lambda to consume an exception and result set and allow for DRY resource cleanup
-        executeQuery("SELECT Customer_ID, Customer_Name, Address, Postal_Code, Phone, d.Division_ID, d.Country_ID " +
-                "FROM customers c " +
-                "JOIN first_level_divisions d ON d.Division_ID = c.Division_ID;", (ex, rs) -> {
-            if (ex == null) consumeResultSet(rs);
-        });
-        executeQuery("SELECT Appointment_ID, `Start` FROM appointments " +
-                "WHERE `Start` BETWEEN NOW() AND DATE_ADD(NOW(), INTERVAL 15 MINUTE) " +
-                "AND User_ID = ?", toArray(userId), this::notifyOfAppointments);
+        final ReferenceData.Snapshot referenceData = ReferenceData.getInstance().get();
+        divisionMap = referenceData.getDivisions();
+        countryMap = referenceData.getCountries();
+        final List<Customer> saved = LocalSnapshot.getInstance().takeCustomers(this);
+        final List<Customer> prefetched = saved == null ? WarmStart.takeCustomers() : null;
+        if (saved != null) {
+            addCustomers(saved);
+        } else if (prefetched != null) {
+            addCustomers(prefetched);
+            LocalSnapshot.getInstance().track(this);
+        } else {
+            // lambda to consume an exception and result set and allow for DRY resource cleanup
+            executeQuery(customerQuery, (ex, rs) -> {
+                if (ex == null) consumeResultSet(rs);
+            });
+            LocalSnapshot.getInstance().track(this);
+        }
+        WarmStart.customersShown();
+        ReminderScheduler.getInstance().start();
     }
 
     /**
-     * consumes the result of the query for appointments within the next 15 minutes. if there are no upcoming
-     * appointments, it displays a message saying so. otherwise it displays a list of all the appointments in that
-     * timeframe.
-     *
-     * @param ex a sql exception from the query
-     * @param rs the result set containing the appointment rows
+     * @see Table#recordAdded(Record)
      */
-    private void notifyOfAppointments(SQLException ex, ResultSet rs) {
-        if (ex != null) return;
-        final StringBuilder appointments = new StringBuilder();
-        try {
-            while (rs.next()) {
-                appointments
-                        .append("\n")
-                        .append(bundle.getString("record.id"))
-                        .append(" ")
-                        .append(rs.getInt(1))
-                        .append(" ")
-                        .append(bundle.getString("appointment.at"))
-                        .append(" ")
-                        .append(Appointment.formatLocalDate(rs.getTimestamp(2).toLocalDateTime()));
-            }
-            final String alertBody = appointments.length() != 0
-                    ? bundle.getString("appointment.upcomingAppointment") + "\n" + appointments
-                    : bundle.getString("appointment.noUpcomingAppointment");
-            displayAlert(bundle.getString("appointment.alertTitle"), alertBody, Alert.AlertType.INFORMATION);
-        } catch (SQLException exception) {
-            printSQLException(exception);
-        }
+    @Override
+    protected void recordAdded(Customer record) {
+        customerIndex.put(record);
     }
 
-    private void buildDivisionMap(ResultSet rs) {
-        try {
-            while (rs.next()) {
-                final Division division = new Division(rs.getInt(1), rs.getString(2), rs.getInt(3));
-                divisionMap.put(division.getId(), division);
-            }
-        } catch (SQLException ex) {
-            printSQLException(ex);
-        }
+    /**
+     * @see Table#recordUpdated(Record)
+     */
+    @Override
+    protected void recordUpdated(Customer record) {
+        customerIndex.put(record);
     }
 
-    private void addCountries(ResultSet rs) {
-        try {
-            while (rs.next()) {
-                final Country country = new Country(rs.getInt(1), rs.getString(2));
-                countryMap.put(country.getId(), country);
-            }
-        } catch (SQLException ex) {
-            printSQLException(ex);
-        }
+    /**
+     * @see Table#recordDeleted(Record)
+     */
+    @Override
+    protected void recordDeleted(Customer record) {
+        customerIndex.remove(record.getId());
+    }
+
+    /**
+     * @return every customer in the table, indexed by id and name. it is kept up to date as customers are added,
+     * edited and deleted
+     */
+    public RecordIndex<Customer> getCustomerIndex() {
+        return customerIndex;
     }
 
     /**
@@ -142,29 +131,86 @@ public final class CustomerTable extends Table<Customer> {
 
     private void consumeResultSet(ResultSet rs) {
         try {
-            while (rs.next()) {
-                tableView.getItems().add(new Customer(
-                        rs.getInt(1),
-                        rs.getString(2),
-                        rs.getString(3),
-                        rs.getString(4),
-                        rs.getString(5),
-                        rs.getInt(6)
-                ));
-            }
+            addCustomers(readCustomers(rs));
         } catch (SQLException ex) {
             printSQLException(ex);
         }
     }
 
+    private void addCustomers(List<Customer> customers) {
+        tableView.getItems().addAll(customers);
+        for (Customer customer : customers) {
+            customerIndex.put(customer);
+        }
+    }
+
+    /**
+     * @param rs the result set of the customer query
+     * @return the customers in the result set
+     * @throws SQLException any exception while reading the rows
+     */
+    static List<Customer> readCustomers(ResultSet rs) throws SQLException {
+        final List<Customer> customers = new ArrayList<>();
+        while (rs.next()) {
+            customers.add(readCustomer(rs));
+        }
+        return customers;
+    }
+
+    /**
+     * @param rs a result set positioned on a row of the customer query
+     * @return the customer in the row
+     * @throws SQLException any exception while reading the row
+     */
+    static Customer readCustomer(ResultSet rs) throws SQLException {
+        return new Customer(
+                rs.getInt(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getString(4),
+                rs.getString(5),
+                rs.getInt(6)
+        );
+    }
+
+    /**
+     * @see Table#getSelectStatement()
+     */
+    @Override
+    protected String getSelectStatement() {
+        return customerQuery;
+    }
+
+    /**
+     * @see Table#getTableName()
+     */
+    @Override
+    protected String getTableName() {
+        return "customers";
+    }
+
+    /**
+     * @see Table#getIdColumn()
+     */
+    @Override
+    protected String getIdColumn() {
+        return "Customer_ID";
+    }
+
+    /**
+     * @see Table#readRecord(ResultSet)
+     */
+    @Override
+    protected Customer readRecord(ResultSet rs) throws SQLException {
+        return readCustomer(rs);
+    }
+
     /**
      * @see Table#getInsertStatement()
      */
     @Override
     public String getInsertStatement() {
-        return "INSERT INTO customers " +
-                "(Customer_Name, Address, Postal_Code, Phone, Division_ID, Created_By, Last_Updated_By) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        return insertQuery;
     }
 
     /**
@@ -172,9 +218,7 @@ public final class CustomerTable extends Table<Customer> {
      */
     @Override
     public String getUpdateStatement() {
-        return "UPDATE customers " +
-                "SET Customer_Name = ?, Address = ?, Postal_Code = ?, Phone = ?, Division_ID = ?, Last_Updated_By = ?, Last_Update = NOW() " +
-                "WHERE Customer_ID = ?";
+        return updateQuery;
     }
 
     /**
@@ -240,12 +284,4 @@ public final class CustomerTable extends Table<Customer> {
         }
         return output.toString();
     }
-
-    /**
-     * @see Table#emitEvent()
-     */
-    @Override
-    protected void emitEvent() {
-        eventEmitter.emit(Main.Event.CustomerDeleted);
-    }
 }
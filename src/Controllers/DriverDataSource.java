@@ -0,0 +1,94 @@
+package Controllers;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.logging.Logger;
+
+/**
+ * a data source that opens a new connection through DriverManager for every call, the way the app always connected to
+ * MySQL. the driver class is loaded on the first connection so a driver that isn't on the class path only fails when
+ * it's actually used
+ */
+public class DriverDataSource implements DataSource {
+    private final String driverClass;
+    private final String url;
+    private volatile boolean driverLoaded = false;
+
+    /**
+     * @param driverClass the JDBC driver, may be null if it registers itself
+     * @param url         the JDBC url, including any credentials
+     */
+    public DriverDataSource(String driverClass, String url) {
+        this.driverClass = driverClass;
+        this.url = url;
+    }
+
+    /**
+     * @return the JDBC url, which may include a password so it should never be shown
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        loadDriver();
+        return DriverManager.getConnection(url);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        loadDriver();
+        return DriverManager.getConnection(url, username, password);
+    }
+
+    private void loadDriver() throws SQLException {
+        if (driverLoaded || driverClass == null) return;
+        try {
+            Class.forName(driverClass);
+        } catch (ClassNotFoundException ex) {
+            throw new SQLException("the JDBC driver " + driverClass + " is not on the class path", ex);
+        }
+        driverLoaded = true;
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return DriverManager.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        DriverManager.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        DriverManager.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return DriverManager.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) return iface.cast(this);
+        throw new SQLException("not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
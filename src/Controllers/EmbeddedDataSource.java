@@ -0,0 +1,64 @@
+package Controllers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * an embedded H2 database in MySQL mode, so the app, the benchmarks and the reports run without a MySQL server. the
+ * first connection creates the schema and the sample data from sql/embedded_schema.sql if the database is empty.
+ * -Ddatabase=embedded keeps the data in data/c195.mv.db between runs and -Ddatabase=memory starts from the sample data
+ * every time. the H2 jar has to be on the class path
+ */
+public final class EmbeddedDataSource extends DriverDataSource {
+    /**
+     * the options that make H2 accept the app's MySQL dialect, including backticks and mixed case names
+     */
+    private static final String options = ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE";
+    public static final String fileUrl = "jdbc:h2:./data/c195" + options;
+    public static final String memoryUrl = "jdbc:h2:mem:c195" + options + ";DB_CLOSE_DELAY=-1";
+    private static final String schemaScript = System.getProperty("database.schema", "sql/embedded_schema.sql");
+    private volatile boolean initialized = false;
+
+    /**
+     * @param url the H2 url, normally #fileUrl or #memoryUrl
+     */
+    public EmbeddedDataSource(String url) {
+        super("org.h2.Driver", url);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        final Connection connection = super.getConnection();
+        if (!initialized) initialize(connection);
+        return connection;
+    }
+
+    /**
+     * creates the schema the first time the database is opened. synchronized so connections opened in parallel by the
+     * warm start don't both run the script
+     *
+     * @param connection a connection to the database
+     * @throws SQLException any exception while checking for or creating the schema
+     */
+    private synchronized void initialize(Connection connection) throws SQLException {
+        if (initialized) return;
+        final boolean empty;
+        try (
+                PreparedStatement stmt = connection.prepareStatement("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES " +
+                        "WHERE LOWER(TABLE_NAME) = 'countries'");
+                ResultSet rs = stmt.executeQuery()
+        ) {
+            rs.next();
+            empty = rs.getInt(1) == 0;
+        }
+        if (empty) {
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("RUNSCRIPT FROM '" + schemaScript.replace("'", "''") + "' CHARSET 'UTF-8'");
+            }
+        }
+        initialized = true;
+    }
+}
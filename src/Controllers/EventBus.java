@@ -0,0 +1,239 @@
+package Controllers;
+
+import Model.Record;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * tells tables, caches and reports when records are inserted, updated or deleted. events are typed by the record class
+ * and carry the ids and the records that changed. publishing never calls a listener directly, the changes are queued
+ * and delivered together by the dispatcher, so a burst like deleting a customer and its appointments turns into one
+ * event per type and change. listeners run on the dispatcher unless they were subscribed with their own executor
+ */
+public final class EventBus {
+    private final Executor dispatcher;
+    private final ConcurrentMap<Class<?>, List<Subscription<?>>> subscriptions = new ConcurrentHashMap<>();
+    // guarded by this
+    private Map<Key, Batch> pending = new LinkedHashMap<>();
+
+    /**
+     * @param dispatcher runs the deliveries, Platform#runLater(Runnable) so the changes are delivered after the current
+     *                   JavaFX event has been handled
+     */
+    public EventBus(Executor dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * the kinds of change to a record
+     */
+    public enum Change {
+        Inserted,
+        Updated,
+        Deleted
+    }
+
+    /**
+     * listens for changes to one type of record
+     *
+     * @param <T> the type of record
+     */
+    @FunctionalInterface
+    public interface Listener<T extends Record> {
+        /**
+         * @param event the changes, coalesced since the last delivery
+         */
+        void onChange(RecordEvent<T> event);
+    }
+
+    /**
+     * lambda1: listens on the dispatcher
+     * <p>
+     * listens for changes to a type of record on the dispatcher
+     *
+     * @param type     the record class
+     * @param listener the listener
+     * @param <T>      the type of record
+     * @return a handle that unsubscribes the listener when run
+     */
+    public <T extends Record> Runnable subscribe(Class<T> type, Listener<T> listener) {
+        // lambda to listen on the dispatcher
+        return subscribe(type, Runnable::run, listener);
+    }
+
+    /**
+     * lambda1: creates the listener list the first time the type is subscribed to
+     * lambda2: removes the listener
+     * <p>
+     * listens for changes to a type of record on an executor of the listener's own, so slow listeners don't hold up the
+     * others
+     *
+     * @param type     the record class
+     * @param executor runs the listener
+     * @param listener the listener
+     * @param <T>      the type of record
+     * @return a handle that unsubscribes the listener when run
+     */
+    public <T extends Record> Runnable subscribe(Class<T> type, Executor executor, Listener<T> listener) {
+        final Subscription<T> subscription = new Subscription<>(executor, listener);
+        // lambda to create the listener list the first time the type is subscribed to
+        final List<Subscription<?>> list = subscriptions.computeIfAbsent(type, key -> new CopyOnWriteArrayList<>());
+        list.add(subscription);
+        // lambda to remove the listener
+        return () -> list.remove(subscription);
+    }
+
+    /**
+     * lambda1: starts a batch for the first change of its kind
+     * <p>
+     * queues a change. the first change since the last delivery schedules the next delivery
+     *
+     * @param type   the record class
+     * @param change what happened to the record
+     * @param record the record, its id is captured now so a deleted record can have its id cleared afterwards
+     * @param <T>    the type of record
+     */
+    public <T extends Record> void publish(Class<T> type, Change change, T record) {
+        if (!subscriptions.containsKey(type)) return;
+        final boolean schedule;
+        synchronized (this) {
+            schedule = pending.isEmpty();
+            // lambda to start a batch for the first change of its kind
+            pending.computeIfAbsent(new Key(type, change), key -> new Batch()).add(record);
+        }
+        if (schedule) dispatcher.execute(this::deliver);
+    }
+
+    /**
+     * delivers every queued change, one event per type and change in the order they were first published
+     */
+    private void deliver() {
+        final Map<Key, Batch> changes;
+        synchronized (this) {
+            changes = pending;
+            pending = new LinkedHashMap<>();
+        }
+        for (Map.Entry<Key, Batch> entry : changes.entrySet()) {
+            final RecordEvent<Record> event = new RecordEvent<>(entry.getKey().type,
+                    entry.getKey().change,
+                    entry.getValue().records,
+                    entry.getValue().getIds());
+            final List<Subscription<?>> list = subscriptions.get(entry.getKey().type);
+            if (list == null) continue;
+            for (Subscription<?> subscription : list) {
+                subscription.deliver(event);
+            }
+        }
+    }
+
+    /**
+     * a coalesced set of changes of the same kind to one type of record
+     *
+     * @param <T> the type of record
+     */
+    public static final class RecordEvent<T extends Record> {
+        private final Class<?> type;
+        private final Change change;
+        private final List<T> records;
+        private final long[] ids;
+
+        private RecordEvent(Class<?> type, Change change, List<T> records, long[] ids) {
+            this.type = type;
+            this.change = change;
+            this.records = Collections.unmodifiableList(records);
+            this.ids = ids;
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        public Change getChange() {
+            return change;
+        }
+
+        /**
+         * @return the records in the order they changed. deleted records may already have had their id cleared
+         */
+        public List<T> getRecords() {
+            return records;
+        }
+
+        /**
+         * @return the ids the records had when they were published, in the same order as the records
+         */
+        public long[] getIds() {
+            return ids.clone();
+        }
+    }
+
+    /**
+     * the records published for one type and change since the last delivery, with the ids they had at the time
+     */
+    private static final class Batch {
+        private final List<Record> records = new ArrayList<>();
+        private long[] ids = new long[4];
+
+        private void add(Record record) {
+            if (records.size() == ids.length) ids = Arrays.copyOf(ids, ids.length * 2);
+            ids[records.size()] = record.getId();
+            records.add(record);
+        }
+
+        private long[] getIds() {
+            return Arrays.copyOf(ids, records.size());
+        }
+    }
+
+    private static final class Subscription<T extends Record> {
+        private final Executor executor;
+        private final Listener<T> listener;
+
+        private Subscription(Executor executor, Listener<T> listener) {
+            this.executor = executor;
+            this.listener = listener;
+        }
+
+        /**
+         * lambda1: calls the listener on its executor
+         */
+        @SuppressWarnings("unchecked")
+        private void deliver(RecordEvent<?> event) {
+            // lambda to call the listener on its executor
+            executor.execute(() -> listener.onChange((RecordEvent<T>) event));
+        }
+    }
+
+    private static final class Key {
+        private final Class<?> type;
+        private final Change change;
+
+        private Key(Class<?> type, Change change) {
+            this.type = type;
+            this.change = change;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            final Key key = (Key) o;
+            return type == key.type && change == key.change;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, change);
+        }
+    }
+}
@@ -5,7 +5,6 @@ import javafx.beans.value.ObservableValue;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
@@ -37,13 +36,28 @@ public class Filter extends Base implements Initializable {
     private Consumer<FilterFields> callback;
     private String fieldName;
 
+    /**
+     * called once, when the FXML is loaded. the window is reused every time the filter is opened
+     *
+     * @see Initializable#initialize(URL, ResourceBundle)
+     */
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
-        setYears();
         toggleGroup.selectedToggleProperty().addListener(this::updateItems);
         yearComboBox.getSelectionModel().selectedItemProperty().addListener(this::handleYearChange);
         toggleGroup.getToggles().addAll(monthButton, weekButton);
-        toggleGroup.selectToggle(monthButton);
+    }
+
+    /**
+     * reloads the years and selects the month filter. called every time the filter window is opened
+     */
+    private void reset() {
+        setYears();
+        if (toggleGroup.getSelectedToggle() == monthButton) {
+            updateItems(null, null, monthButton);
+        } else {
+            toggleGroup.selectToggle(monthButton);
+        }
     }
 
     private void handleYearChange(Observable observable) {
@@ -82,6 +96,7 @@ public class Filter extends Base implements Initializable {
         executeQuery("SElECT DISTINCT YEAR(`Start`) FROM appointments ORDER BY YEAR(`Start`)", (ex, rs) -> {
             if (ex != null) return;
             final ObservableList<Integer> years = yearComboBox.getItems();
+            years.clear();
             try {
                 while (rs.next()) {
                     years.add(rs.getInt(1));
@@ -183,7 +198,6 @@ public class Filter extends Base implements Initializable {
     private void handleClear(ActionEvent event) {
         callCallback(null);
         handleClose(null);
-        toggleGroup.getToggles().clear();
     }
 
     /**
@@ -193,29 +207,30 @@ public class Filter extends Base implements Initializable {
      */
     @FXML
     private void handleClose(ActionEvent event) {
-        if (stage != null) stage.close();
-        stage = null;
+        if (stage != null && stage.isShowing()) stage.close();
     }
 
     /**
      * lambda1: ensures the callback is always called
      * <p>
-     * opens the filter window
+     * opens the filter window. the window is created the first time and reused after that
      *
      * @param callback a method that will execute a sql query with arguments from the FilterFields instance
      */
     public void openFilterWindow(Consumer<FilterFields> callback) {
         this.callback = callback;
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/Views/Filter.fxml"), bundle);
-            loader.setController(this);
-            Scene scene = new Scene(loader.load(), 400, 400);
-            stage = new Stage();
-            // ensures the callback is always called
-            stage.setOnHidden(ev -> handleClose(null));
-            stage.setScene(scene);
-            stage.setTitle(bundle.getString("filter.windowTitle"));
-            stage.setResizable(false);
+            if (stage == null) {
+                Scene scene = new Scene(ViewLoader.load("/Views/Filter.fxml", this, bundle).getRoot(), 400, 400);
+                final Stage newStage = new Stage();
+                // ensures the callback is always called
+                newStage.setOnHidden(ev -> handleClose(null));
+                newStage.setScene(scene);
+                newStage.setTitle(bundle.getString("filter.windowTitle"));
+                newStage.setResizable(false);
+                stage = newStage;
+            }
+            reset();
             stage.showAndWait();
         } catch (Exception ex) {
             System.out.println(ex);
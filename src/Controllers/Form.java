@@ -4,7 +4,6 @@ import Model.Record;
 import Model.Record.ValidationError;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.scene.Node;
 import javafx.scene.Scene;
@@ -12,24 +11,21 @@ import javafx.scene.control.ButtonBar;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
 
-import java.lang.reflect.Field;
 import java.net.URL;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 import java.util.ResourceBundle;
-import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 /**
  * Abstract generic class that creates base functionality common to all the forms. It defines abstract methods that must
- * be defined by subclasses to in order for the form data to be properly processed
+ * be defined by subclasses to in order for the form data to be properly processed. the FXML of a form is only loaded
+ * the first time it is opened, after that the scene and window are reset and reused for the next record
  *
  * @param <T> a subclass of the Record model that can be updated/created by the Form subclass
  */
 public abstract class Form<T extends Record> extends Base implements Initializable {
-    private final FormFactory.Mode mode;
-    private final String windowTitle;
+    private FormFactory.Mode mode;
+    private String windowTitle;
     @FXML
     protected TextField idField;
     protected T record;
@@ -38,8 +34,17 @@ public abstract class Form<T extends Record> extends Base implements Initializab
     @FXML
     private ButtonBar buttonBar;
     private Stage stage;
+    private Runnable releaseHandler;
 
-    public Form(String windowTitle, FormFactory.Mode mode, T record, Function<T, Boolean> callback) {
+    /**
+     * binds the form to the record for the next time it is opened
+     *
+     * @param windowTitle the title for the form window
+     * @param mode        the mode to open the form in
+     * @param record      the record to create/read/update
+     * @param callback    the callback that will act on the record after editing has finished
+     */
+    void bind(String windowTitle, FormFactory.Mode mode, T record, Function<T, Boolean> callback) {
         this.windowTitle = windowTitle;
         readOnly = mode == FormFactory.Mode.Read;
         this.mode = mode;
@@ -47,17 +52,35 @@ public abstract class Form<T extends Record> extends Base implements Initializab
         this.callback = callback;
     }
 
+    /**
+     * @param releaseHandler called once the form window has closed and the form can be reused
+     */
+    void setReleaseHandler(Runnable releaseHandler) {
+        this.releaseHandler = releaseHandler;
+    }
+
+    /**
+     * called once, when the FXML is loaded. subclasses fill in options that are the same for every record here
+     *
+     * @see Initializable#initialize(URL, ResourceBundle)
+     */
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
-        if (record.getId() != 0) idField.setText(Long.toString(record.getId()));
         idField.setDisable(true);
-        if (mode != FormFactory.Mode.Create) {
-            if (mode == FormFactory.Mode.Read) {
-                buttonBar.setVisible(false);
-            }
-            setFields();
-            setTextFields();
+    }
+
+    /**
+     * puts the reused controls into the state for the current mode and record. called every time the form opens
+     */
+    private void reset() {
+        idField.setText(record.getId() != 0 ? Long.toString(record.getId()) : "");
+        buttonBar.setVisible(mode != FormFactory.Mode.Read);
+        for (Node button : buttonBar.getButtons()) {
+            button.setDisable(false);
         }
+        resetFields();
+        if (mode != FormFactory.Mode.Create) setFields();
+        setTextFields();
     }
 
     /**
@@ -116,7 +139,7 @@ public abstract class Form<T extends Record> extends Base implements Initializab
     }
 
     /**
-     * string fields are automatically applied to the record via reflection, non-string fields can be applied to the
+     * string fields are automatically applied to the record via the form bindings, non-string fields can be applied to the
      * record by implementing this method in subclasses
      */
     abstract protected void applyOtherFieldsToRecord();
@@ -125,8 +148,7 @@ public abstract class Form<T extends Record> extends Base implements Initializab
      * called when the cancel button is clicked or any time the form must be closed
      */
     private void handleClose() {
-        if (stage != null) stage.hide();
-        stage = null;
+        if (stage != null && stage.isShowing()) stage.hide();
     }
 
     /**
@@ -142,10 +164,16 @@ public abstract class Form<T extends Record> extends Base implements Initializab
 
     /**
      * applies the values from the record to the form so that an existing record can be updated. when creating a new
-     * record, this method isn't called and the form values are left in their default state.
+     * record, this method isn't called and the form values are left in the state set by #resetFields().
      */
     protected abstract void setFields();
 
+    /**
+     * puts the non-string fields back into their default state and enables or disables them for the current mode.
+     * the string fields are reset through the form bindings
+     */
+    protected abstract void resetFields();
+
     /**
      * Allows subclasses to define the path to their FXML files for dynamic and polymorphic forms.
      *
@@ -175,100 +203,54 @@ public abstract class Form<T extends Record> extends Base implements Initializab
     /**
      * lambda1: ensures the callback is always called
      * <p>
-     * Opens a new window with the correct form for the controller
+     * Opens the window with the correct form for the controller. the window is created the first time, after that it
+     * is reset for the current record and shown again. once it closes, the form is released for reuse
      */
     private void openForm() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(getResourceURL()), bundle);
-            loader.setController(this);
-            Scene scene = new Scene(loader.load(), getWidth(), getHeight());
-            stage = new Stage();
-            // ensures the callback is always called
-            stage.setOnHidden(ev -> handleClose(null));
-            stage.setScene(scene);
+            if (stage == null) {
+                Scene scene = new Scene(ViewLoader.load(getResourceURL(), this, bundle).getRoot(), getWidth(), getHeight());
+                final Stage newStage = new Stage();
+                // ensures the callback is always called
+                newStage.setOnHidden(ev -> handleClose(null));
+                newStage.setScene(scene);
+                newStage.setResizable(false);
+                stage = newStage;
+            }
             stage.setTitle(getWindowTitle());
-            stage.setResizable(false);
+            reset();
             stage.showAndWait();
         } catch (Exception ex) {
             System.out.println(ex);
             ex.printStackTrace();
             handleClose(null);
         }
+        if (releaseHandler != null) releaseHandler.run();
     }
 
     /**
-     * lambda1: iterate over all the fields. cleaner and more readable than an anonymous class
-     * <p>
-     * uses #iterateStringFields to set values from the record to the form
+     * uses the cached form bindings to set values from the record to the form
      *
-     * @see Form#iterateStringFields(BiConsumer)
+     * @see FormBindings
      */
     private void setTextFields() {
-        // lambda to iterate over all the fields. cleaner and more readable than an anonymous class
-        iterateStringFields((textField, recordField) -> {
-            try {
-                final String data = (String) recordField.get(record);
-                textField.setText(data);
-                textField.setDisable(readOnly);
-            } catch (IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        });
-    }
-
-    /**
-     * lambda1: iterate over all the fields. cleaner and more readable than an anonymous class
-     * <p>
-     * uses #iterateStringFields to set values from the form to the record
-     *
-     * @see Form#iterateStringFields(BiConsumer)
-     */
-    private void applyStringFormFieldsToRecord() {
-        // lambda to iterate over all the fields. cleaner and more readable than an anonymous class
-        iterateStringFields((textField, recordField) -> {
-            try {
-                recordField.set(record, textField.getText().trim());
-            } catch (IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        });
-    }
-
-    /**
-     * uses reflection to find all the members of a record that are strings
-     *
-     * @return a list of string Fields of the record
-     */
-    private List<Field> getStringFields() {
-        final List<Field> output = new ArrayList<>();
-        for (Field declaredField : record.getClass().getDeclaredFields()) {
-            if (declaredField.getType() == String.class) {
-                output.add(declaredField);
-            }
+        final FormBindings bindings = FormBindings.of(getClass(), record.getClass());
+        for (int i = 0; i < bindings.size(); i++) {
+            final TextField textField = bindings.getTextField(i, this);
+            textField.setText(bindings.getValue(i, record));
+            textField.setDisable(readOnly);
         }
-        return output;
     }
 
     /**
-     * uses reflection to iterate over form TextFields and record members to find matching fields and returns
-     * the matching pairs for further processing
+     * uses the cached form bindings to set values from the form to the record
      *
-     * @param callback a lambda expression for processing the TextField and its matching member in the record
-     * @see Form#applyStringFormFieldsToRecord()
-     * @see Form#setTextFields()
+     * @see FormBindings
      */
-    private void iterateStringFields(BiConsumer<TextField, Field> callback) {
-        for (final Field declaredField : getStringFields()) {
-            try {
-                declaredField.setAccessible(true);
-                final String fieldName = declaredField.getName();
-                final Field textFieldField = getClass().getDeclaredField(String.format("%sField", fieldName));
-                textFieldField.setAccessible(true);
-                final TextField input = (TextField) textFieldField.get(this);
-                callback.accept(input, declaredField);
-            } catch (NoSuchFieldException | IllegalAccessException e) {
-                e.printStackTrace();
-            }
+    private void applyStringFormFieldsToRecord() {
+        final FormBindings bindings = FormBindings.of(getClass(), record.getClass());
+        for (int i = 0; i < bindings.size(); i++) {
+            bindings.setValue(i, record, bindings.getTextField(i, this).getText().trim());
         }
     }
 
@@ -0,0 +1,103 @@
+package Controllers;
+
+import Model.FieldAccessors;
+import javafx.scene.control.TextField;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * the pairs of record string fields and form TextFields for a form class and record class. the pairs are matched by
+ * name ("title" to "titleField") once per combination and cached, so opening and saving a form doesn't need reflection
+ */
+final class FormBindings {
+    private static final ClassValue<ConcurrentMap<Class<?>, FormBindings>> cache = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<Class<?>, FormBindings> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    private static final MethodType textFieldGetterType = MethodType.methodType(TextField.class, Object.class);
+    private final FieldAccessors accessors;
+    private final int[] recordFields;
+    private final MethodHandle[] textFieldGetters;
+
+    private FormBindings(Class<?> formClass, Class<?> recordClass) {
+        accessors = FieldAccessors.of(recordClass);
+        final List<Integer> indexes = new ArrayList<>();
+        final List<MethodHandle> getters = new ArrayList<>();
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(formClass, MethodHandles.lookup());
+            for (int i = 0; i < accessors.size(); i++) {
+                if (accessors.getKind(i) != FieldAccessors.Kind.STRING || !accessors.isWritable(i)) continue;
+                try {
+                    final Field textField = formClass.getDeclaredField(String.format("%sField", accessors.getName(i)));
+                    indexes.add(i);
+                    getters.add(lookup.unreflectGetter(textField).asType(textFieldGetterType));
+                } catch (NoSuchFieldException e) {
+                    e.printStackTrace();
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+        recordFields = indexes.stream().mapToInt(Integer::intValue).toArray();
+        textFieldGetters = getters.toArray(new MethodHandle[0]);
+    }
+
+    /**
+     * lambda1: matches the fields the first time a form class is opened with a record class
+     *
+     * @param formClass   the Form subclass
+     * @param recordClass the Record subclass edited by the form
+     * @return the cached bindings
+     */
+    static FormBindings of(Class<?> formClass, Class<?> recordClass) {
+        // lambda matches the fields the first time a form class is opened with a record class
+        return cache.get(formClass).computeIfAbsent(recordClass, r -> new FormBindings(formClass, r));
+    }
+
+    /**
+     * @return the number of matched pairs
+     */
+    int size() {
+        return recordFields.length;
+    }
+
+    /**
+     * @param index the index of the pair
+     * @param form  the form controller instance
+     * @return the TextField of the pair
+     */
+    TextField getTextField(int index, Object form) {
+        try {
+            return (TextField) textFieldGetters[index].invokeExact(form);
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * @param index  the index of the pair
+     * @param record the record instance
+     * @return the value of the record field of the pair
+     */
+    String getValue(int index, Object record) {
+        return accessors.getString(recordFields[index], record);
+    }
+
+    /**
+     * @param index  the index of the pair
+     * @param record the record instance
+     * @param value  the new value of the record field of the pair
+     */
+    void setValue(int index, Object record, String value) {
+        accessors.setString(recordFields[index], record, value);
+    }
+}
@@ -2,21 +2,32 @@ package Controllers;
 
 import Model.Record;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.function.Function;
 
 /**
- * Instantiates a form controller of type T for model R
+ * Instantiates a form controller of type T for model R. closed forms are kept in a pool and rebound to the next record,
+ * so their FXML is only loaded once
  *
  * @param <R> a Record subclass
  * @param <T> a Form subclass
  */
 public abstract class FormFactory<R extends Record, T extends Form<R>> extends Base {
     private final Class<R> modelClass;
+    private final Deque<T> pool = new ArrayDeque<>();
 
     public FormFactory(Class<R> modelClass) {
         this.modelClass = modelClass;
     }
 
+    /**
+     * @return the class of the records the forms edit
+     */
+    public Class<R> getModelClass() {
+        return modelClass;
+    }
+
     /**
      * gets the correct string from the bundle based off the class name and the form mode
      *
@@ -28,14 +39,39 @@ public abstract class FormFactory<R extends Record, T extends Form<R>> extends B
     }
 
     /**
-     * Returns an instance of the Form for the Record
+     * lambda1: returns the form to the pool once its window has closed
+     * <p>
+     * Returns an instance of the Form for the Record, reusing a closed form when there is one
      *
      * @param mode     the mode to open the form in
      * @param record   the record to create/read/update
      * @param callback the callback that will act on the record after editing has finished
      * @return the form controller instance
      */
-    abstract public T getInstance(Mode mode, R record, Function<R, Boolean> callback);
+    public final T getInstance(Mode mode, R record, Function<R, Boolean> callback) {
+        T form = pool.poll();
+        if (form == null) {
+            final T created = createForm();
+            // lambda returns the form to the pool once its window has closed
+            created.setReleaseHandler(() -> pool.push(created));
+            form = created;
+        }
+        prepareForm(form);
+        form.bind(getTitle(mode), mode, record, callback);
+        return form;
+    }
+
+    /**
+     * @return a new form controller, its FXML is loaded the first time it opens
+     */
+    protected abstract T createForm();
+
+    /**
+     * hands the form the current lookup data before it is opened. called for new and reused forms
+     *
+     * @param form the form that is about to open
+     */
+    protected abstract void prepareForm(T form);
 
     enum Mode {
         Create,
@@ -0,0 +1,341 @@
+package Controllers;
+
+import Model.Appointment;
+import Model.Customer;
+import Model.Model;
+import Model.Record;
+import Model.SnapshotFile;
+import javafx.application.Platform;
+
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * shows the customers and appointments from the last run the moment the main view opens. when the application stops,
+ * the tables and the reference data are saved to snapshots/DATABASE-USER.snapshot (see SnapshotFile), named after a
+ * hash of the database's identity and the signed-in user. on the next launch the file is mapped and handed to the
+ * tables instead of querying the database, and a background reconcile catches them up: the rows updated since the
+ * snapshot's watermark are fetched, and a count and sum of the ids is compared with the server's to find the rows that
+ * were deleted or that the watermark missed. -DlocalSnapshot=false turns it off
+ */
+public final class LocalSnapshot extends Base {
+    private static final boolean enabled = !"false".equals(System.getProperty("localSnapshot"));
+    /**
+     * how far before the server's clock the watermarks are put, so rows written by transactions that were still open
+     * when a table was loaded are fetched again rather than missed
+     */
+    private static final long watermarkMargin = TimeUnit.MINUTES.toMillis(10);
+    private static final int batchSize = 500;
+    private static LocalSnapshot instance;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "local-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // the server times the tables are known to be in sync with, in epoch milliseconds
+    private final Map<Table<?>, Long> watermarks = new ConcurrentHashMap<>();
+    // only used by the JavaFX thread
+    private SnapshotFile.Contents contents;
+    private boolean opened = false;
+    private boolean customersTaken = false;
+    private boolean appointmentsTaken = false;
+    private CustomerTable customerTable;
+    private AppointmentTable appointmentTable;
+
+    private LocalSnapshot() {
+    }
+
+    /**
+     * @return the shared instance
+     */
+    public static synchronized LocalSnapshot getInstance() {
+        if (instance == null) instance = new LocalSnapshot();
+        return instance;
+    }
+
+    /**
+     * called by the warm start, which doesn't need to prefetch the customers when they will come from the snapshot.
+     * nobody has logged in yet, so any user's snapshot of the database counts
+     *
+     * @return whether there is a snapshot for the database
+     */
+    boolean exists() {
+        if (!enabled) return false;
+        try (DirectoryStream<Path> snapshots = Files.newDirectoryStream(Paths.get("snapshots"),
+                getDatabaseKey() + "-*.snapshot")) {
+            return snapshots.iterator().hasNext();
+        } catch (Exception ex) {
+            return false;
+        }
+    }
+
+    /**
+     * maps the snapshot and serves its reference data until the real data has loaded. called once the user has logged
+     * in, before the tables are populated
+     */
+    public void open() {
+        if (!enabled || opened) return;
+        opened = true;
+        try {
+            contents = SnapshotFile.read(getPath());
+        } catch (Exception ex) {
+            System.out.println("could not read the local snapshot:");
+            System.out.println(ex);
+        }
+        if (contents != null && contents.hasReferenceData()) {
+            ReferenceData.getInstance().seed(contents.getContacts(),
+                    contents.getUsers(),
+                    contents.getDivisions(),
+                    contents.getCountries());
+        }
+    }
+
+    /**
+     * hands the saved customers to the customer table, once, and catches the table up with the database in the
+     * background
+     *
+     * @param table the customer table
+     * @return the customers, or null if there are none saved and the table has to query them
+     */
+    List<Customer> takeCustomers(CustomerTable table) {
+        customerTable = table;
+        if (contents == null || contents.getCustomers() == null || customersTaken) return null;
+        customersTaken = true;
+        final List<Customer> customers = contents.getCustomers();
+        reconcile(table, contents.getCustomersWatermark(), customers);
+        return customers;
+    }
+
+    /**
+     * hands the saved appointments to the appointment table, once, and catches the table up with the database in the
+     * background
+     *
+     * @param table the appointment table
+     * @return the appointments, or null if there are none saved and the table has to query them
+     */
+    List<Appointment> takeAppointments(AppointmentTable table) {
+        appointmentTable = table;
+        if (contents == null || contents.getAppointments() == null || appointmentsTaken) return null;
+        appointmentsTaken = true;
+        final List<Appointment> appointments = contents.getAppointments();
+        reconcile(table, contents.getAppointmentsWatermark(), appointments);
+        return appointments;
+    }
+
+    /**
+     * lambda1: reads the server's clock on the snapshot thread
+     * <p>
+     * notes the time a table was loaded from the database, so it can be saved with a watermark when the application
+     * stops
+     *
+     * @param table the table that was just loaded
+     */
+    void track(Table<?> table) {
+        if (!enabled) return;
+        // lambda to read the server's clock on the snapshot thread
+        executor.execute(() -> {
+            try (Connection connection = openConnection()) {
+                watermarks.put(table, serverTime(connection));
+            } catch (SQLException ex) {
+                printSQLException(ex);
+            } catch (RuntimeException ex) {
+                System.out.println("local snapshot could not connect:");
+                System.out.println(ex);
+            }
+        });
+    }
+
+    /**
+     * saves the tables that hold every record and the reference data, keeping the saved rows of a table that was never
+     * opened this run. called on the JavaFX thread when the application stops
+     */
+    public void save() {
+        if (!enabled || !opened) return;
+        final SnapshotFile.Contents saved = new SnapshotFile.Contents();
+        final Long customersWatermark = customerTable == null ? null : watermarks.get(customerTable);
+        if (customersWatermark != null && customerTable.isComplete()) {
+            saved.setCustomers(new ArrayList<>(customerTable.getData()), customersWatermark);
+        } else if (contents != null && contents.getCustomers() != null && !customersTaken) {
+            saved.setCustomers(contents.getCustomers(), contents.getCustomersWatermark());
+        }
+        final Long appointmentsWatermark = appointmentTable == null ? null : watermarks.get(appointmentTable);
+        if (appointmentsWatermark != null && appointmentTable.isComplete()) {
+            saved.setAppointments(new ArrayList<>(appointmentTable.getData()), appointmentsWatermark);
+        } else if (contents != null && contents.getAppointments() != null && !appointmentsTaken) {
+            saved.setAppointments(contents.getAppointments(), contents.getAppointmentsWatermark());
+        }
+        final ReferenceData.Snapshot referenceData = ReferenceData.getInstance().peek();
+        if (referenceData != null) {
+            saved.setReferenceData(referenceData.getContacts().values(),
+                    referenceData.getUsers().values(),
+                    referenceData.getDivisions().values(),
+                    referenceData.getCountries().values());
+        }
+        if (saved.getCustomers() == null && saved.getAppointments() == null) return;
+        try {
+            SnapshotFile.write(getPath(), saved);
+        } catch (Exception ex) {
+            System.out.println("could not save the local snapshot:");
+            System.out.println(ex);
+        }
+    }
+
+    /**
+     * lambda1: catches the table up on the snapshot thread
+     * <p>
+     * the ids are copied now, on the JavaFX thread, since the records belong to the table once they are handed out
+     */
+    private <T extends Record & Model<T>> void reconcile(Table<T> table, long watermark, List<T> records) {
+        watermarks.put(table, watermark);
+        final Set<Long> localIds = new HashSet<>(records.size() * 2);
+        for (T record : records) {
+            localIds.add(record.getId());
+        }
+        // lambda to catch the table up on the snapshot thread
+        executor.execute(() -> {
+            try (Connection connection = openConnection()) {
+                reconcile(connection, table, watermark, localIds);
+            } catch (SQLException ex) {
+                printSQLException(ex);
+            } catch (RuntimeException ex) {
+                System.out.println("local snapshot could not connect:");
+                System.out.println(ex);
+            }
+        });
+    }
+
+    /**
+     * lambda1: patches the table on the JavaFX thread
+     * <p>
+     * fetches the rows updated since the watermark and, when the count or sum of the ids doesn't match the server's,
+     * the ids of every row to find the ones that were deleted or inserted without being caught by the watermark
+     *
+     * @param connection a connection of the snapshot thread's own
+     * @param table      the table to patch
+     * @param watermark  the server time the saved rows were in sync with
+     * @param localIds   the ids of the saved rows
+     * @param <T>        the type of record
+     * @throws SQLException any exception while querying the table
+     */
+    private <T extends Record & Model<T>> void reconcile(Connection connection,
+                                                         Table<T> table,
+                                                         long watermark,
+                                                         Set<Long> localIds) throws SQLException {
+        final long now = serverTime(connection);
+        final List<T> changed = new ArrayList<>();
+        try (PreparedStatement stmt = connection.prepareStatement(table.getSelectChangedSinceStatement())) {
+            stmt.setTimestamp(1, new Timestamp(watermark));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    changed.add(table.readRecord(rs));
+                }
+            }
+        }
+        final Set<Long> expectedIds = new HashSet<>(localIds);
+        for (T record : changed) {
+            expectedIds.add(record.getId());
+        }
+        final List<Long> deleted = new ArrayList<>();
+        if (!checksumMatches(connection, table, expectedIds)) {
+            final Set<Long> serverIds = new HashSet<>(expectedIds.size() * 2);
+            try (
+                    PreparedStatement stmt = connection.prepareStatement(table.getIdsStatement());
+                    ResultSet rs = stmt.executeQuery()
+            ) {
+                while (rs.next()) {
+                    serverIds.add(rs.getLong(1));
+                }
+            }
+            for (long id : expectedIds) {
+                if (!serverIds.contains(id)) deleted.add(id);
+            }
+            final List<Long> missing = new ArrayList<>();
+            for (long id : serverIds) {
+                if (!expectedIds.contains(id)) missing.add(id);
+            }
+            changed.addAll(fetch(connection, table, missing));
+        }
+        final long[] deletedIds = deleted.stream().mapToLong(Long::longValue).toArray();
+        watermarks.put(table, now);
+        if (changed.isEmpty() && deletedIds.length == 0) return;
+        // lambda to patch the table on the JavaFX thread
+        Platform.runLater(() -> table.applyRemoteChanges(changed, deletedIds));
+    }
+
+    /**
+     * @return whether the server has as many rows as expected and the sum of their ids matches
+     */
+    private boolean checksumMatches(Connection connection, Table<?> table, Set<Long> ids) throws SQLException {
+        long sum = 0;
+        for (long id : ids) {
+            sum += id;
+        }
+        try (
+                PreparedStatement stmt = connection.prepareStatement(table.getChecksumStatement());
+                ResultSet rs = stmt.executeQuery()
+        ) {
+            rs.next();
+            return rs.getLong(1) == ids.size() && rs.getLong(2) == sum;
+        }
+    }
+
+    /**
+     * @return the rows with the ids, queried a batch at a time
+     */
+    private <T extends Record & Model<T>> List<T> fetch(Connection connection, Table<T> table, List<Long> ids)
+            throws SQLException {
+        final List<T> records = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            final List<Long> batch = ids.subList(from, Math.min(ids.size(), from + batchSize));
+            try (PreparedStatement stmt = connection.prepareStatement(table.getSelectByIdsStatement(batch.size()))) {
+                for (int i = 0; i < batch.size(); i++) {
+                    stmt.setLong(i + 1, batch.get(i));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        records.add(table.readRecord(rs));
+                    }
+                }
+            }
+        }
+        return records;
+    }
+
+    /**
+     * @return the server's clock less the margin, in epoch milliseconds, read the same way Last_Update is
+     */
+    private long serverTime(Connection connection) throws SQLException {
+        try (
+                PreparedStatement stmt = connection.prepareStatement("SELECT NOW()");
+                ResultSet rs = stmt.executeQuery()
+        ) {
+            rs.next();
+            return rs.getTimestamp(1).getTime() - watermarkMargin;
+        }
+    }
+
+    /**
+     * snapshots are kept per database and per user, so one user's tables are never served to another
+     *
+     * @return the snapshot of the signed in user for the database
+     */
+    private Path getPath() throws Exception {
+        return Paths.get("snapshots", getDatabaseKey() + "-" + userId + ".snapshot");
+    }
+}
@@ -1,5 +1,6 @@
 package Controllers;
 
+import Model.User;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
@@ -8,19 +9,13 @@ import javafx.scene.control.TextField;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 
-import java.io.BufferedWriter;
-import java.io.FileWriter;
-import java.io.IOException;
 import java.net.URL;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.List;
 import java.util.ResourceBundle;
 
@@ -69,6 +64,7 @@ public final class Login extends Base implements Initializable {
         final String username = usernameField.getText();
         final String password = passwordField.getText();
         if (username.length() != 0 && password.length() != 0) {
+            WarmStart.loginStarted();
             final List<Object> arguments = new ArrayList<>();
             arguments.add(username);
             final long userId = executeQuery("SELECT User_ID, Password " +
@@ -101,19 +97,15 @@ public final class Login extends Base implements Initializable {
      * Obviously horribly unsafe but better than storing passwords in the clear.
      *
      * @return the hashed password
+     * @see User#hashPassword(String)
      */
     private String hashPassword() {
-        try {
-            final byte[] messageDigest = MessageDigest.getInstance("SHA-512").digest(passwordField.getText().getBytes());
-            return Base64.getEncoder().encodeToString(messageDigest);
-        } catch (NoSuchAlgorithmException e) {
-            System.out.println(e);
-            throw new RuntimeException(e);
-        }
+        return User.hashPassword(passwordField.getText());
     }
 
     /**
-     * logs every log in attempt with a ISO timestamp, the attempted username, and whether the attempt was successful
+     * logs every log in attempt with a ISO timestamp, the attempted username, and whether the attempt was successful.
+     * the line is only queued, AuditLog writes it in the background
      *
      * @param success whether the login attempt was successful
      */
@@ -121,17 +113,9 @@ public final class Login extends Base implements Initializable {
         final DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE_TIME;
         final String time = formatter.format(OffsetDateTime.now().truncatedTo(ChronoUnit.MILLIS));
         final String username = usernameField.getText();
-        try {
-            final FileWriter fw = new FileWriter("login_activity.txt", true);
-            final BufferedWriter bw = new BufferedWriter(fw);
-            bw.write("time: " + time + "\t");
-            bw.write("username: " + username + "\t");
-            bw.write("success: " + success + "\t");
-            bw.newLine();
-            bw.close();
-        } catch (IOException ex) {
-            System.out.println("Failed to log invalid login attempt:");
-            System.out.println(ex.getMessage());
+        final String line = "time: " + time + "\t" + "username: " + username + "\t" + "success: " + success + "\t";
+        if (!AuditLog.getInstance().append(line)) {
+            System.out.println("Failed to log login attempt, the audit log is full");
         }
     }
 
@@ -1,20 +1,18 @@
 package Controllers;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
 
 import java.io.IOException;
 import java.net.URL;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
 import java.util.ResourceBundle;
 
 public class Main extends Base implements Initializable {
-    private final EventEmitter eventEmitter = new EventEmitter();
+    private final EventBus eventBus = new EventBus(Platform::runLater);
+    private final ChangeFeed changeFeed = new ChangeFeed();
     @FXML
     private TabPane tabPane;
     @FXML
@@ -32,6 +30,9 @@ public class Main extends Base implements Initializable {
      */
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
+        LocalSnapshot.getInstance().open();
+        ReminderScheduler.getInstance().subscribe(eventBus);
+        changeFeed.start();
         // lambda to easily determine which tab has been selected and display the correct data
         tabPane.getSelectionModel().selectedItemProperty()
                 .addListener(((observableValue, oldTab, newTab) -> populateData(newTab)));
@@ -57,11 +58,10 @@ public class Main extends Base implements Initializable {
     private void populateCustomerData() {
         if (customerTabInitialized) return;
         customerTabInitialized = true;
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/Views/Table.fxml"), bundle);
-        customerTableController = new CustomerTable(eventEmitter);
-        loader.setController(customerTableController);
+        customerTableController = new CustomerTable(eventBus);
         try {
-            customerTab.setContent(loader.load());
+            customerTab.setContent(ViewLoader.load("/Views/Table.fxml", customerTableController, bundle).getRoot());
+            changeFeed.register("customers", customerTableController);
         } catch (IOException ex) {
             System.out.println(ex);
             ex.printStackTrace();
@@ -74,54 +74,13 @@ public class Main extends Base implements Initializable {
     private void populateAppointmentData() {
         if (appointmentTabInitialized) return;
         appointmentTabInitialized = true;
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/Views/Table.fxml"), bundle);
-        loader.setController(new AppointmentTable(customerTableController.getData(), eventEmitter));
+        final AppointmentTable appointmentTable = new AppointmentTable(customerTableController.getCustomerIndex(), eventBus);
         try {
-            appointmentTab.setContent(loader.load());
+            appointmentTab.setContent(ViewLoader.load("/Views/Table.fxml", appointmentTable, bundle).getRoot());
+            changeFeed.register("appointments", appointmentTable);
         } catch (IOException ex) {
             System.out.println(ex);
             ex.printStackTrace();
         }
     }
-
-    public enum Event {
-        CustomerDeleted
-    }
-
-    /**
-     * event emitter class. used by customer table to alert the appointment table of a customer deletion so the
-     * deleted appointments can be removed from the table
-     */
-    final public class EventEmitter implements java.util.EventListener {
-        final private HashMap<Event, List<Runnable>> eventMap = new HashMap<>();
-
-        /**
-         * registers an event listener
-         *
-         * @param e the event to listen to
-         * @param r a callback for when the event happens
-         */
-        public void addListener(Event e, Runnable r) {
-            List<Runnable> listeners = eventMap.get(e);
-            if (listeners == null) {
-                listeners = new ArrayList<>();
-                eventMap.put(e, listeners);
-            }
-            listeners.add(r);
-        }
-
-        /**
-         * calls all registered event listeners for the emitted event
-         *
-         * @param e the event that happened
-         */
-        public void emit(Event e) {
-            final List<Runnable> listeners = eventMap.get(e);
-            if (listeners != null) {
-                for (Runnable runnable : listeners) {
-                    runnable.run();
-                }
-            }
-        }
-    }
 }
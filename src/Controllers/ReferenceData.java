@@ -0,0 +1,251 @@
+package Controllers;
+
+import Model.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * the application-wide cache of contacts, users, divisions and countries. the four tables are loaded in parallel the
+ * first time they're needed and served to every controller and form factory as immutable snapshots, so opening a form
+ * never queries the database for its lookup lists. the data is reloaded in the background once it is older than the
+ * TTL (-DreferenceData.ttlMinutes, 15 by default)
+ */
+public final class ReferenceData extends Base {
+    private static final Duration ttl = Duration.ofMinutes(Long.getLong("referenceData.ttlMinutes", 15));
+    private static ReferenceData instance;
+    private final ExecutorService executor = Executors.newFixedThreadPool(4, runnable -> {
+        final Thread thread = new Thread(runnable, "reference-data");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private volatile Snapshot snapshot;
+    private CompletableFuture<Snapshot> pending;
+
+    private ReferenceData() {
+    }
+
+    /**
+     * @return the shared instance
+     */
+    public static synchronized ReferenceData getInstance() {
+        if (instance == null) instance = new ReferenceData();
+        return instance;
+    }
+
+    /**
+     * returns the current snapshot. the first call blocks until the data is loaded, after that a stale snapshot is
+     * returned immediately while a fresh one loads in the background. a failed load publishes nothing: a stale
+     * snapshot stays in use and the next call tries again. when there is nothing to fall back to, the failure is logged
+     * and empty lookups are returned, so the tables and forms still open like they did when a query failed before
+     *
+     * @return the current reference data
+     */
+    public Snapshot get() {
+        final Snapshot current = snapshot;
+        if (current == null) {
+            try {
+                return load().join();
+            } catch (CompletionException ex) {
+                // the queries log their SQLExceptions where they fail
+                if (!(ex.getCause() instanceof SQLException)) ex.printStackTrace();
+                return new Snapshot(new RecordIndex<>(),
+                        new RecordIndex<>(),
+                        new LongMap<Division>().snapshot(),
+                        new LongMap<Country>().snapshot());
+            }
+        }
+        if (System.nanoTime() - current.loadedAt > ttl.toNanos()) refresh();
+        return current;
+    }
+
+    /**
+     * @return the current snapshot without loading or refreshing it, null if nothing has been loaded yet
+     */
+    public Snapshot peek() {
+        return snapshot;
+    }
+
+    /**
+     * serves reference data saved by an earlier run until it has been reloaded. ignored once data has been loaded from
+     * the database, and always followed by a refresh in the background since the saved data may be out of date
+     *
+     * @param contacts  the saved contacts
+     * @param users     the saved users
+     * @param divisions the saved divisions
+     * @param countries the saved countries
+     */
+    public void seed(Collection<Contact> contacts,
+                     Collection<User> users,
+                     Collection<Division> divisions,
+                     Collection<Country> countries) {
+        synchronized (this) {
+            if (snapshot != null || pending != null) return;
+            snapshot = new Snapshot(new RecordIndex<>(contacts),
+                    new RecordIndex<>(users),
+                    toLookup(divisions),
+                    toLookup(countries));
+        }
+        refresh();
+    }
+
+    private static <T extends Record> LongLookup<T> toLookup(Collection<T> records) {
+        final LongMap<T> map = new LongMap<>(records.size());
+        for (T record : records) {
+            map.put(record.getId(), record);
+        }
+        return map.snapshot();
+    }
+
+    /**
+     * lambda1: clears the flag whether the load succeeded or not
+     * <p>
+     * starts loading a fresh snapshot in the background unless a load is already running
+     */
+    public void refresh() {
+        if (refreshing.compareAndSet(false, true)) {
+            // lambda clears the flag whether the load succeeded or not
+            load().whenComplete((data, ex) -> refreshing.set(false));
+        }
+    }
+
+    /**
+     * lambda1-4: map a row from each table into its model
+     * lambda5-6: index contacts and users by name for the type-ahead pickers
+     * lambda7: combine the four tables into a snapshot once they have all loaded
+     * lambda8: lets the next call load again
+     * <p>
+     * loads the four tables in parallel, each on its own connection. a caller that asks while a load is running, like
+     * the customer table after the warm start began loading, waits for that load instead of starting another. if any
+     * table fails to load the future completes exceptionally and the snapshot isn't replaced
+     *
+     * @return a future for the new snapshot, which is also published to #get()
+     */
+    private synchronized CompletableFuture<Snapshot> load() {
+        if (pending != null) return pending;
+        final CompletableFuture<RecordIndex<Contact>> contacts = loadTable("SELECT Contact_ID, Contact_Name, Email FROM contacts",
+                // lambda to map a contact row into its model
+                rs -> new Contact(rs.getLong(1), rs.getString(2), rs.getString(3)))
+                // lambda to index the contacts by name
+                .thenApply(map -> new RecordIndex<>(map.values()));
+        final CompletableFuture<RecordIndex<User>> users = loadTable("SELECT User_ID, User_Name FROM users",
+                // lambda to map a user row into its model
+                rs -> new User(rs.getLong(1), rs.getString(2)))
+                // lambda to index the users by name
+                .thenApply(map -> new RecordIndex<>(map.values()));
+        final CompletableFuture<LongLookup<Division>> divisions = loadTable("SELECT Division_ID, Division, Country_ID FROM first_level_divisions",
+                // lambda to map a division row into its model
+                rs -> new Division(rs.getInt(1), rs.getString(2), rs.getInt(3)))
+                .thenApply(LongMap::snapshot);
+        final CompletableFuture<LongLookup<Country>> countries = loadTable("SELECT Country_ID, Country FROM countries",
+                // lambda to map a country row into its model
+                rs -> new Country(rs.getInt(1), rs.getString(2)))
+                .thenApply(LongMap::snapshot);
+        // lambda to combine the four tables into a snapshot once they have all loaded
+        final CompletableFuture<Snapshot> loaded = CompletableFuture.allOf(contacts, users, divisions, countries).thenApply(ignored -> {
+            final Snapshot data = new Snapshot(contacts.join(), users.join(), divisions.join(), countries.join());
+            snapshot = data;
+            return data;
+        });
+        pending = loaded;
+        // lambda to let the next call load again
+        loaded.whenComplete((data, ex) -> clearPending(loaded));
+        return loaded;
+    }
+
+    private synchronized void clearPending(CompletableFuture<Snapshot> loaded) {
+        if (pending == loaded) pending = null;
+    }
+
+    /**
+     * lambda1: runs the query on the executor
+     *
+     * @param query  the query for the table
+     * @param mapper maps a row into a record
+     * @param <T>    the type of record
+     * @return a future for a map of id to record
+     */
+    private <T extends Record> CompletableFuture<LongMap<T>> loadTable(String query, RowMapper<T> mapper) {
+        // lambda runs the query on the executor
+        return CompletableFuture.supplyAsync(() -> {
+            final LongMap<T> records = new LongMap<>();
+            try (
+                    Connection connection = openConnection();
+                    PreparedStatement stmt = connection.prepareStatement(query);
+                    ResultSet rs = stmt.executeQuery()
+            ) {
+                while (rs.next()) {
+                    final T record = mapper.map(rs);
+                    records.put(record.getId(), record);
+                }
+            } catch (SQLException ex) {
+                printSQLException(ex);
+                // fails the load so an incomplete table is never published or cached for the TTL
+                throw new CompletionException(ex);
+            }
+            return records;
+        }, executor);
+    }
+
+    @FunctionalInterface
+    private interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * an immutable set of reference data that is safe to share between threads. the record indexes are never changed
+     * after the snapshot is created
+     */
+    public static final class Snapshot {
+        private final RecordIndex<Contact> contacts;
+        private final RecordIndex<User> users;
+        private final LongLookup<Division> divisions;
+        private final LongLookup<Country> countries;
+        private final DivisionIndex divisionIndex;
+        private final long loadedAt = System.nanoTime();
+
+        private Snapshot(RecordIndex<Contact> contacts,
+                         RecordIndex<User> users,
+                         LongLookup<Division> divisions,
+                         LongLookup<Country> countries) {
+            this.contacts = contacts;
+            this.users = users;
+            this.divisions = divisions;
+            this.countries = countries;
+            divisionIndex = new DivisionIndex(divisions, countries);
+        }
+
+        public RecordIndex<Contact> getContacts() {
+            return contacts;
+        }
+
+        public RecordIndex<User> getUsers() {
+            return users;
+        }
+
+        public LongLookup<Division> getDivisions() {
+            return divisions;
+        }
+
+        public LongLookup<Country> getCountries() {
+            return countries;
+        }
+
+        /**
+         * @return the divisions grouped by country, built once per snapshot
+         */
+        public DivisionIndex getDivisionIndex() {
+            return divisionIndex;
+        }
+    }
+}
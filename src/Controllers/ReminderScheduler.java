@@ -0,0 +1,306 @@
+package Controllers;
+
+import Model.Appointment;
+import Model.Customer;
+import Model.DateTimeFormats;
+import Model.LongMap;
+import javafx.application.Platform;
+import javafx.scene.control.Alert;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * reminds the logged in user of their appointments -DreminderMinutes (15 by default) before they start. the upcoming
+ * appointments are loaded once at login and kept in a min-heap ordered by when their reminder is due, and the
+ * scheduler sleeps until the earliest one instead of polling the database. the appointment and customer tables keep it
+ * up to date as appointments are added, moved, reassigned and deleted. the heap is only touched by the scheduler's own
+ * thread, so callers never wait and nothing needs to be locked
+ */
+public final class ReminderScheduler extends Base {
+    private static final Duration lead = Duration.ofMinutes(Long.getLong("reminderMinutes", 15));
+    private static ReminderScheduler instance;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "reminders");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // only used by the scheduler thread, the lambda orders the heap by when the reminders are due
+    private final PriorityQueue<Reminder> heap = new PriorityQueue<>(Comparator.comparing(reminder -> reminder.remindAt));
+    private final LongMap<Reminder> byAppointment = new LongMap<>();
+    private ScheduledFuture<?> wakeUp;
+    private Instant wakeUpAt;
+    private long reminderUserId = 0L;
+
+    private ReminderScheduler() {
+    }
+
+    /**
+     * @return the shared instance
+     */
+    public static synchronized ReminderScheduler getInstance() {
+        if (instance == null) instance = new ReminderScheduler();
+        return instance;
+    }
+
+    /**
+     * lambda1: loads the upcoming appointments and shows the login alert on the scheduler thread
+     * lambda2: lists the appointments in the order they start
+     * <p>
+     * loads the logged in user's upcoming appointments in the background. once they are loaded the user is told about
+     * the appointments that start within the reminder window, or that there are none, and every later appointment is
+     * reminded of when its time comes
+     */
+    public void start() {
+        final long user = userId;
+        // lambda to load the upcoming appointments and show the login alert on the scheduler thread
+        executor.execute(() -> {
+            reminderUserId = user;
+            heap.clear();
+            byAppointment.clear();
+            final Instant now = Instant.now();
+            final List<Reminder> due = new ArrayList<>();
+            for (Reminder reminder : loadUpcoming(user)) {
+                if (reminder.remindAt.isAfter(now)) {
+                    add(reminder);
+                } else {
+                    due.add(reminder);
+                }
+            }
+            // lambda to list the appointments in the order they start
+            due.sort(Comparator.comparing(reminder -> reminder.start));
+            show(due, true);
+            reschedule();
+        });
+    }
+
+    /**
+     * lambda1: adds, moves and cancels reminders as appointments change
+     * lambda2: cancels the reminders of deleted customers' appointments
+     * <p>
+     * keeps the reminders up to date with the changes published by the tables
+     *
+     * @param eventBus the bus the tables publish to
+     */
+    public void subscribe(EventBus eventBus) {
+        // lambda to add, move and cancel reminders as appointments change
+        eventBus.subscribe(Appointment.class, event -> {
+            if (event.getChange() == EventBus.Change.Deleted) {
+                for (long id : event.getIds()) {
+                    remove(id);
+                }
+            } else {
+                for (Appointment appointment : event.getRecords()) {
+                    put(appointment);
+                }
+            }
+        });
+        // lambda to cancel the reminders of deleted customers' appointments
+        eventBus.subscribe(Customer.class, event -> {
+            if (event.getChange() != EventBus.Change.Deleted) return;
+            for (long id : event.getIds()) {
+                removeCustomer(id);
+            }
+        });
+    }
+
+    /**
+     * lambda1: replaces the reminder on the scheduler thread
+     * <p>
+     * adds or moves the reminder for an appointment after it was saved. an appointment that is already inside the
+     * reminder window is reminded of right away, appointments of other users and ones that already started are dropped
+     *
+     * @param appointment the appointment that was saved
+     */
+    public void put(Appointment appointment) {
+        if (appointment.getStart() == null) return;
+        final Reminder reminder = new Reminder(appointment.getId(),
+                appointment.getCustomerId(),
+                appointment.getLocalStart().toInstant(),
+                appointment.getStart());
+        final long appointmentUserId = appointment.getUserId();
+        // lambda to replace the reminder on the scheduler thread
+        executor.execute(() -> {
+            cancel(reminder.appointmentId);
+            if (appointmentUserId == reminderUserId && reminder.start.isAfter(Instant.now())) add(reminder);
+            reschedule();
+        });
+    }
+
+    /**
+     * lambda1: cancels the reminder on the scheduler thread
+     *
+     * @param appointmentId the id of the appointment that was deleted
+     */
+    public void remove(long appointmentId) {
+        // lambda to cancel the reminder on the scheduler thread
+        executor.execute(() -> {
+            cancel(appointmentId);
+            reschedule();
+        });
+    }
+
+    /**
+     * lambda1: cancels the reminders on the scheduler thread
+     *
+     * @param customerId the id of the customer whose appointments were deleted with them
+     */
+    public void removeCustomer(long customerId) {
+        // lambda to cancel the reminders on the scheduler thread
+        executor.execute(() -> {
+            final List<Long> appointmentIds = new ArrayList<>();
+            for (Reminder reminder : byAppointment.values()) {
+                if (reminder.customerId == customerId) appointmentIds.add(reminder.appointmentId);
+            }
+            for (long appointmentId : appointmentIds) {
+                cancel(appointmentId);
+            }
+            reschedule();
+        });
+    }
+
+    private void add(Reminder reminder) {
+        heap.add(reminder);
+        byAppointment.put(reminder.appointmentId, reminder);
+    }
+
+    /**
+     * cancelled reminders stay in the heap until they reach the top, removing them from the middle would cost a scan
+     */
+    private void cancel(long appointmentId) {
+        final Reminder reminder = byAppointment.remove(appointmentId);
+        if (reminder != null) reminder.cancelled = true;
+    }
+
+    /**
+     * pops every reminder that is due and shows them together
+     */
+    private void fire() {
+        wakeUp = null;
+        wakeUpAt = null;
+        final Instant now = Instant.now();
+        final List<Reminder> due = new ArrayList<>();
+        while (!heap.isEmpty() && !heap.peek().remindAt.isAfter(now)) {
+            final Reminder reminder = heap.poll();
+            if (reminder.cancelled) continue;
+            byAppointment.remove(reminder.appointmentId);
+            if (reminder.start.isAfter(now)) due.add(reminder);
+        }
+        show(due, false);
+        reschedule();
+    }
+
+    /**
+     * sleeps until the earliest reminder, dropping cancelled ones from the top of the heap first
+     */
+    private void reschedule() {
+        while (!heap.isEmpty() && heap.peek().cancelled) {
+            heap.poll();
+        }
+        final Instant next = heap.isEmpty() ? null : heap.peek().remindAt;
+        if (next != null && next.equals(wakeUpAt)) return;
+        if (wakeUp != null) wakeUp.cancel(false);
+        wakeUp = null;
+        wakeUpAt = next;
+        if (next == null) return;
+        final long delay = Math.max(0, Duration.between(Instant.now(), next).toMillis());
+        wakeUp = executor.schedule(this::fire, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * lambda1: shows the alert on the JavaFX thread
+     * <p>
+     * shows a non-blocking alert listing the appointments, like the one that used to be shown when the customer table
+     * loaded
+     *
+     * @param reminders the appointments to remind the user of
+     * @param atLogin   whether this is the alert at login, which is also shown when there are no appointments
+     */
+    private void show(List<Reminder> reminders, boolean atLogin) {
+        if (reminders.isEmpty() && !atLogin) return;
+        final StringBuilder appointments = new StringBuilder();
+        for (Reminder reminder : reminders) {
+            appointments
+                    .append("\n")
+                    .append(bundle.getString("record.id"))
+                    .append(" ")
+                    .append(reminder.appointmentId)
+                    .append(" ")
+                    .append(bundle.getString("appointment.at"))
+                    .append(" ")
+                    .append(Appointment.formatLocalDate(reminder.localStart));
+        }
+        final String alertBody = appointments.length() != 0
+                ? bundle.getString("appointment.upcomingAppointment") + "\n" + appointments
+                : bundle.getString("appointment.noUpcomingAppointment");
+        // lambda to show the alert on the JavaFX thread
+        Platform.runLater(() -> {
+            final Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle(bundle.getString("appointment.alertTitle"));
+            alert.setHeaderText(null);
+            alert.setContentText(alertBody);
+            alert.show();
+        });
+    }
+
+    /**
+     * @param user the logged in user
+     * @return a reminder for every appointment of the user that hasn't started yet
+     */
+    private List<Reminder> loadUpcoming(long user) {
+        final List<Reminder> reminders = new ArrayList<>();
+        try (
+                Connection connection = openConnection();
+                PreparedStatement stmt = connection.prepareStatement("SELECT Appointment_ID, Customer_ID, `Start` " +
+                        "FROM appointments " +
+                        "WHERE `Start` > NOW() AND User_ID = ?")
+        ) {
+            stmt.setLong(1, user);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    final LocalDateTime start = rs.getTimestamp(3).toLocalDateTime();
+                    reminders.add(new Reminder(rs.getLong(1),
+                            rs.getLong(2),
+                            start.atZone(DateTimeFormats.getSystemZone()).toInstant(),
+                            start));
+                }
+            }
+        } catch (SQLException ex) {
+            printSQLException(ex);
+        } catch (RuntimeException ex) {
+            System.out.println("could not load the upcoming appointments:");
+            System.out.println(ex);
+        }
+        return reminders;
+    }
+
+    private static final class Reminder {
+        private final long appointmentId;
+        private final long customerId;
+        private final Instant start;
+        private final Instant remindAt;
+        private final LocalDateTime localStart;
+        private boolean cancelled = false;
+
+        private Reminder(long appointmentId, long customerId, Instant start, LocalDateTime localStart) {
+            this.appointmentId = appointmentId;
+            this.customerId = customerId;
+            this.start = start;
+            this.remindAt = start.minus(lead);
+            this.localStart = localStart;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package Controllers;
+
+import Model.Appointment;
+import Model.Contact;
+import Model.Customer;
+import Model.DateTimeFormats;
+import Model.Division;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * queries and formats the three reports into any Appendable, without the view, so the reports tab and the headless
+ * Tools.ReportRunner share them. rows are read with a forward-only cursor and appended as they arrive, so a report
+ * written to a file is never held in memory whole. the appointment reports can be limited to a date range
+ */
+public class ReportWriter extends Base {
+    private static final int fetchSize = Integer.getInteger("database.fetchSize", 1000);
+    private final Connection connection;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+
+    /**
+     * writes every appointment on the app's shared connection
+     */
+    public ReportWriter() {
+        this(null, null, null);
+    }
+
+    /**
+     * @param connection the connection to query on, one per writer lets reports run concurrently. null uses the app's
+     *                   shared connection
+     * @param from       the local time appointments start at or after, null for no lower bound
+     * @param to         the local time appointments start before, null for no upper bound
+     */
+    public ReportWriter(Connection connection, LocalDateTime from, LocalDateTime to) {
+        this.connection = connection;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * where the schedule of each contact is written
+     */
+    @FunctionalInterface
+    public interface ContactOutput {
+        /**
+         * called once per contact, in order, before their appointments are written
+         *
+         * @param contact the contact whose schedule follows
+         * @return where to write the contact and their appointments
+         * @throws IOException any exception while opening the output
+         */
+        Appendable open(Contact contact) throws IOException;
+    }
+
+    /**
+     * consumes the rows of a report query
+     */
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+
+    /**
+     * the first report, the total number of appointments by month and by type
+     *
+     * @param out where to write the report
+     * @throws SQLException any exception while querying
+     * @throws IOException  any exception while writing
+     */
+    public void writeAppointmentsByMonthAndType(Appendable out) throws SQLException, IOException {
+        final String[] months = new String[12];
+        for (int m = 0; m < months.length; m++) {
+            months[m] = bundle.getString("month." + (m + 1));
+        }
+        out.append(bundle.getString("report.byMonth")).append(":\n");
+        query("SELECT MONTH(`Start`) as `Month`, COUNT(*) as `Count` " +
+                "FROM appointments" + getRangeCondition() + " GROUP BY MONTH(`Start`) " +
+                "ORDER BY MONTH(`Start`)", true, rs -> {
+            while (rs.next()) {
+                out.append('\t').append(months[rs.getInt(1) - 1]).append(":\t").append(Integer.toString(rs.getInt(2)))
+                        .append('\n');
+            }
+        });
+        out.append('\n').append(bundle.getString("report.byType")).append(":\n");
+        query("SELECT `Type`, COUNT(*) as `Count` " +
+                "FROM appointments" + getRangeCondition() + " GROUP BY `Type` " +
+                "ORDER BY `Type`", true, rs -> {
+            while (rs.next()) {
+                out.append('\t').append(rs.getString(1)).append(":\t").append(Integer.toString(rs.getInt(2)))
+                        .append('\n');
+            }
+        });
+    }
+
+    /**
+     * the second report, the schedule of appointments per contact
+     *
+     * @param output where to write each contact's schedule
+     * @throws SQLException any exception while querying
+     * @throws IOException  any exception while writing
+     */
+    public void writeScheduleByContact(ContactOutput output) throws SQLException, IOException {
+        query("SELECT Appointment_ID, Title, Description, `Location`, `Type`, `Start`, `End`, " +
+                "Customer_ID, User_ID, c.Contact_ID, c.Contact_Name, c.Email " +
+                "FROM appointments a " +
+                "JOIN contacts c ON c.Contact_ID = a.Contact_ID" + getRangeCondition() + " " +
+                "ORDER BY Contact_ID, `Start`", true, rs -> {
+            // a single appointment is reused as a row buffer so rendering the report doesn't allocate a model per row
+            final Appointment appointment = new Appointment(0, null, null, null, null, null, null, 0, 0, 0);
+            Appendable out = null;
+            long contactId = 0L;
+            while (rs.next()) {
+                appointment.setId(rs.getLong(1));
+                appointment.setTitle(rs.getString(2));
+                appointment.setDescription(rs.getString(3));
+                appointment.setLocation(rs.getString(4));
+                appointment.setType(rs.getString(5));
+                appointment.setStart(rs.getTimestamp(6).toLocalDateTime());
+                appointment.setEnd(rs.getTimestamp(7).toLocalDateTime());
+                appointment.setCustomerId(rs.getLong(8));
+                appointment.setUserId(rs.getLong(9));
+                appointment.setContactId(rs.getLong(10));
+                if (out == null || contactId != appointment.getContactId()) {
+                    contactId = appointment.getContactId();
+                    final Contact contact = new Contact(contactId, rs.getString(11), rs.getString(12));
+                    out = output.open(contact);
+                    out.append('\n');
+                    contact.appendReport(out);
+                }
+                appointment.appendReport(out);
+            }
+        });
+    }
+
+    /**
+     * the third report, a rundown of the customers per division. it isn't limited by the date range
+     *
+     * @param out where to write the report
+     * @throws SQLException any exception while querying
+     * @throws IOException  any exception while writing
+     */
+    public void writeCustomersByDivision(Appendable out) throws SQLException, IOException {
+        query("SELECT Customer_ID, Customer_Name, Address, Postal_Code, Phone, d.Division_ID, d.Country_ID, d.Division " +
+                "FROM customers c " +
+                "JOIN first_level_divisions d ON d.Division_ID = c.Division_ID " +
+                "ORDER BY d.Division, c.Customer_ID", false, rs -> {
+            // a single customer is reused as a row buffer so rendering the report doesn't allocate a model per row
+            final Customer customer = new Customer(0, "", "", "", "", 0);
+            long divisionId = 0L;
+            while (rs.next()) {
+                customer.setId(rs.getLong(1));
+                customer.setName(rs.getString(2));
+                customer.setDivisionId(rs.getLong(6));
+                if (divisionId != customer.getDivisionId()) {
+                    divisionId = customer.getDivisionId();
+                    out.append('\n');
+                    new Division(divisionId, rs.getString(8), rs.getLong(7)).appendReport(out);
+                }
+                customer.appendReport(out);
+            }
+        });
+    }
+
+    /**
+     * @return the where clause that limits appointments to the date range, empty when there is no range
+     */
+    private String getRangeCondition() {
+        if (from == null && to == null) return "";
+        if (to == null) return " WHERE `Start` >= ?";
+        if (from == null) return " WHERE `Start` < ?";
+        return " WHERE `Start` >= ? AND `Start` < ?";
+    }
+
+    /**
+     * runs a report query with a forward-only, read-only cursor that fetches -Ddatabase.fetchSize rows at a time. the
+     * MySQL url sets useCursorFetch so the server streams them instead of sending the whole result at once
+     *
+     * @param query  the query to execute
+     * @param ranged whether the query has the range condition to bind
+     * @param writer consumes the rows
+     * @throws SQLException any exception while querying
+     * @throws IOException  any exception while writing
+     */
+    private void query(String query, boolean ranged, RowWriter writer) throws SQLException, IOException {
+        final Connection connection = this.connection != null ? this.connection : createDatabaseConnection();
+        try (PreparedStatement stmt = connection.prepareStatement(query,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(fetchSize);
+            int index = 1;
+            if (ranged && from != null) stmt.setObject(index++, DateTimeFormats.toUTC(from));
+            if (ranged && to != null) stmt.setObject(index, DateTimeFormats.toUTC(to));
+            try (ResultSet rs = stmt.executeQuery()) {
+                writer.write(rs);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package Controllers;
+
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.TableColumn;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/**
+ * holds the display values of every row in a table. the values for a row are computed once, the first time the row is
+ * rendered, and the same read-only properties are handed back to the table on every render pass after that
+ *
+ * @param <T> the type of the rows in the table
+ */
+final class RowCache<T> {
+    private final List<Function<T, ?>> columns = new ArrayList<>();
+    private final Map<T, ReadOnlyObjectWrapper<Object>[]> rows = new WeakHashMap<>();
+
+    /**
+     * lambda1: hands the table the cached property for the row instead of allocating one per render
+     * <p>
+     * creates a column whose values are computed once per row with the given function
+     *
+     * @param title         the title of the column
+     * @param valueFunction computes the display value for a row
+     * @param <V>           the type of the value displayed in the column
+     * @return the column to add to the table
+     */
+    <V> TableColumn<T, V> createColumn(String title, Function<T, V> valueFunction) {
+        final int index = columns.size();
+        columns.add(valueFunction);
+        final TableColumn<T, V> column = new TableColumn<>(title);
+        // lambda hands the table the cached property for the row instead of allocating one per render
+        column.setCellValueFactory(param -> getProperty(param.getValue(), index));
+        return column;
+    }
+
+    /**
+     * the properties of a row hold values of different types, so they are kept as Object. the casts are safe, a
+     * column's property is only ever set from that column's function
+     *
+     * @param record the row
+     * @param index  the index of the column
+     * @param <V>    the type of the value displayed in the column
+     * @return the cached property for the row and column
+     */
+    @SuppressWarnings("unchecked")
+    private <V> ObservableValue<V> getProperty(T record, int index) {
+        ReadOnlyObjectWrapper<Object>[] row = rows.get(record);
+        if (row == null || row.length != columns.size()) {
+            row = (ReadOnlyObjectWrapper<Object>[]) new ReadOnlyObjectWrapper<?>[columns.size()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = new ReadOnlyObjectWrapper<>(columns.get(i).apply(record));
+            }
+            rows.put(record, row);
+        }
+        return (ObservableValue<V>) (ObservableValue<?>) row[index].getReadOnlyProperty();
+    }
+
+    /**
+     * recomputes the display values of a row after it has been edited. any cells showing the row are updated
+     *
+     * @param record the row that changed
+     */
+    void invalidate(T record) {
+        final ReadOnlyObjectWrapper<Object>[] row = rows.get(record);
+        if (row == null) return;
+        for (int i = 0; i < row.length && i < columns.size(); i++) {
+            row[i].set(columns.get(i).apply(record));
+        }
+    }
+
+    /**
+     * drops the display values of a row that is being removed from the table, without computing them again
+     *
+     * @param record the row that is removed
+     */
+    void remove(T record) {
+        rows.remove(record);
+    }
+
+    /**
+     * drops the display values of every row, used when reference data that the values depend on changes
+     */
+    void clear() {
+        rows.clear();
+    }
+}
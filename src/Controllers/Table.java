@@ -1,9 +1,9 @@
 package Controllers;
 
+import Model.FieldAccessors;
+import Model.LongMap;
 import Model.Model;
 import Model.Record;
-import javafx.beans.property.SimpleLongProperty;
-import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
@@ -12,12 +12,15 @@ import javafx.scene.control.Button;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 
-import java.lang.reflect.Field;
 import java.net.URL;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.Set;
 import java.util.function.Function;
 
 /**
@@ -27,7 +30,9 @@ import java.util.function.Function;
  */
 public abstract class Table<T extends Record & Model<T>> extends Base implements Initializable {
     final protected FormFactory formFactory;
-    final protected Main.EventEmitter eventEmitter;
+    final protected EventBus eventBus;
+    final protected Class<T> recordClass;
+    final protected RowCache<T> rowCache = new RowCache<>();
     @FXML
     protected TableView<T> tableView;
     @FXML
@@ -36,9 +41,10 @@ public abstract class Table<T extends Record & Model<T>> extends Base implements
     @FXML
     private Button deleteButton;
 
-    public Table(FormFactory formFactory, Main.EventEmitter eventEmitter) {
+    public Table(FormFactory formFactory, EventBus eventBus) {
         this.formFactory = formFactory;
-        this.eventEmitter = eventEmitter;
+        this.eventBus = eventBus;
+        this.recordClass = (Class<T>) formFactory.getModelClass();
     }
 
     /**
@@ -49,33 +55,22 @@ public abstract class Table<T extends Record & Model<T>> extends Base implements
     /**
      * lambda1: properly set the string value in the table
      * <p>
-     * uses introspection to get all the string fields for the given generic mode T
+     * uses the compiled field accessors to get the string field for the given generic model T
      *
      * @param tClass    the class for T
      * @param fieldName the name of the instance field
      * @return the TableColumn for the record
      */
     protected TableColumn<T, String> getStringColumn(Class<T> tClass, String fieldName) {
-        try {
-            final Field field = tClass.getDeclaredField(fieldName);
-            field.setAccessible(true);
-            final String key = String.format("%s.%s", tClass.getSimpleName().toLowerCase(), field.getName());
-            final TableColumn<T, String> column = new TableColumn<>(bundle.getString(key));
-            // lambda to properly set the string value in the table
-            column.setCellValueFactory(param -> {
-                try {
-                    return new SimpleStringProperty((String) field.get(param.getValue()));
-                } catch (IllegalAccessException e) {
-                    e.printStackTrace();
-                }
-                return null;
-            });
-            return column;
-        } catch (NoSuchFieldException ex) {
-            System.out.println(ex);
+        final FieldAccessors accessors = FieldAccessors.of(tClass);
+        final int index = accessors.indexOf(fieldName);
+        if (index == -1) {
+            System.out.println(new NoSuchFieldException(fieldName));
+            return null;
         }
-
-        return null;
+        final String key = String.format("%s.%s", tClass.getSimpleName().toLowerCase(), fieldName);
+        // lambda to properly set the string value in the table
+        return rowCache.createColumn(bundle.getString(key), record -> accessors.getString(index, record));
     }
 
     /**
@@ -93,9 +88,8 @@ public abstract class Table<T extends Record & Model<T>> extends Base implements
     public void initialize(URL url, ResourceBundle resourceBundle) {
         filterButton.setDisable(true);
         filterButton.setVisible(false);
-        final TableColumn<T, Long> idColumn = new TableColumn<>("ID");
         // lambda ensures the long values are properly displayed
-        idColumn.setCellValueFactory(param -> new SimpleLongProperty(param.getValue().getId()).asObject());
+        final TableColumn<T, Long> idColumn = rowCache.createColumn("ID", record -> record.getId());
         tableView.getColumns().add(idColumn);
         addColumns();
         populateData();
@@ -134,11 +128,12 @@ public abstract class Table<T extends Record & Model<T>> extends Base implements
     private boolean addToDatabase(T record) {
         final boolean updatable = canUpdate(record);
         if (updatable) {
-            final List<Object> arguments = record.toValues();
-            arguments.add(userId);
-            arguments.add(userId);
             // lambda to consume an exception and result set and allow for DRY resource cleanup
-            executeInsert(getInsertStatement(), arguments, (ex, newId) -> {
+            executeInsert(getInsertStatement(), statement -> {
+                final int index = record.bindValues(statement, 1);
+                statement.setLong(index, userId);
+                statement.setLong(index + 1, userId);
+            }, (ex, newId) -> {
                 if (ex != null) printSQLException(ex);
                 if (newId != null) record.setId(newId);
             });
@@ -171,6 +166,8 @@ public abstract class Table<T extends Record & Model<T>> extends Base implements
                 if (recordHandledCorrectly) {
                     if (newRecord != null && newRecord.getId() != 0) {
                         tableView.getItems().add(newRecord);
+                        recordAdded(newRecord);
+                        eventBus.publish(recordClass, EventBus.Change.Inserted, newRecord);
                     }
 
                     finalizeAction();
@@ -212,13 +209,20 @@ public abstract class Table<T extends Record & Model<T>> extends Base implements
     protected boolean updateInDatabase(T record) {
         final boolean updatable = canUpdate(record);
         if (updatable) {
-            final List<Object> arguments = record.toValues();
-            arguments.add(userId);
-            arguments.add(record.getId());
             // lambda to consume an exception and result set and allow for DRY resource cleanup
-            executeUpdate(getUpdateStatement(), arguments, (ex, updateCount) -> {
+            executeUpdateAndConsume(getUpdateStatement(), statement -> {
+                final int index = record.bindValues(statement, 1);
+                statement.setLong(index, userId);
+                statement.setLong(index + 1, record.getId());
+            }, (ex, updateCount) -> {
                 if (ex != null) printSQLException(ex);
-                if (updateCount == 1) getSelectedRecord().applyChanges(record);
+                if (updateCount == 1) {
+                    final T selected = getSelectedRecord();
+                    selected.applyChanges(record);
+                    rowCache.invalidate(selected);
+                    recordUpdated(selected);
+                    eventBus.publish(recordClass, EventBus.Change.Updated, selected);
+                }
             });
         }
         return updatable;
@@ -282,10 +286,15 @@ public abstract class Table<T extends Record & Model<T>> extends Base implements
     protected void deleteFromDatabase(T record) {
         if (deleteDependencies(record)) {
             // lambda to consume an exception and result set and allow for DRY resource cleanup
-            executeUpdate(getDeleteStatement(), toArray(record.getId()), (ex, updates) -> {
-                if (ex != null) printSQLException(ex);
-                if (updates == 1) record.setId(0);
-            });
+            executeUpdateAndConsume(getDeleteStatement(), statement -> statement.setLong(1, record.getId()),
+                    (ex, updates) -> {
+                        if (ex != null) printSQLException(ex);
+                        if (updates == 1) {
+                            recordDeleted(record);
+                            eventBus.publish(recordClass, EventBus.Change.Deleted, record);
+                            record.setId(0);
+                        }
+                    });
         }
     }
 
@@ -313,17 +322,143 @@ public abstract class Table<T extends Record & Model<T>> extends Base implements
                 tableView.getItems().remove(recordToDelete);
                 tableView.refresh();
                 displayAlert(bundle.getString("record.deleted.title"), message, Alert.AlertType.INFORMATION);
-                emitEvent();
             }
             deleteButton.setDisable(false);
         }
     }
 
-    protected void emitEvent() {
+    /**
+     * called after a record in the table has been edited in place, for subclasses that keep their own copy of the data
+     *
+     * @param record the updated record
+     */
+    protected void recordUpdated(T record) {
+    }
+
+    /**
+     * called after a new record has been saved and added to the table
+     *
+     * @param record the new record
+     */
+    protected void recordAdded(T record) {
+    }
+
+    /**
+     * called after a record has been deleted from the database, before its id is cleared
+     *
+     * @param record the deleted record
+     */
+    protected void recordDeleted(T record) {
     }
 
     protected abstract String getDeletedMessage(T record);
 
+    /**
+     * @return a query for every record, with the columns #readRecord expects and without a WHERE clause. columns of the
+     * table itself are qualified with #getTableName()
+     */
+    protected abstract String getSelectStatement();
+
+    /**
+     * @return the name of the database table, which is also the name of the entity in the change log
+     */
+    protected abstract String getTableName();
+
+    /**
+     * @return the name of the primary key column
+     */
+    protected abstract String getIdColumn();
+
+    /**
+     * @param count the number of ids
+     * @return a query for the records whose ids are bound to its count placeholders. used to fetch the records other
+     * clients changed
+     */
+    protected String getSelectByIdsStatement(int count) {
+        return getSelectStatement() + " WHERE " + getTableName() + "." + getIdColumn() +
+                " IN (" + String.join(", ", Collections.nCopies(count, "?")) + ")";
+    }
+
+    /**
+     * @return a query for the records updated at or after the time bound to it
+     */
+    protected String getSelectChangedSinceStatement() {
+        return getSelectStatement() + " WHERE " + getTableName() + ".Last_Update >= ?";
+    }
+
+    /**
+     * @return a query for the number of records and the sum of their ids, a cheap checksum of which records exist that
+     * MySQL and H2 both understand
+     */
+    protected String getChecksumStatement() {
+        return "SELECT COUNT(*), COALESCE(SUM(" + getIdColumn() + "), 0) FROM " + getTableName();
+    }
+
+    /**
+     * @return a query for the id of every record
+     */
+    protected String getIdsStatement() {
+        return "SELECT " + getIdColumn() + " FROM " + getTableName();
+    }
+
+    /**
+     * @return whether the table shows every record, only then can it be saved to the local snapshot
+     */
+    boolean isComplete() {
+        return true;
+    }
+
+    /**
+     * called off of the JavaFX thread by the change feed
+     *
+     * @param rs a result set positioned on a row of #getSelectByIdsStatement(int)
+     * @return the record for the row
+     * @throws SQLException any exception while reading the row
+     */
+    protected abstract T readRecord(ResultSet rs) throws SQLException;
+
+    /**
+     * patches the table in place with the records another client changed. records that are already shown with the same
+     * values are skipped, so this client's own writes coming back through the change feed do nothing. the changes go
+     * through the same hooks and events as local ones. the table isn't refreshed, updated rows push their new values
+     * through the cached cell properties and added or removed rows through the item list
+     *
+     * @param changed    the current values of the inserted and updated records
+     * @param deletedIds the ids of the deleted records
+     */
+    void applyRemoteChanges(List<T> changed, long[] deletedIds) {
+        final ObservableList<T> items = tableView.getItems();
+        final LongMap<T> byId = new LongMap<>(items.size());
+        for (T item : items) {
+            byId.put(item.getId(), item);
+        }
+        final FieldAccessors accessors = FieldAccessors.of(recordClass);
+        for (T record : changed) {
+            final T existing = byId.get(record.getId());
+            if (existing == null) {
+                items.add(record);
+                byId.put(record.getId(), record);
+                recordAdded(record);
+                eventBus.publish(recordClass, EventBus.Change.Inserted, record);
+            } else if (!accessors.sameValues(existing, record)) {
+                existing.applyChanges(record);
+                rowCache.invalidate(existing);
+                recordUpdated(existing);
+                eventBus.publish(recordClass, EventBus.Change.Updated, existing);
+            }
+        }
+        final Set<T> removed = new HashSet<>();
+        for (long id : deletedIds) {
+            final T existing = byId.remove(id);
+            if (existing == null) continue;
+            rowCache.remove(existing);
+            recordDeleted(existing);
+            eventBus.publish(recordClass, EventBus.Change.Deleted, existing);
+            removed.add(existing);
+        }
+        if (!removed.isEmpty()) items.removeAll(removed);
+    }
+
 
     public ObservableList<T> getData() {
         return tableView.getItems();
@@ -0,0 +1,145 @@
+package Controllers;
+
+import javafx.animation.PauseTransition;
+import javafx.geometry.Side;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.TextField;
+import javafx.util.Duration;
+import javafx.util.StringConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * turns combo boxes and text fields into type-ahead pickers. the options are looked up in an index as the user types,
+ * after a short pause, and only the best matches are put into the control, so a picker over 100k records costs the
+ * same to open as one over ten
+ */
+final class TypeAhead {
+    /**
+     * the number of matches put into a picker, -DtypeAhead.limit
+     */
+    static final int limit = Integer.getInteger("typeAhead.limit", 20);
+    private static final Duration delay = Duration.millis(150);
+    private static final String searchProperty = "typeAhead.search";
+
+    private TypeAhead() {
+    }
+
+    /**
+     * looks up the options that match the text typed into a picker
+     *
+     * @param <T> the type of the options
+     */
+    @FunctionalInterface
+    interface Search<T> {
+        /**
+         * @param prefix the text typed so far
+         * @param limit  the maximum number of options to return
+         * @return the matching options
+         */
+        List<T> find(String prefix, int limit);
+    }
+
+    /**
+     * lambda1: debounces the typed text
+     * lambda2: replaces the options with the matches for the typed text
+     * <p>
+     * makes a combo box editable and fills its options with the matches for the typed text. the value of the combo box
+     * is set with ComboBox#setValue(Object), it doesn't have to be one of the current options
+     *
+     * @param comboBox the combo box
+     * @param search   finds the options for the typed text
+     * @param <T>      the type of the options
+     */
+    static <T> void bind(ComboBox<T> comboBox, Search<T> search) {
+        comboBox.setEditable(true);
+        comboBox.setVisibleRowCount(10);
+        comboBox.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(T option) {
+                return option == null ? "" : option.toString();
+            }
+
+            @Override
+            public T fromString(String text) {
+                final T value = comboBox.getValue();
+                if (value != null && value.toString().equals(text)) return value;
+                for (T option : comboBox.getItems()) {
+                    if (option.toString().equals(text)) return option;
+                }
+                return null;
+            }
+        });
+        comboBox.getProperties().put(searchProperty, search);
+        refresh(comboBox);
+        final PauseTransition pause = new PauseTransition(delay);
+        // lambda replaces the options with the matches for the typed text
+        pause.setOnFinished(event -> {
+            final String text = comboBox.getEditor().getText();
+            final T value = comboBox.getValue();
+            if (value != null && value.toString().equals(text)) return;
+            comboBox.getItems().setAll(search.find(text, limit));
+            if (!comboBox.getItems().isEmpty()) comboBox.show();
+        });
+        // lambda debounces the typed text
+        comboBox.getEditor().textProperty().addListener((observable, oldText, newText) -> {
+            if (comboBox.getEditor().isFocused()) pause.playFromStart();
+        });
+    }
+
+    /**
+     * puts the first options back into a combo box set up with #bind(ComboBox, Search). a reused form calls it when it
+     * opens, so the options come from the index it is bound to now and not from the one it was bound to before
+     *
+     * @param comboBox the combo box
+     * @param <T>      the type of the options
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void refresh(ComboBox<T> comboBox) {
+        final Search<T> search = (Search<T>) comboBox.getProperties().get(searchProperty);
+        if (search != null) comboBox.getItems().setAll(search.find("", limit));
+    }
+
+    /**
+     * lambda1: debounces the typed text
+     * lambda2: shows the matches for the typed text
+     * lambda3: fills the field with the chosen suggestion
+     * <p>
+     * shows a list of suggestions under a free text field while the user types
+     *
+     * @param field  the text field
+     * @param search finds the suggestions for the typed text
+     */
+    static void bind(TextField field, Search<String> search) {
+        final ContextMenu suggestions = new ContextMenu();
+        final PauseTransition pause = new PauseTransition(delay);
+        // lambda shows the matches for the typed text
+        pause.setOnFinished(event -> {
+            final String text = field.getText();
+            final List<String> matches = text == null || text.isEmpty() ? List.of() : search.find(text, limit);
+            if (matches.isEmpty() || (matches.size() == 1 && matches.get(0).equals(text))) {
+                suggestions.hide();
+                return;
+            }
+            final List<MenuItem> items = new ArrayList<>(matches.size());
+            for (String match : matches) {
+                final MenuItem item = new MenuItem(match);
+                // lambda fills the field with the chosen suggestion
+                item.setOnAction(action -> {
+                    field.setText(match);
+                    field.positionCaret(match.length());
+                });
+                items.add(item);
+            }
+            suggestions.getItems().setAll(items);
+            if (!suggestions.isShowing()) suggestions.show(field, Side.BOTTOM, 0, 0);
+        });
+        // lambda debounces the typed text
+        field.textProperty().addListener((observable, oldText, newText) -> {
+            if (field.isFocused()) pause.playFromStart();
+        });
+    }
+}
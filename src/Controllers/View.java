@@ -1,6 +1,5 @@
 package Controllers;
 
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
@@ -22,12 +21,13 @@ public final class View extends Base {
      * @throws Exception any exception within the scene building
      */
     public void showLoginView() throws Exception {
-        final FXMLLoader loader = new FXMLLoader(getClass().getResource("/Views/Login.fxml"), bundle);
-        scene.setRoot(loader.load());
-        loader.<Login>getController().setViewController(this);
+        final ViewLoader.Loaded view = ViewLoader.load("/Views/Login.fxml", null, bundle);
+        scene.setRoot(view.getRoot());
+        view.<Login>getController().setViewController(this);
         primaryStage.setTitle(bundle.getString("app.title"));
         primaryStage.setWidth(600);
         primaryStage.setHeight(400);
+        ViewLoader.reportStartup("login view");
     }
 
     /**
@@ -36,13 +36,14 @@ public final class View extends Base {
     public void showMainView() {
         try {
             primaryStage.hide();
-            final FXMLLoader loader = new FXMLLoader(getClass().getResource("/Views/Main.fxml"), bundle);
-            scene.setRoot(loader.load());
-            final Main mainController = loader.getController();
+            final ViewLoader.Loaded view = ViewLoader.load("/Views/Main.fxml", null, bundle);
+            scene.setRoot(view.getRoot());
+            final Main mainController = view.getController();
             mainController.setViewController(this);
             primaryStage.setWidth(800);
             primaryStage.setHeight(600);
             primaryStage.show();
+            ViewLoader.reportStartup("main view");
         } catch (Exception e) {
             System.out.println("error opening main view:");
             System.out.println(e);
@@ -0,0 +1,26 @@
+package Controllers;
+
+import javafx.scene.Parent;
+
+import java.util.ResourceBundle;
+
+/**
+ * builds the scene graph of an FXML view with plain Java. implementations are generated from the FXML files at build
+ * time by Tools.FxmlCompiler and picked up by ViewLoader
+ */
+public interface ViewBuilder {
+    /**
+     * @return a new instance of the controller declared with fx:controller, or null if the view doesn't declare one
+     */
+    Object createController();
+
+    /**
+     * creates the nodes of the view, injects the fx:id nodes into the controller and wires up its event handlers
+     *
+     * @param controller the controller of the view, may be null
+     * @param resources  the bundle for %key values
+     * @return the root of the view
+     * @throws Exception any exception while creating the nodes or loading an included view
+     */
+    Parent build(Object controller, ResourceBundle resources) throws Exception;
+}
@@ -0,0 +1,286 @@
+package Controllers;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.fxml.Initializable;
+import javafx.scene.Parent;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * loads the FXML views. a view is built by its generated ViewBuilder when the build step has produced one and falls
+ * back to FXMLLoader when it hasn't. -Dviews.generated=false always uses FXMLLoader and -Dviews.timing=true prints how
+ * long every view took to load, so the two can be compared
+ */
+public final class ViewLoader {
+    private static final boolean useGenerated = !"false".equals(System.getProperty("views.generated"));
+    private static final boolean timing = Boolean.getBoolean("views.timing");
+    private static final ConcurrentMap<String, Optional<ViewBuilder>> builders = new ConcurrentHashMap<>();
+    private static final ClassValue<ConcurrentMap<String, Optional<MethodHandle>>> fieldSetters = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<String, Optional<MethodHandle>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    private static final ClassValue<ConcurrentMap<String, Optional<Handler>>> handlers = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<String, Optional<Handler>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private ViewLoader() {
+    }
+
+    /**
+     * loads a view and calls Initializable#initialize(URL, ResourceBundle) on its controller, like FXMLLoader does
+     *
+     * @param resource   the resource path of the FXML file, e.g. /Views/Login.fxml
+     * @param controller the controller for the view, or null to create the one declared with fx:controller
+     * @param resources  the bundle for %key values
+     * @return the root and controller of the view
+     * @throws IOException if the view can't be loaded
+     */
+    public static Loaded load(String resource, Object controller, ResourceBundle resources) throws IOException {
+        final long start = System.nanoTime();
+        final Optional<ViewBuilder> builder = useGenerated
+                ? builders.computeIfAbsent(resource, ViewLoader::findBuilder)
+                : Optional.empty();
+        final Loaded loaded = builder.isPresent()
+                ? build(builder.get(), resource, controller, resources)
+                : parse(resource, controller, resources);
+        if (timing) {
+            System.out.printf("%s loaded in %.2f ms with %s%n",
+                    resource,
+                    (System.nanoTime() - start) / 1e6,
+                    builder.isPresent() ? "its generated builder" : "FXMLLoader");
+        }
+        return loaded;
+    }
+
+    /**
+     * resolves the generated builders of views that are about to be shown and loads their classes, so the first load
+     * doesn't pay for it. safe to call from any thread, no nodes are created
+     *
+     * @param resources the resource paths of the FXML files
+     */
+    public static void preload(String... resources) {
+        if (!useGenerated) return;
+        for (String resource : resources) {
+            builders.computeIfAbsent(resource, ViewLoader::findBuilder).ifPresent(ViewBuilder::createController);
+        }
+    }
+
+    /**
+     * with -Dviews.timing=true, prints how long something took
+     *
+     * @param event what happened
+     * @param start the System#nanoTime() it was measured from
+     */
+    public static void reportElapsed(String event, long start) {
+        if (timing) System.out.printf("%s after %.2f ms%n", event, (System.nanoTime() - start) / 1e6);
+    }
+
+    /**
+     * lambda1: measures from the start of the JVM
+     * <p>
+     * with -Dviews.timing=true, prints how long after the JVM started a view was shown. this is the startup number to
+     * compare with and without the generated builders
+     *
+     * @param view the name of the view that was shown
+     */
+    public static void reportStartup(String view) {
+        if (!timing) return;
+        // lambda to measure from the start of the JVM
+        ProcessHandle.current().info().startInstant().ifPresent(started -> {
+            final long elapsed = Duration.between(started, Instant.now()).toMillis();
+            System.out.printf("%s shown %d ms after start%n", view, elapsed);
+        });
+    }
+
+    /**
+     * lambda1: finds the field the first time the id is injected into this type of controller
+     * <p>
+     * sets the controller field for an fx:id. like FXMLLoader, only public fields and fields annotated with FXML are
+     * set and ids without a field are ignored. called by the generated builders
+     *
+     * @param controller the controller, may be null
+     * @param fxId       the fx:id of the node
+     * @param value      the node
+     */
+    public static void inject(Object controller, String fxId, Object value) {
+        if (controller == null) return;
+        // lambda to find the field the first time the id is injected into this type of controller
+        final Optional<MethodHandle> setter = fieldSetters.get(controller.getClass())
+                .computeIfAbsent(fxId, name -> findFieldSetter(controller.getClass(), name));
+        if (setter.isEmpty()) return;
+        try {
+            setter.get().invoke(controller, value);
+        } catch (Throwable ex) {
+            throw new IllegalStateException("could not inject " + fxId, ex);
+        }
+    }
+
+    /**
+     * lambda1: finds the method the first time the handler is created for this type of controller
+     * lambda2: calls the controller method with or without the event
+     * <p>
+     * creates an event handler for an attribute like onAction="#handleSave". called by the generated builders
+     *
+     * @param controller the controller
+     * @param name       the name of the controller method
+     * @param <E>        the type of event
+     * @return a handler that calls the controller method
+     */
+    public static <E extends Event> EventHandler<E> handler(Object controller, String name) {
+        // lambda to find the method the first time the handler is created for this type of controller
+        final Handler handler = controller == null ? null : handlers.get(controller.getClass())
+                .computeIfAbsent(name, methodName -> findHandler(controller.getClass(), methodName))
+                .orElse(null);
+        if (handler == null) throw new IllegalStateException("no event handler " + name);
+        final MethodHandle method = handler.method.bindTo(controller);
+        // lambda calls the controller method with or without the event
+        return event -> {
+            try {
+                if (handler.takesEvent) {
+                    method.invoke(event);
+                } else {
+                    method.invoke();
+                }
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new RuntimeException(ex);
+            }
+        };
+    }
+
+    private static Loaded build(ViewBuilder builder,
+                                String resource,
+                                Object controller,
+                                ResourceBundle resources) throws IOException {
+        final Object viewController = controller != null ? controller : builder.createController();
+        final Parent root;
+        try {
+            root = builder.build(viewController, resources);
+        } catch (IOException | RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IOException("could not build " + resource, ex);
+        }
+        if (viewController instanceof Initializable) {
+            ((Initializable) viewController).initialize(ViewLoader.class.getResource(resource), resources);
+        }
+        return new Loaded(root, viewController);
+    }
+
+    private static Loaded parse(String resource, Object controller, ResourceBundle resources) throws IOException {
+        final FXMLLoader loader = new FXMLLoader(ViewLoader.class.getResource(resource), resources);
+        if (controller != null) loader.setController(controller);
+        final Parent root = loader.load();
+        return new Loaded(root, loader.getController());
+    }
+
+    /**
+     * @param resource the resource path of the FXML file
+     * @return the generated builder for the view, e.g. Views.LoginView for /Views/Login.fxml
+     */
+    private static Optional<ViewBuilder> findBuilder(String resource) {
+        final String className = resource.replaceAll("^/+", "")
+                .replaceAll("\\.fxml$", "")
+                .replace('/', '.') + "View";
+        try {
+            final Class<? extends ViewBuilder> type = Class.forName(className).asSubclass(ViewBuilder.class);
+            return Optional.of(type.getDeclaredConstructor().newInstance());
+        } catch (ClassNotFoundException ex) {
+            return Optional.empty();
+        } catch (ReflectiveOperationException | ClassCastException ex) {
+            ex.printStackTrace();
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<MethodHandle> findFieldSetter(Class<?> type, String name) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            try {
+                final Field field = current.getDeclaredField(name);
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) break;
+                if (!Modifier.isPublic(field.getModifiers()) && !field.isAnnotationPresent(FXML.class)) break;
+                return Optional.of(lookupFor(current).unreflectSetter(field));
+            } catch (NoSuchFieldException ex) {
+                // keep looking in the superclass
+            } catch (IllegalAccessException ex) {
+                ex.printStackTrace();
+                break;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Handler> findHandler(Class<?> type, String name) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Method method : current.getDeclaredMethods()) {
+                if (!method.getName().equals(name) || Modifier.isStatic(method.getModifiers())) continue;
+                if (!Modifier.isPublic(method.getModifiers()) && !method.isAnnotationPresent(FXML.class)) continue;
+                final Class<?>[] parameters = method.getParameterTypes();
+                final boolean takesEvent = parameters.length == 1 && Event.class.isAssignableFrom(parameters[0]);
+                if (parameters.length != 0 && !takesEvent) continue;
+                try {
+                    return Optional.of(new Handler(lookupFor(current).unreflect(method), takesEvent));
+                } catch (IllegalAccessException ex) {
+                    ex.printStackTrace();
+                    return Optional.empty();
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static MethodHandles.Lookup lookupFor(Class<?> type) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+    }
+
+    private static final class Handler {
+        private final MethodHandle method;
+        private final boolean takesEvent;
+
+        private Handler(MethodHandle method, boolean takesEvent) {
+            this.method = method;
+            this.takesEvent = takesEvent;
+        }
+    }
+
+    /**
+     * the root and controller of a loaded view
+     */
+    public static final class Loaded {
+        private final Parent root;
+        private final Object controller;
+
+        private Loaded(Parent root, Object controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+
+        public Parent getRoot() {
+            return root;
+        }
+
+        public <C> C getController() {
+            return (C) controller;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package Controllers;
+
+import Model.Customer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * uses the time the user spends typing on the login view to get everything the main view needs ready. the JDBC driver,
+ * database.xml and the shared connection, the reference data, the main view's classes and the customer rows are all
+ * loaded in parallel in the background, so after logging in the customer table is filled from memory. anything that
+ * isn't ready when it's needed is simply waited for, and anything that failed is loaded again the normal way.
+ * -DwarmStart=false turns it off
+ */
+public final class WarmStart extends Base {
+    private static final boolean enabled = !"false".equals(System.getProperty("warmStart"));
+    private static CompletableFuture<List<Customer>> customers;
+    private static volatile long loginStarted;
+    private final ExecutorService executor = Executors.newFixedThreadPool(3, runnable -> {
+        final Thread thread = new Thread(runnable, "warm-start");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private WarmStart() {
+    }
+
+    /**
+     * lambda1: loads the reference data
+     * lambda2: resolves the main view and its tables
+     * lambda3: stops the threads once everything has loaded
+     * <p>
+     * starts the warm start. called once the login view is showing
+     */
+    public static synchronized void start() {
+        if (!enabled || customers != null) return;
+        final WarmStart warmStart = new WarmStart();
+        final CompletableFuture<Void> connection = CompletableFuture.runAsync(warmStart::connect, warmStart.executor);
+        // lambda to load the reference data
+        final CompletableFuture<Void> referenceData = CompletableFuture.runAsync(
+                () -> ReferenceData.getInstance().get(), warmStart.executor);
+        // lambda to resolve the main view and its tables
+        final CompletableFuture<Void> views = CompletableFuture.runAsync(
+                () -> ViewLoader.preload("/Views/Main.fxml", "/Views/Table.fxml", "/Views/Report.fxml"),
+                warmStart.executor);
+        customers = CompletableFuture.supplyAsync(warmStart::fetchCustomers, warmStart.executor);
+        // lambda to stop the threads once everything has loaded
+        CompletableFuture.allOf(connection, referenceData, views, customers)
+                .whenComplete((ignored, ex) -> warmStart.executor.shutdown());
+    }
+
+    /**
+     * hands the prefetched customers to the customer table. they are only handed out once, a table that is loaded
+     * again queries the database itself
+     *
+     * @return the customers, or null if they weren't prefetched or couldn't be loaded
+     */
+    static synchronized List<Customer> takeCustomers() {
+        if (customers == null) return null;
+        final CompletableFuture<List<Customer>> prefetched = customers;
+        customers = CompletableFuture.completedFuture(null);
+        return prefetched.join();
+    }
+
+    /**
+     * records when the user clicked log in, the start of the time to a populated customer table
+     */
+    static void loginStarted() {
+        loginStarted = System.nanoTime();
+    }
+
+    /**
+     * with -Dviews.timing=true, prints how long after clicking log in the customer table was populated
+     */
+    static void customersShown() {
+        if (loginStarted != 0) ViewLoader.reportElapsed("customer table populated", loginStarted);
+        loginStarted = 0;
+    }
+
+    /**
+     * opens the shared connection, loading the JDBC driver and parsing database.xml along the way
+     */
+    private void connect() {
+        try {
+            createDatabaseConnection();
+        } catch (SQLException ex) {
+            printSQLException(ex);
+        } catch (RuntimeException ex) {
+            System.out.println("warm start could not connect:");
+            System.out.println(ex);
+        }
+    }
+
+    /**
+     * @return every customer, or null if the query failed or the customers will come from the local snapshot
+     */
+    private List<Customer> fetchCustomers() {
+        if (LocalSnapshot.getInstance().exists()) return null;
+        try (
+                Connection connection = openConnection();
+                PreparedStatement stmt = connection.prepareStatement(CustomerTable.customerQuery);
+                ResultSet rs = stmt.executeQuery()
+        ) {
+            return CustomerTable.readCustomers(rs);
+        } catch (SQLException ex) {
+            printSQLException(ex);
+        } catch (RuntimeException ex) {
+            System.out.println("warm start could not fetch the customers:");
+            System.out.println(ex);
+        }
+        return null;
+    }
+}
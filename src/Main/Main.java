@@ -1,27 +1,39 @@
 package Main;
 
+import Controllers.ApiServer;
+import Controllers.AuditLog;
+import Controllers.LocalSnapshot;
 import Controllers.Base;
 import Controllers.View;
-import Model.Record;
+import Controllers.WarmStart;
 import javafx.application.Application;
 import javafx.scene.Scene;
 import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
 
-import java.util.Locale;
+import java.io.IOException;
+import java.util.Arrays;
 
 public class Main extends Application {
 
-    public static void main(String[] args) {
+    /**
+     * launches the user interface, or with --api serves the ApiServer instead
+     *
+     * @param args the command line arguments
+     * @throws IOException if the api can't be started
+     */
+    public static void main(String[] args) throws IOException {
+        if (Arrays.asList(args).contains("--api")) {
+            Base.setLocaleAndBundle();
+            ApiServer.getInstance().start();
+            return;
+        }
         launch(args);
     }
 
     @Override
     public void start(Stage primaryStage) throws Exception {
         Base.setLocaleAndBundle();
-        Record.bundle = Base.getBundle();
-        Record.locale = Base.getLocale();
-        Locale.setDefault(Base.getLocale());
         final Scene scene = new Scene(new StackPane());
 
         View viewController = new View(scene, primaryStage);
@@ -29,5 +41,16 @@ public class Main extends Application {
 
         primaryStage.setScene(scene);
         primaryStage.show();
+        WarmStart.start();
+    }
+
+    /**
+     * saves the tables for the next launch and writes the login attempts that are still queued before the application
+     * exits
+     */
+    @Override
+    public void stop() {
+        LocalSnapshot.getInstance().save();
+        AuditLog.closeIfStarted();
     }
 }
\ No newline at end of file
@@ -1,16 +1,17 @@
 package Model;
 
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.FormatStyle;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.ResourceBundle;
 
 public class Appointment extends Record implements Model<Appointment>, Reportable {
-    private final String description;
-    private final String location;
+    // replaced as a whole, so threads writing reports never see one bundle's labels paired with another bundle
+    private static volatile ReportLabels reportLabels;
+    private String description;
+    private String location;
     private String title;
     private String type;
     private LocalDateTime start;
@@ -18,6 +19,10 @@ public class Appointment extends Record implements Model<Appointment>, Reportabl
     private long customerId;
     private long userId;
     private long contactId;
+    private transient String formattedStart;
+    private transient String formattedEnd;
+    private transient LocalDateTime formattedStartSource;
+    private transient LocalDateTime formattedEndSource;
 
     public Appointment(long id,
                        String title,
@@ -50,19 +55,20 @@ public class Appointment extends Record implements Model<Appointment>, Reportabl
     }
 
     /**
-     * @see Model#toValues()
+     * @see Model#bindValues(PreparedStatement, int)
      */
     @Override
-    public List<Object> toValues() {
-        return new ArrayList(List.of(title,
-                description,
-                location,
-                type,
-                getSQLStart(),
-                getSQLEnd(),
-                customerId,
-                userId,
-                contactId));
+    public int bindValues(PreparedStatement statement, int index) throws SQLException {
+        statement.setString(index++, title);
+        statement.setString(index++, description);
+        statement.setString(index++, location);
+        statement.setString(index++, type);
+        statement.setObject(index++, getUTCStart());
+        statement.setObject(index++, getUTCEnd());
+        statement.setLong(index++, customerId);
+        statement.setLong(index++, userId);
+        statement.setLong(index++, contactId);
+        return index;
     }
 
     public String getTitle() {
@@ -70,7 +76,23 @@ public class Appointment extends Record implements Model<Appointment>, Reportabl
     }
 
     public void setTitle(String title) {
-        this.title = title.trim();
+        this.title = title == null ? null : title.trim();
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
     }
 
     public String getType() {
@@ -78,15 +100,25 @@ public class Appointment extends Record implements Model<Appointment>, Reportabl
     }
 
     public void setType(String type) {
-        this.type = type.trim();
+        this.type = type == null ? null : type.trim();
+    }
+
+    public LocalDateTime getStart() {
+        return start;
     }
 
     public void setStart(LocalDateTime start) {
         this.start = start;
+        formattedStart = null;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
     }
 
     public void setEnd(LocalDateTime end) {
         this.end = end;
+        formattedEnd = null;
     }
 
     public long getCustomerId() {
@@ -113,6 +145,20 @@ public class Appointment extends Record implements Model<Appointment>, Reportabl
         this.contactId = contactId;
     }
 
+    /**
+     * @return the start date in UTC for binding to a sql statement
+     */
+    public LocalDateTime getUTCStart() {
+        return DateTimeFormats.toUTC(start);
+    }
+
+    /**
+     * @return the end date in UTC for binding to a sql statement
+     */
+    public LocalDateTime getUTCEnd() {
+        return DateTimeFormats.toUTC(end);
+    }
+
     /**
      * @return the start date formatted for a sql query
      */
@@ -134,22 +180,29 @@ public class Appointment extends Record implements Model<Appointment>, Reportabl
      * @return the string for the sql query
      */
     private static String formatSQLDate(LocalDateTime date) {
-        final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        return formatter.format(date.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneId.of("UTC")));
+        return DateTimeFormats.formatSQL(date);
     }
 
     /**
-     * @return the start date formatted for display in the table
+     * @return the start date formatted for display in the table, memoized until the start changes
      */
     public String getFormattedStart() {
-        return formatLocalDate(start);
+        if (formattedStart == null || formattedStartSource != start) {
+            formattedStart = formatLocalDate(start);
+            formattedStartSource = start;
+        }
+        return formattedStart;
     }
 
     /**
-     * @return the end date formatted for display in the table
+     * @return the end date formatted for display in the table, memoized until the end changes
      */
     public String getFormattedEnd() {
-        return formatLocalDate(end);
+        if (formattedEnd == null || formattedEndSource != end) {
+            formattedEnd = formatLocalDate(end);
+            formattedEndSource = end;
+        }
+        return formattedEnd;
     }
 
     /**
@@ -159,22 +212,21 @@ public class Appointment extends Record implements Model<Appointment>, Reportabl
      * @return the string to display
      */
     public static String formatLocalDate(LocalDateTime date) {
-        final DateTimeFormatter formatter = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT).withLocale(locale);
-        return date.format(formatter);
+        return DateTimeFormats.formatLocal(date, locale);
     }
 
     /**
      * @return the start time in the local user's time zone
      */
     public ZonedDateTime getLocalStart() {
-        return start.atZone(ZoneId.systemDefault());
+        return start.atZone(DateTimeFormats.getSystemZone());
     }
 
     /**
      * @return the end time in the local user's time zone
      */
     public ZonedDateTime getLocalEnd() {
-        return end.atZone(ZoneId.systemDefault());
+        return end.atZone(DateTimeFormats.getSystemZone());
     }
 
     /**
@@ -182,8 +234,8 @@ public class Appointment extends Record implements Model<Appointment>, Reportabl
      */
     @Override
     protected void customValidate() throws ValidationError {
-        final ZonedDateTime startEST = start.atZone(ZoneId.of("US/Eastern"));
-        final ZonedDateTime endEST = end.atZone(ZoneId.of("US/Eastern"));
+        final ZonedDateTime startEST = start.atZone(DateTimeFormats.eastern);
+        final ZonedDateTime endEST = end.atZone(DateTimeFormats.eastern);
         checkDateRange(startEST, bundle.getString("appointment.start"));
         checkDateRange(endEST, bundle.getString("appointment.end"));
         if (start.compareTo(end) > 0) {
@@ -208,19 +260,57 @@ public class Appointment extends Record implements Model<Appointment>, Reportabl
     }
 
     /**
-     * @see Reportable#toReportString()
+     * resolves the report labels from the bundle once and reuses them for every row until the bundle changes. safe to
+     * call from the threads of the report runner and the API server at the same time, at worst two of them resolve
+     * the labels for a new bundle
+     *
+     * @return the labels in the order they appear in the report
+     */
+    private static String[] getReportLabels() {
+        final ResourceBundle current = bundle;
+        ReportLabels labels = reportLabels;
+        if (labels == null || labels.bundle != current) {
+            labels = new ReportLabels(current);
+            reportLabels = labels;
+        }
+        return labels.labels;
+    }
+
+    /**
+     * @see Reportable#appendReport(Appendable)
      */
     @Override
-    public String toReportString() {
+    public void appendReport(Appendable out) throws IOException {
         //  appointment ID, title, type and description, start date and time, end date and time, and customer ID
-        String output = "";
-        output += String.format("\t%s: %d\n", "ID", id);
-        output += String.format("\t%s: %s\n", bundle.getString("appointment.title"), title);
-        output += String.format("\t%s: %s\n", bundle.getString("appointment.type"), type);
-        output += String.format("\t%s: %s\n", bundle.getString("appointment.description"), description);
-        output += String.format("\t%s: %s\n", bundle.getString("appointment.start"), getFormattedStart());
-        output += String.format("\t%s: %s\n", bundle.getString("appointment.end"), getFormattedEnd());
-        output += String.format("\t%s: %s\n", bundle.getString("appointment.customerId"), customerId);
-        return output + "\n";
+        final String[] labels = getReportLabels();
+        Reportable.appendLong(out.append(labels[0]), id).append('\n');
+        out.append(labels[1]).append(title).append('\n');
+        out.append(labels[2]).append(type).append('\n');
+        out.append(labels[3]).append(description).append('\n');
+        out.append(labels[4]).append(getFormattedStart()).append('\n');
+        out.append(labels[5]).append(getFormattedEnd()).append('\n');
+        Reportable.appendLong(out.append(labels[6]), customerId).append('\n');
+        out.append('\n');
+    }
+
+    /**
+     * the report labels together with the bundle they were resolved from
+     */
+    private static final class ReportLabels {
+        private final ResourceBundle bundle;
+        private final String[] labels;
+
+        private ReportLabels(ResourceBundle bundle) {
+            this.bundle = bundle;
+            labels = new String[]{
+                    "\tID: ",
+                    "\t" + bundle.getString("appointment.title") + ": ",
+                    "\t" + bundle.getString("appointment.type") + ": ",
+                    "\t" + bundle.getString("appointment.description") + ": ",
+                    "\t" + bundle.getString("appointment.start") + ": ",
+                    "\t" + bundle.getString("appointment.end") + ": ",
+                    "\t" + bundle.getString("appointment.customerId") + ": "
+            };
+        }
     }
 }
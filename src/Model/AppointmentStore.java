@@ -0,0 +1,402 @@
+package Model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * a column-oriented store for large numbers of appointments. ids and times are kept in primitive arrays and the
+ * repetitive title, type and location values are dictionary encoded, so a row costs a few dozen bytes instead of a full
+ * Appointment object graph. Appointment instances are only created for the rows that are actually requested
+ */
+public final class AppointmentStore {
+    private static final int initialCapacity = 64;
+    private final StringDictionary titleDictionary = new StringDictionary();
+    private final StringDictionary typeDictionary = StringDictionary.types;
+    private final StringDictionary locationDictionary = StringDictionary.locations;
+    private int size = 0;
+    private long[] ids = new long[initialCapacity];
+    private long[] starts = new long[initialCapacity];
+    private long[] ends = new long[initialCapacity];
+    private long[] customerIds = new long[initialCapacity];
+    private long[] userIds = new long[initialCapacity];
+    private long[] contactIds = new long[initialCapacity];
+    private int[] titles = new int[initialCapacity];
+    private int[] types = new int[initialCapacity];
+    private int[] locations = new int[initialCapacity];
+    private String[] descriptions = new String[initialCapacity];
+    // an open-addressing table of row + 1 by id for #indexOfId(long), built on first use and dropped when rows move
+    private int[] rowsById;
+
+    /**
+     * @return the number of rows in the store
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * appends a row without creating an Appointment for it
+     *
+     * @param id          the appointment id
+     * @param title       the title
+     * @param description the description
+     * @param location    the location
+     * @param type        the type
+     * @param start       the start date and time
+     * @param end         the end date and time
+     * @param customerId  the customer id
+     * @param userId      the user id
+     * @param contactId   the contact id
+     * @return the index of the new row
+     */
+    public int add(long id,
+                   String title,
+                   String description,
+                   String location,
+                   String type,
+                   LocalDateTime start,
+                   LocalDateTime end,
+                   long customerId,
+                   long userId,
+                   long contactId) {
+        ensureCapacity(size + 1);
+        write(size, id, title, description, location, type, start, end, customerId, userId, contactId);
+        return size++;
+    }
+
+    /**
+     * inserts an appointment at the given row, shifting the following rows down
+     *
+     * @param index       the row to insert at
+     * @param appointment the appointment to store
+     */
+    public void insert(int index, Appointment appointment) {
+        if (index < 0 || index > size) throw new IndexOutOfBoundsException(Integer.toString(index));
+        ensureCapacity(size + 1);
+        shift(index, index + 1, size - index);
+        size++;
+        set(index, appointment);
+    }
+
+    /**
+     * overwrites a row with the values of an appointment
+     *
+     * @param index       the row to overwrite
+     * @param appointment the appointment to store
+     */
+    public void set(int index, Appointment appointment) {
+        checkIndex(index);
+        write(index,
+                appointment.getId(),
+                appointment.getTitle(),
+                appointment.getDescription(),
+                appointment.getLocation(),
+                appointment.getType(),
+                appointment.getStart(),
+                appointment.getEnd(),
+                appointment.getCustomerId(),
+                appointment.getUserId(),
+                appointment.getContactId());
+    }
+
+    /**
+     * removes a row, shifting the following rows up
+     *
+     * @param index the row to remove
+     */
+    public void remove(int index) {
+        checkIndex(index);
+        shift(index + 1, index, size - index - 1);
+        descriptions[--size] = null;
+    }
+
+    /**
+     * removes every row
+     */
+    public void clear() {
+        Arrays.fill(descriptions, 0, size, null);
+        size = 0;
+        rowsById = null;
+    }
+
+    /**
+     * moves every row to a new position, e.g. to sort the store
+     *
+     * @param order the old index of the row for each new index, a permutation of 0 to size - 1
+     */
+    public void reorder(int[] order) {
+        if (order.length != size) throw new IllegalArgumentException("expected " + size + " rows");
+        final long[] newIds = new long[ids.length];
+        final int[] newTitles = new int[titles.length];
+        final String[] newDescriptions = new String[descriptions.length];
+        final int[] newLocations = new int[locations.length];
+        final int[] newTypes = new int[types.length];
+        final long[] newStarts = new long[starts.length];
+        final long[] newEnds = new long[ends.length];
+        final long[] newCustomerIds = new long[customerIds.length];
+        final long[] newUserIds = new long[userIds.length];
+        final long[] newContactIds = new long[contactIds.length];
+        for (int row = 0; row < size; row++) {
+            final int from = order[row];
+            newIds[row] = ids[from];
+            newTitles[row] = titles[from];
+            newDescriptions[row] = descriptions[from];
+            newLocations[row] = locations[from];
+            newTypes[row] = types[from];
+            newStarts[row] = starts[from];
+            newEnds[row] = ends[from];
+            newCustomerIds[row] = customerIds[from];
+            newUserIds[row] = userIds[from];
+            newContactIds[row] = contactIds[from];
+        }
+        ids = newIds;
+        titles = newTitles;
+        descriptions = newDescriptions;
+        locations = newLocations;
+        types = newTypes;
+        starts = newStarts;
+        ends = newEnds;
+        customerIds = newCustomerIds;
+        userIds = newUserIds;
+        contactIds = newContactIds;
+        rowsById = null;
+    }
+
+    /**
+     * materializes a row as an Appointment
+     *
+     * @param index the row
+     * @return a new Appointment holding the values of the row
+     */
+    public Appointment get(int index) {
+        checkIndex(index);
+        return new Appointment(ids[index],
+                titleDictionary.decode(titles[index]),
+                descriptions[index],
+                locationDictionary.decode(locations[index]),
+                typeDictionary.decode(types[index]),
+                toDateTime(starts[index]),
+                toDateTime(ends[index]),
+                customerIds[index],
+                userIds[index],
+                contactIds[index]);
+    }
+
+    /**
+     * @param index the row
+     * @return the id of the row
+     */
+    public long getId(int index) {
+        checkIndex(index);
+        return ids[index];
+    }
+
+    /**
+     * @param index the row
+     * @return the title of the row
+     */
+    public String getTitle(int index) {
+        checkIndex(index);
+        return titleDictionary.decode(titles[index]);
+    }
+
+    /**
+     * @param index the row
+     * @return the description of the row
+     */
+    public String getDescription(int index) {
+        checkIndex(index);
+        return descriptions[index];
+    }
+
+    /**
+     * @param index the row
+     * @return the location of the row
+     */
+    public String getLocation(int index) {
+        checkIndex(index);
+        return locationDictionary.decode(locations[index]);
+    }
+
+    /**
+     * @param index the row
+     * @return the type of the row
+     */
+    public String getType(int index) {
+        checkIndex(index);
+        return typeDictionary.decode(types[index]);
+    }
+
+    /**
+     * @param index the row
+     * @return the start of the row in epoch seconds, so rows can be ordered without creating dates. Long.MIN_VALUE
+     * when there is none
+     */
+    public long getStartSecond(int index) {
+        checkIndex(index);
+        return starts[index];
+    }
+
+    /**
+     * @param index the row
+     * @return the end of the row in epoch seconds, Long.MIN_VALUE when there is none
+     */
+    public long getEndSecond(int index) {
+        checkIndex(index);
+        return ends[index];
+    }
+
+    /**
+     * @param index the row
+     * @return the customer id of the row
+     */
+    public long getCustomerId(int index) {
+        checkIndex(index);
+        return customerIds[index];
+    }
+
+    /**
+     * @param index the row
+     * @return the contact id of the row
+     */
+    public long getContactId(int index) {
+        checkIndex(index);
+        return contactIds[index];
+    }
+
+    /**
+     * @param index the row
+     * @return the type of the row as a code from StringDictionary#types, for grouping and filtering without comparing
+     * strings
+     */
+    public int getTypeCode(int index) {
+        checkIndex(index);
+        return types[index];
+    }
+
+    /**
+     * @param index the row
+     * @return the location of the row as a code from StringDictionary#locations, for grouping and filtering without
+     * comparing strings
+     */
+    public int getLocationCode(int index) {
+        checkIndex(index);
+        return locations[index];
+    }
+
+    /**
+     * @param id an appointment id
+     * @return the row holding the appointment or -1 if it isn't in the store
+     */
+    public int indexOfId(long id) {
+        if (rowsById == null) {
+            rowsById = new int[Integer.highestOneBit(Math.max(16, size * 2) - 1) << 1];
+            for (int row = 0; row < size; row++) {
+                indexRow(row);
+            }
+        }
+        final int mask = rowsById.length - 1;
+        for (int slot = hash(id) & mask; rowsById[slot] != 0; slot = (slot + 1) & mask) {
+            final int row = rowsById[slot] - 1;
+            if (ids[row] == id) return row;
+        }
+        return -1;
+    }
+
+    private void indexRow(int row) {
+        final int mask = rowsById.length - 1;
+        int slot = hash(ids[row]) & mask;
+        while (rowsById[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        rowsById[slot] = row + 1;
+    }
+
+    private static int hash(long id) {
+        final long mixed = id * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    private void write(int index,
+                       long id,
+                       String title,
+                       String description,
+                       String location,
+                       String type,
+                       LocalDateTime start,
+                       LocalDateTime end,
+                       long customerId,
+                       long userId,
+                       long contactId) {
+        final boolean append = index == size;
+        final boolean idChanged = append || ids[index] != id;
+        ids[index] = id;
+        if (rowsById != null && idChanged) {
+            // appends keep the index up to date while it is at most half full, anything else rebuilds it on next use
+            if (append && (size + 1) * 2 <= rowsById.length) {
+                indexRow(index);
+            } else {
+                rowsById = null;
+            }
+        }
+        titles[index] = titleDictionary.encode(title);
+        descriptions[index] = description;
+        locations[index] = locationDictionary.encode(location);
+        types[index] = typeDictionary.encode(type);
+        starts[index] = toEpochSecond(start);
+        ends[index] = toEpochSecond(end);
+        customerIds[index] = customerId;
+        userIds[index] = userId;
+        contactIds[index] = contactId;
+    }
+
+    private void shift(int from, int to, int length) {
+        rowsById = null;
+        System.arraycopy(ids, from, ids, to, length);
+        System.arraycopy(titles, from, titles, to, length);
+        System.arraycopy(descriptions, from, descriptions, to, length);
+        System.arraycopy(locations, from, locations, to, length);
+        System.arraycopy(types, from, types, to, length);
+        System.arraycopy(starts, from, starts, to, length);
+        System.arraycopy(ends, from, ends, to, length);
+        System.arraycopy(customerIds, from, customerIds, to, length);
+        System.arraycopy(userIds, from, userIds, to, length);
+        System.arraycopy(contactIds, from, contactIds, to, length);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) return;
+        final int newCapacity = Math.max(capacity, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, newCapacity);
+        titles = Arrays.copyOf(titles, newCapacity);
+        descriptions = Arrays.copyOf(descriptions, newCapacity);
+        locations = Arrays.copyOf(locations, newCapacity);
+        types = Arrays.copyOf(types, newCapacity);
+        starts = Arrays.copyOf(starts, newCapacity);
+        ends = Arrays.copyOf(ends, newCapacity);
+        customerIds = Arrays.copyOf(customerIds, newCapacity);
+        userIds = Arrays.copyOf(userIds, newCapacity);
+        contactIds = Arrays.copyOf(contactIds, newCapacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(Integer.toString(index));
+    }
+
+    /**
+     * @param date a local date, may be null
+     * @return the date as epoch seconds, Long.MIN_VALUE for null
+     */
+    private static long toEpochSecond(LocalDateTime date) {
+        return date == null ? Long.MIN_VALUE : date.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * @param epochSecond epoch seconds as stored by #toEpochSecond(LocalDateTime)
+     * @return the local date
+     */
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return epochSecond == Long.MIN_VALUE ? null : LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
@@ -1,5 +1,7 @@
 package Model;
 
+import java.io.IOException;
+
 public class Contact extends Record implements Reportable {
     final String name;
     final String email;
@@ -14,6 +16,10 @@ public class Contact extends Record implements Reportable {
         return name;
     }
 
+    public String getEmail() {
+        return email;
+    }
+
     /**
      * overrides built-in toString() for display in a ComboBox
      *
@@ -25,10 +31,10 @@ public class Contact extends Record implements Reportable {
     }
 
     /**
-     * @see Reportable#toReportString()
+     * @see Reportable#appendReport(Appendable)
      */
     @Override
-    public String toReportString() {
-        return String.format("%d\t%s\t%s\n", id, name, email);
+    public void appendReport(Appendable out) throws IOException {
+        Reportable.appendLong(out, id).append('\t').append(name).append('\t').append(email).append('\n');
     }
 }
@@ -1,12 +1,13 @@
 package Model;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 
 public final class Customer extends Record implements Model<Customer>, Reportable {
-    private final String address;
-    private final String postalCode;
-    private final String phone;
+    private String address;
+    private String postalCode;
+    private String phone;
     private String name;
     private long divisionId;
 
@@ -24,7 +25,19 @@ public final class Customer extends Record implements Model<Customer>, Reportabl
     }
 
     public void setName(String name) {
-        this.name = name.trim();
+        this.name = name == null ? null : name.trim();
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getPostalCode() {
+        return postalCode;
+    }
+
+    public String getPhone() {
+        return phone;
     }
 
     public long getDivisionId() {
@@ -36,11 +49,16 @@ public final class Customer extends Record implements Model<Customer>, Reportabl
     }
 
     /**
-     * @see Model#toValues()
+     * @see Model#bindValues(PreparedStatement, int)
      */
     @Override
-    public List<Object> toValues() {
-        return new ArrayList<>(List.of(name, address, postalCode, phone, divisionId));
+    public int bindValues(PreparedStatement statement, int index) throws SQLException {
+        statement.setString(index++, name);
+        statement.setString(index++, address);
+        statement.setString(index++, postalCode);
+        statement.setString(index++, phone);
+        statement.setLong(index++, divisionId);
+        return index;
     }
 
     /**
@@ -62,10 +80,10 @@ public final class Customer extends Record implements Model<Customer>, Reportabl
     }
 
     /**
-     * @see Reportable#toReportString()
+     * @see Reportable#appendReport(Appendable)
      */
     @Override
-    public String toReportString() {
-        return String.format("\t%d\t%s\n", id, name);
+    public void appendReport(Appendable out) throws IOException {
+        Reportable.appendLong(out.append('\t'), id).append('\t').append(name).append('\n');
     }
 }
\ No newline at end of file
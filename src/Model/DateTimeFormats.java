@@ -0,0 +1,105 @@
+package Model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * a shared cache of the formatters and time zones used to display and store dates. formatters are immutable and
+ * thread-safe, so they're built once per locale and style and reused for every table cell and report row
+ */
+public final class DateTimeFormats {
+    public static final ZoneId eastern = ZoneId.of("US/Eastern");
+    private static final ZoneId systemZone = ZoneId.systemDefault();
+    private static final DateTimeFormatter sqlFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final ConcurrentMap<Locale, DateTimeFormatter[]> dateTimeFormatters = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Locale, DateTimeFormatter[]> timeFormatters = new ConcurrentHashMap<>();
+
+    private DateTimeFormats() {
+    }
+
+    /**
+     * @return the time zone of the local user, resolved once for the runtime of the program
+     */
+    public static ZoneId getSystemZone() {
+        return systemZone;
+    }
+
+    /**
+     * lambda1: builds the formatters for a locale the first time it's requested
+     *
+     * @param locale the locale to format for
+     * @param style  the style of the date and time
+     * @return a cached localized date and time formatter
+     */
+    public static DateTimeFormatter getDateTimeFormatter(Locale locale, FormatStyle style) {
+        // lambda builds the formatters for a locale the first time it's requested
+        return dateTimeFormatters.computeIfAbsent(locale, l -> buildFormatters(l, true))[style.ordinal()];
+    }
+
+    /**
+     * lambda1: builds the formatters for a locale the first time it's requested
+     *
+     * @param locale the locale to format for
+     * @param style  the style of the time
+     * @return a cached localized time formatter
+     */
+    public static DateTimeFormatter getTimeFormatter(Locale locale, FormatStyle style) {
+        // lambda builds the formatters for a locale the first time it's requested
+        return timeFormatters.computeIfAbsent(locale, l -> buildFormatters(l, false))[style.ordinal()];
+    }
+
+    /**
+     * builds a formatter for every FormatStyle so they can be looked up by ordinal
+     *
+     * @param locale      the locale to format for
+     * @param includeDate whether the formatters include the date or only the time
+     * @return the formatters indexed by FormatStyle ordinal
+     */
+    private static DateTimeFormatter[] buildFormatters(Locale locale, boolean includeDate) {
+        final FormatStyle[] styles = FormatStyle.values();
+        final DateTimeFormatter[] formatters = new DateTimeFormatter[styles.length];
+        for (FormatStyle style : styles) {
+            formatters[style.ordinal()] = (includeDate
+                    ? DateTimeFormatter.ofLocalizedDateTime(style)
+                    : DateTimeFormatter.ofLocalizedTime(style)).withLocale(locale);
+        }
+        return formatters;
+    }
+
+    /**
+     * formats a date for display in the user's locale
+     *
+     * @param date   the date to format
+     * @param locale the locale to format for
+     * @return the string to display
+     */
+    public static String formatLocal(LocalDateTime date, Locale locale) {
+        return getDateTimeFormatter(locale, FormatStyle.SHORT).format(date);
+    }
+
+    /**
+     * converts a local date to the UTC wall-clock time that is stored in the database
+     *
+     * @param date the local date
+     * @return the date in UTC
+     */
+    public static LocalDateTime toUTC(LocalDateTime date) {
+        return date.atZone(systemZone).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+
+    /**
+     * formats a local date in UTC for sql queries
+     *
+     * @param date the date to format
+     * @return the string for the sql query
+     */
+    public static String formatSQL(LocalDateTime date) {
+        return sqlFormatter.format(date.atZone(systemZone).withZoneSameInstant(ZoneOffset.UTC));
+    }
+}
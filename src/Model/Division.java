@@ -1,5 +1,7 @@
 package Model;
 
+import java.io.IOException;
+
 public class Division extends Record implements Reportable {
     private final String division;
     private final long countryId;
@@ -29,10 +31,10 @@ public class Division extends Record implements Reportable {
     }
 
     /**
-     * @see Reportable#toReportString()
+     * @see Reportable#appendReport(Appendable)
      */
     @Override
-    public String toReportString() {
-        return String.format("%d\t%s:\n", id, division);
+    public void appendReport(Appendable out) throws IOException {
+        Reportable.appendLong(out, id).append('\t').append(division).append(":\n");
     }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package Model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * the first-level divisions grouped by country. the groups are built and sorted once, so listing the divisions of a
+ * country only costs as much as the number of divisions in it. immutable and safe to share between threads
+ */
+public final class DivisionIndex {
+    private final LongLookup<Division> divisions;
+    private final LongLookup<Country> countries;
+    private final LongLookup<List<Division>> divisionsByCountry;
+    private final List<Country> sortedCountries;
+
+    /**
+     * @param divisions every division by id
+     * @param countries every country by id
+     */
+    public DivisionIndex(LongLookup<Division> divisions, LongLookup<Country> countries) {
+        this.divisions = divisions;
+        this.countries = countries;
+        final LongMap<List<Division>> groups = new LongMap<>(countries.size());
+        for (Division division : divisions.values()) {
+            List<Division> group = groups.get(division.getCountryId());
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(division.getCountryId(), group);
+            }
+            group.add(division);
+        }
+        final List<Country> withDivisions = new ArrayList<>(groups.size());
+        final LongMap<List<Division>> sortedGroups = new LongMap<>(groups.size());
+        for (Country country : countries.values()) {
+            final List<Division> group = groups.get(country.getId());
+            if (group == null) continue;
+            group.sort(Comparator.comparing(Division::getDivision));
+            sortedGroups.put(country.getId(), Collections.unmodifiableList(group));
+            withDivisions.add(country);
+        }
+        withDivisions.sort(Comparator.comparing(Country::getCountry));
+        divisionsByCountry = sortedGroups.snapshot();
+        sortedCountries = Collections.unmodifiableList(withDivisions);
+    }
+
+    /**
+     * @param id a division id
+     * @return the division or null if there isn't one with the id
+     */
+    public Division getDivision(long id) {
+        return divisions.get(id);
+    }
+
+    /**
+     * @param id a country id
+     * @return the country or null if there isn't one with the id
+     */
+    public Country getCountry(long id) {
+        return countries.get(id);
+    }
+
+    /**
+     * @return the countries that have at least one division, sorted by name
+     */
+    public List<Country> getCountries() {
+        return sortedCountries;
+    }
+
+    /**
+     * @param countryId a country id
+     * @return the divisions of the country sorted by name, empty if it has none
+     */
+    public List<Division> getDivisions(long countryId) {
+        final List<Division> group = divisionsByCountry.get(countryId);
+        return group != null ? group : Collections.emptyList();
+    }
+}
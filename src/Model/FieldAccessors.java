@@ -0,0 +1,247 @@
+package Model;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * compiled getters and setters for the instance fields declared by a record class. the fields are only introspected
+ * once per class, after that every access is a direct method handle call without any reflection or boxing
+ */
+public final class FieldAccessors {
+    private static final ClassValue<FieldAccessors> cache = new ClassValue<>() {
+        @Override
+        protected FieldAccessors computeValue(Class<?> type) {
+            return new FieldAccessors(type);
+        }
+    };
+    private static final MethodType objectGetterType = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType stringGetterType = MethodType.methodType(String.class, Object.class);
+    private static final MethodType longGetterType = MethodType.methodType(long.class, Object.class);
+    private static final MethodType stringSetterType = MethodType.methodType(void.class, Object.class, String.class);
+    private static final MethodType copierType = MethodType.methodType(void.class, Object.class, Object.class);
+    private final String[] names;
+    private final Kind[] kinds;
+    private final MethodHandle[] getters;
+    private final MethodHandle[] stringSetters;
+    private final MethodHandle[] copiers;
+
+    private FieldAccessors(Class<?> type) {
+        final List<Field> fields = new ArrayList<>();
+        for (Field declaredField : type.getDeclaredFields()) {
+            // transient fields hold derived values, like cached display strings, rather than record data
+            final int modifiers = declaredField.getModifiers();
+            if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) fields.add(declaredField);
+        }
+        names = new String[fields.size()];
+        kinds = new Kind[fields.size()];
+        getters = new MethodHandle[fields.size()];
+        stringSetters = new MethodHandle[fields.size()];
+        copiers = new MethodHandle[fields.size()];
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            for (int i = 0; i < fields.size(); i++) {
+                final Field field = fields.get(i);
+                final VarHandle handle = lookup.unreflectVarHandle(field);
+                final MethodHandle getter = handle.toMethodHandle(VarHandle.AccessMode.GET);
+                names[i] = field.getName();
+                kinds[i] = Kind.of(field.getType());
+                switch (kinds[i]) {
+                    case STRING:
+                        getters[i] = getter.asType(stringGetterType);
+                        break;
+                    case LONG:
+                        getters[i] = getter.asType(longGetterType);
+                        break;
+                    default:
+                        getters[i] = getter.asType(objectGetterType);
+                }
+                if (!Modifier.isFinal(field.getModifiers())) {
+                    final MethodHandle setter = handle.toMethodHandle(VarHandle.AccessMode.SET);
+                    // copier(to, from) is setter(to, getter(from)) so primitive fields are never boxed
+                    copiers[i] = MethodHandles.filterArguments(setter, 1, getter).asType(copierType);
+                    if (kinds[i] == Kind.STRING) stringSetters[i] = setter.asType(stringSetterType);
+                }
+            }
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * @param type a record class
+     * @return the cached accessors for the class
+     */
+    public static FieldAccessors of(Class<?> type) {
+        return cache.get(type);
+    }
+
+    /**
+     * @return the number of instance fields declared by the class
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * @param index the index of the field
+     * @return the name of the field
+     */
+    public String getName(int index) {
+        return names[index];
+    }
+
+    /**
+     * @param name the name of a field
+     * @return the index of the field or -1 if the class doesn't declare it
+     */
+    public int indexOf(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @param index the index of the field
+     * @return the kind of value the field holds
+     */
+    public Kind getKind(int index) {
+        return kinds[index];
+    }
+
+    /**
+     * @param index the index of the field
+     * @return whether the field can be written to
+     */
+    public boolean isWritable(int index) {
+        return copiers[index] != null;
+    }
+
+    /**
+     * @param index  the index of a String field
+     * @param target the instance to read from
+     * @return the value of the field
+     */
+    public String getString(int index, Object target) {
+        try {
+            return (String) getters[index].invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * @param index  the index of a non-final String field
+     * @param target the instance to write to
+     * @param value  the new value of the field
+     */
+    public void setString(int index, Object target, String value) {
+        try {
+            stringSetters[index].invokeExact(target, value);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * @param index  the index of a long field
+     * @param target the instance to read from
+     * @return the value of the field
+     */
+    public long getLong(int index, Object target) {
+        try {
+            return (long) getters[index].invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * @param index  the index of a field that is neither a String nor a long, e.g. a date
+     * @param target the instance to read from
+     * @return the value of the field
+     */
+    public Object getObject(int index, Object target) {
+        try {
+            return (Object) getters[index].invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * copies every writable field from one instance of the class to another
+     *
+     * @param from the instance to copy from
+     * @param to   the instance to copy to
+     */
+    public void copy(Object from, Object to) {
+        try {
+            for (MethodHandle copier : copiers) {
+                if (copier != null) copier.invokeExact(to, from);
+            }
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * @param first  an instance of the class
+     * @param second another instance of the class
+     * @return whether every field holds the same value in both instances
+     */
+    public boolean sameValues(Object first, Object second) {
+        try {
+            for (int i = 0; i < getters.length; i++) {
+                switch (kinds[i]) {
+                    case STRING:
+                        if (!Objects.equals((String) getters[i].invokeExact(first), (String) getters[i].invokeExact(second))) {
+                            return false;
+                        }
+                        break;
+                    case LONG:
+                        if ((long) getters[i].invokeExact(first) != (long) getters[i].invokeExact(second)) return false;
+                        break;
+                    default:
+                        if (!Objects.equals((Object) getters[i].invokeExact(first), (Object) getters[i].invokeExact(second))) {
+                            return false;
+                        }
+                }
+            }
+            return true;
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) return (RuntimeException) t;
+        if (t instanceof Error) throw (Error) t;
+        return new IllegalStateException(t);
+    }
+
+    /**
+     * the kinds of fields that records hold
+     */
+    public enum Kind {
+        STRING,
+        LONG,
+        DATE_TIME,
+        OTHER;
+
+        private static Kind of(Class<?> type) {
+            if (type == String.class) return STRING;
+            if (type == long.class) return LONG;
+            if (type == LocalDateTime.class) return DATE_TIME;
+            return OTHER;
+        }
+    }
+}
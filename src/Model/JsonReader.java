@@ -0,0 +1,163 @@
+package Model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * parses the flat JSON objects that are sent to create or update a record. members may be strings, numbers, booleans
+ * or null, nested objects and arrays aren't needed by any record and are rejected
+ */
+public final class JsonReader {
+    private final String json;
+    private int position = 0;
+
+    private JsonReader(String json) {
+        this.json = json;
+    }
+
+    /**
+     * @param json the text of a JSON object
+     * @return the members of the object, in order. numbers are Long when they are whole, else Double
+     * @throws IllegalArgumentException if the text isn't a flat JSON object
+     */
+    public static Map<String, Object> parseObject(String json) {
+        final JsonReader reader = new JsonReader(json);
+        final Map<String, Object> members = reader.readObject();
+        reader.skipWhitespace();
+        if (reader.position != json.length()) throw reader.error("unexpected text after the object");
+        return members;
+    }
+
+    private Map<String, Object> readObject() {
+        final Map<String, Object> members = new LinkedHashMap<>();
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+            return members;
+        }
+        while (true) {
+            skipWhitespace();
+            final String name = readString();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            members.put(name, readValue());
+            skipWhitespace();
+            final char next = next();
+            if (next == '}') return members;
+            if (next != ',') throw error("expected , or }");
+        }
+    }
+
+    private Object readValue() {
+        final char c = peek();
+        if (c == '"') return readString();
+        if (c == '-' || (c >= '0' && c <= '9')) return readNumber();
+        if (json.startsWith("true", position)) {
+            position += 4;
+            return Boolean.TRUE;
+        }
+        if (json.startsWith("false", position)) {
+            position += 5;
+            return Boolean.FALSE;
+        }
+        if (json.startsWith("null", position)) {
+            position += 4;
+            return null;
+        }
+        throw error("expected a string, number, boolean or null");
+    }
+
+    private String readString() {
+        expect('"');
+        final StringBuilder value = new StringBuilder();
+        while (true) {
+            final char c = next();
+            if (c == '"') return value.toString();
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            final char escaped = next();
+            switch (escaped) {
+                case '"':
+                case '\\':
+                case '/':
+                    value.append(escaped);
+                    break;
+                case 'b':
+                    value.append('\b');
+                    break;
+                case 'f':
+                    value.append('\f');
+                    break;
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'u':
+                    if (position + 4 > json.length()) throw error("incomplete unicode escape");
+                    try {
+                        value.append((char) Integer.parseInt(json.substring(position, position + 4), 16));
+                    } catch (NumberFormatException ex) {
+                        throw error("invalid unicode escape");
+                    }
+                    position += 4;
+                    break;
+                default:
+                    throw error("invalid escape");
+            }
+        }
+    }
+
+    private Object readNumber() {
+        final int start = position;
+        boolean whole = true;
+        while (position < json.length()) {
+            final char c = json.charAt(position);
+            if (c == '.' || c == 'e' || c == 'E') {
+                whole = false;
+            } else if (!(c == '-' || c == '+' || (c >= '0' && c <= '9'))) {
+                break;
+            }
+            position++;
+        }
+        final String number = json.substring(start, position);
+        try {
+            return whole ? (Object) Long.parseLong(number) : (Object) Double.parseDouble(number);
+        } catch (NumberFormatException ex) {
+            throw error("invalid number " + number);
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+            position++;
+        }
+    }
+
+    private char peek() {
+        if (position >= json.length()) throw error("unexpected end");
+        return json.charAt(position);
+    }
+
+    private char next() {
+        final char c = peek();
+        position++;
+        return c;
+    }
+
+    private void expect(char expected) {
+        if (next() != expected) throw error("expected " + expected);
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + position);
+    }
+}
@@ -0,0 +1,182 @@
+package Model;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+
+/**
+ * writes JSON straight to a Writer as values are added, so a response of any size is never built in memory. commas
+ * are placed by keeping track of whether the current object or array already has a value
+ */
+public final class JsonWriter {
+    private final Writer out;
+    // one entry per open object or array, whether it has a value yet
+    private boolean[] hasValue = new boolean[8];
+    private int depth = 0;
+    private final Appendable stringAppender = new Appendable() {
+        @Override
+        public Appendable append(CharSequence csq) throws IOException {
+            return append(csq, 0, csq.length());
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) throws IOException {
+            for (int i = start; i < end; i++) {
+                escape(csq.charAt(i));
+            }
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) throws IOException {
+            escape(c);
+            return this;
+        }
+    };
+
+    public JsonWriter(Writer out) {
+        this.out = out;
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        separate();
+        out.write('{');
+        push();
+        return this;
+    }
+
+    public JsonWriter endObject() throws IOException {
+        depth--;
+        out.write('}');
+        return this;
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        separate();
+        out.write('[');
+        push();
+        return this;
+    }
+
+    public JsonWriter endArray() throws IOException {
+        depth--;
+        out.write(']');
+        return this;
+    }
+
+    /**
+     * writes the name of the next member of an object, its value has to follow
+     *
+     * @param name the name of the member
+     * @return this
+     * @throws IOException any exception while writing
+     */
+    public JsonWriter name(String name) throws IOException {
+        separate();
+        quote(name);
+        out.write(':');
+        // the value that follows belongs to this name and mustn't be preceded by a comma
+        hasValue[depth - 1] = false;
+        return this;
+    }
+
+    public JsonWriter value(String value) throws IOException {
+        separate();
+        if (value == null) {
+            out.write("null");
+        } else {
+            quote(value);
+        }
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        separate();
+        out.write(Long.toString(value));
+        return this;
+    }
+
+    public JsonWriter value(LocalDateTime value) throws IOException {
+        return value(value == null ? null : value.toString());
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        separate();
+        out.write("null");
+        return this;
+    }
+
+    /**
+     * starts a string value whose content is appended to the returned Appendable and escaped as it is written, so
+     * long text like a report can be streamed into it. JsonWriter#endString() closes it
+     *
+     * @return where to append the content of the string
+     * @throws IOException any exception while writing
+     */
+    public Appendable beginString() throws IOException {
+        separate();
+        out.write('"');
+        return stringAppender;
+    }
+
+    public JsonWriter endString() throws IOException {
+        out.write('"');
+        return this;
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void push() {
+        if (depth == hasValue.length) {
+            final boolean[] grown = new boolean[depth * 2];
+            System.arraycopy(hasValue, 0, grown, 0, depth);
+            hasValue = grown;
+        }
+        hasValue[depth++] = false;
+    }
+
+    /**
+     * writes a comma when the current object or array already has a value
+     */
+    private void separate() throws IOException {
+        if (depth == 0) return;
+        if (hasValue[depth - 1]) out.write(',');
+        hasValue[depth - 1] = true;
+    }
+
+    private void quote(String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            escape(value.charAt(i));
+        }
+        out.write('"');
+    }
+
+    private void escape(char c) throws IOException {
+        switch (c) {
+            case '"':
+                out.write("\\\"");
+                break;
+            case '\\':
+                out.write("\\\\");
+                break;
+            case '\n':
+                out.write("\\n");
+                break;
+            case '\r':
+                out.write("\\r");
+                break;
+            case '\t':
+                out.write("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    out.write(String.format("\\u%04x", (int) c));
+                } else {
+                    out.write(c);
+                }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package Model;
+
+import java.util.Collection;
+
+/**
+ * read access to a map keyed by primitive longs, so looking up a record by id never boxes the id
+ *
+ * @param <V> the type of the values
+ */
+public interface LongLookup<V> {
+    /**
+     * @param key the key to look up
+     * @return the value for the key or null if there isn't one
+     */
+    V get(long key);
+
+    /**
+     * @param key the key to look up
+     * @return whether the map holds a value for the key
+     */
+    boolean containsKey(long key);
+
+    /**
+     * @return the number of entries in the map
+     */
+    int size();
+
+    /**
+     * @return a read-only view of the values in the map
+     */
+    Collection<V> values();
+}
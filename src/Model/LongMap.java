@@ -0,0 +1,309 @@
+package Model;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * an open-addressing hash map from primitive longs to objects. keys are stored in a long[] and probed linearly, so
+ * lookups don't box the key or allocate. not thread-safe, use #snapshot() to hand the data to concurrent readers
+ *
+ * @param <V> the type of the values
+ */
+public final class LongMap<V> implements LongLookup<V> {
+    private static final float loadFactor = 0.5f;
+    private long[] keys;
+    private Object[] values;
+    private int size = 0;
+    private boolean hasZeroKey = false;
+    private V zeroValue;
+
+    public LongMap() {
+        this(16);
+    }
+
+    public LongMap(int expectedSize) {
+        final int capacity = tableSizeFor(expectedSize);
+        keys = new long[capacity];
+        values = new Object[capacity];
+    }
+
+    /**
+     * @see LongLookup#get(long)
+     */
+    @Override
+    public V get(long key) {
+        if (key == 0) return zeroValue;
+        final int index = find(keys, key);
+        return index < 0 ? null : value(values, index);
+    }
+
+    /**
+     * @see LongLookup#containsKey(long)
+     */
+    @Override
+    public boolean containsKey(long key) {
+        return key == 0 ? hasZeroKey : find(keys, key) >= 0;
+    }
+
+    /**
+     * @see LongLookup#size()
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param key   the key
+     * @param value the value for the key
+     * @return the previous value for the key or null if there wasn't one
+     */
+    public V put(long key, V value) {
+        if (key == 0) {
+            final V previous = zeroValue;
+            if (!hasZeroKey) size++;
+            hasZeroKey = true;
+            zeroValue = value;
+            return previous;
+        }
+        int index = find(keys, key);
+        if (index >= 0) {
+            final V previous = value(values, index);
+            values[index] = value;
+            return previous;
+        }
+        if (size + 1 > keys.length * loadFactor) {
+            resize(keys.length * 2);
+            index = find(keys, key);
+        }
+        index = -index - 1;
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        return null;
+    }
+
+    /**
+     * @param key the key to remove
+     * @return the value that was removed or null if there wasn't one
+     */
+    public V remove(long key) {
+        if (key == 0) {
+            final V previous = zeroValue;
+            if (hasZeroKey) size--;
+            hasZeroKey = false;
+            zeroValue = null;
+            return previous;
+        }
+        int index = find(keys, key);
+        if (index < 0) return null;
+        final V previous = value(values, index);
+        size--;
+        // shift the following entries of the probe sequence back so lookups don't stop at the gap
+        final int mask = keys.length - 1;
+        int next = (index + 1) & mask;
+        while (keys[next] != 0) {
+            final int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - index) & mask)) {
+                keys[index] = keys[next];
+                values[index] = values[next];
+                index = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[index] = 0;
+        values[index] = null;
+        return previous;
+    }
+
+    /**
+     * removes every entry
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        hasZeroKey = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    /**
+     * @see LongLookup#values()
+     */
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new ValueCollection<>(keys, values, hasZeroKey, zeroValue, size).iterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * @return an immutable copy of the map that can be shared with concurrent readers
+     */
+    public LongLookup<V> snapshot() {
+        return new Snapshot<>(Arrays.copyOf(keys, keys.length),
+                Arrays.copyOf(values, values.length),
+                hasZeroKey,
+                zeroValue,
+                size);
+    }
+
+    private void resize(int capacity) {
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+        keys = new long[capacity];
+        values = new Object[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                final int index = -find(keys, oldKeys[i]) - 1;
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * @param keys the key table
+     * @param key  a non-zero key
+     * @return the slot holding the key, or -(slot + 1) for the empty slot where it would be inserted
+     */
+    private static int find(long[] keys, long key) {
+        final int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (true) {
+            final long candidate = keys[index];
+            if (candidate == key) return index;
+            if (candidate == 0) return -index - 1;
+            index = (index + 1) & mask;
+        }
+    }
+
+    private static int hash(long key) {
+        final long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    /**
+     * the values are kept in an Object[] since a V[] can't be created, this is the one place they are cast back
+     *
+     * @param values the value table
+     * @param index  the slot
+     * @param <V>    the type of the values
+     * @return the value in the slot
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> V value(Object[] values, int index) {
+        return (V) values[index];
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        final int minimum = (int) Math.ceil(Math.max(expectedSize, 1) / loadFactor);
+        return Math.max(4, Integer.highestOneBit(minimum - 1) << 1);
+    }
+
+    /**
+     * an immutable copy of a LongMap. every field is final so the copy is safely published to other threads
+     */
+    private static final class Snapshot<V> implements LongLookup<V> {
+        private final long[] keys;
+        private final Object[] values;
+        private final boolean hasZeroKey;
+        private final V zeroValue;
+        private final int size;
+
+        private Snapshot(long[] keys, Object[] values, boolean hasZeroKey, V zeroValue, int size) {
+            this.keys = keys;
+            this.values = values;
+            this.hasZeroKey = hasZeroKey;
+            this.zeroValue = zeroValue;
+            this.size = size;
+        }
+
+        @Override
+        public V get(long key) {
+            if (key == 0) return zeroValue;
+            final int index = find(keys, key);
+            return index < 0 ? null : value(values, index);
+        }
+
+        @Override
+        public boolean containsKey(long key) {
+            return key == 0 ? hasZeroKey : find(keys, key) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Collection<V> values() {
+            return new ValueCollection<>(keys, values, hasZeroKey, zeroValue, size);
+        }
+    }
+
+    /**
+     * a read-only view over the values of a key table
+     */
+    private static final class ValueCollection<V> extends AbstractCollection<V> {
+        private final long[] keys;
+        private final Object[] values;
+        private final boolean hasZeroKey;
+        private final V zeroValue;
+        private final int size;
+
+        private ValueCollection(long[] keys, Object[] values, boolean hasZeroKey, V zeroValue, int size) {
+            this.keys = keys;
+            this.values = values;
+            this.hasZeroKey = hasZeroKey;
+            this.zeroValue = zeroValue;
+            this.size = size;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new Iterator<>() {
+                private boolean zeroReturned = !hasZeroKey;
+                private int index = advance(0);
+
+                private int advance(int from) {
+                    while (from < keys.length && keys[from] == 0) from++;
+                    return from;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return !zeroReturned || index < keys.length;
+                }
+
+                @Override
+                public V next() {
+                    if (!zeroReturned) {
+                        zeroReturned = true;
+                        return zeroValue;
+                    }
+                    if (index >= keys.length) throw new NoSuchElementException();
+                    final V value = value(values, index);
+                    index = advance(index + 1);
+                    return value;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
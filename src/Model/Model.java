@@ -1,12 +1,20 @@
 package Model;
 
-import java.lang.reflect.Field;
-import java.util.List;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 
 public interface Model<T> {
     T copy();
 
-    List<Object> toValues();
+    /**
+     * binds the values of the record's columns to an insert or update statement
+     *
+     * @param statement the prepared statement that will be executed
+     * @param index     the index of the first parameter to bind
+     * @return the index of the next unbound parameter
+     * @throws SQLException any exception that occurs when setting the arguments
+     */
+    int bindValues(PreparedStatement statement, int index) throws SQLException;
 
     /**
      * copies fields from one instance of the record to this one
@@ -15,14 +23,7 @@ public interface Model<T> {
      * @return this
      */
     default T applyChanges(T other) {
-        for (Field declaredField : getClass().getDeclaredFields()) {
-            declaredField.setAccessible(true);
-            try {
-                declaredField.set(this, declaredField.get(other));
-            } catch (IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        }
+        FieldAccessors.of(getClass()).copy(other, this);
         return (T) this;
     }
 }
@@ -0,0 +1,186 @@
+package Model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * a trie from the words of a key to values, so "smi" finds "John Smith". keys are matched case-insensitively. the trie
+ * is only as deep as the first few characters of a word, entries below that depth are checked against the full key.
+ * a search only walks the part of the trie under the prefix and stops once it has enough matches, so its cost depends
+ * on the number of results and not on the number of values. not thread-safe
+ *
+ * @param <V> the type of the values
+ */
+public final class PrefixIndex<V> {
+    private static final int maxDepth = 6;
+    private final Node<V> root = new Node<>();
+
+    /**
+     * indexes a value under every word of its key
+     *
+     * @param key   the display text of the value
+     * @param value the value
+     */
+    public void add(String key, V value) {
+        if (key == null) return;
+        final String normalized = normalize(key);
+        for (int start = 0; start < normalized.length(); start = nextWord(normalized, start)) {
+            final String word = normalized.substring(start);
+            Node<V> node = root;
+            for (int i = 0; i < Math.min(word.length(), maxDepth); i++) {
+                node = node.getOrAddChild(word.charAt(i));
+            }
+            node.entries.add(new Entry<>(word, value));
+        }
+    }
+
+    /**
+     * lambda1: matches the entry for this value and word
+     * <p>
+     * removes a value that was indexed with #add(String, V)
+     *
+     * @param key   the key the value was added with
+     * @param value the value
+     */
+    public void remove(String key, V value) {
+        if (key == null) return;
+        final String normalized = normalize(key);
+        for (int start = 0; start < normalized.length(); start = nextWord(normalized, start)) {
+            final String word = normalized.substring(start);
+            final int depth = Math.min(word.length(), maxDepth);
+            final List<Node<V>> path = new ArrayList<>(depth + 1);
+            Node<V> node = root;
+            path.add(node);
+            for (int i = 0; i < depth && node != null; i++) {
+                node = node.getChild(word.charAt(i));
+                path.add(node);
+            }
+            if (node == null) continue;
+            // lambda to match the entry for this value and word
+            node.entries.removeIf(entry -> entry.value.equals(value) && entry.key.equals(word));
+            // drop the nodes that no longer lead to any entry so empty branches aren't walked by later searches
+            for (int i = depth; i > 0 && path.get(i).isEmpty(); i--) {
+                path.get(i - 1).removeChild(word.charAt(i - 1));
+            }
+        }
+    }
+
+    /**
+     * lists the values with a word that starts with the prefix. a value matching on more than one word is only listed
+     * once
+     *
+     * @param prefix the text typed so far, an empty prefix matches every value
+     * @param limit  the maximum number of values to return
+     * @return up to limit matching values
+     */
+    public List<V> search(String prefix, int limit) {
+        final String normalized = prefix == null ? "" : normalize(prefix).trim();
+        Node<V> node = root;
+        for (int i = 0; i < Math.min(normalized.length(), maxDepth) && node != null; i++) {
+            node = node.getChild(normalized.charAt(i));
+        }
+        if (node == null || limit <= 0) return Collections.emptyList();
+        final List<V> matches = new ArrayList<>(Math.min(limit, 64));
+        final Set<V> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        collect(node, normalized, limit, matches, seen);
+        return matches;
+    }
+
+    /**
+     * walks a subtree depth first, in character order, until the limit is reached
+     */
+    private static <V> void collect(Node<V> node, String prefix, int limit, List<V> matches, Set<V> seen) {
+        for (Entry<V> entry : node.entries) {
+            if (matches.size() == limit) return;
+            if (entry.key.startsWith(prefix) && seen.add(entry.value)) matches.add(entry.value);
+        }
+        for (int i = 0; i < node.childCount && matches.size() < limit; i++) {
+            collect(node.children[i], prefix, limit, matches, seen);
+        }
+    }
+
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param text  the normalized key
+     * @param start the start of the current word
+     * @return the start of the next word or the length of the text if there isn't one
+     */
+    private static int nextWord(String text, int start) {
+        int i = start;
+        while (i < text.length() && !Character.isWhitespace(text.charAt(i))) i++;
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) i++;
+        return i;
+    }
+
+    private static final class Entry<V> {
+        private final String key;
+        private final V value;
+
+        private Entry(String key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * a trie node. children are kept sorted by character so a search returns matches in alphabetical order
+     */
+    private static final class Node<V> {
+        private final List<Entry<V>> entries = new ArrayList<>(1);
+        private char[] labels = new char[0];
+        private Node<V>[] children = newChildren(0);
+        private int childCount = 0;
+
+        private Node<V> getChild(char label) {
+            final int index = Arrays.binarySearch(labels, 0, childCount, label);
+            return index < 0 ? null : children[index];
+        }
+
+        private Node<V> getOrAddChild(char label) {
+            int index = Arrays.binarySearch(labels, 0, childCount, label);
+            if (index >= 0) return children[index];
+            index = -index - 1;
+            if (childCount == labels.length) {
+                labels = Arrays.copyOf(labels, Math.max(2, childCount * 2));
+                children = Arrays.copyOf(children, labels.length);
+            }
+            System.arraycopy(labels, index, labels, index + 1, childCount - index);
+            System.arraycopy(children, index, children, index + 1, childCount - index);
+            final Node<V> child = new Node<>();
+            labels[index] = label;
+            children[index] = child;
+            childCount++;
+            return child;
+        }
+
+        private void removeChild(char label) {
+            final int index = Arrays.binarySearch(labels, 0, childCount, label);
+            if (index < 0) return;
+            System.arraycopy(labels, index + 1, labels, index, childCount - index - 1);
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            children[--childCount] = null;
+        }
+
+        private boolean isEmpty() {
+            return entries.isEmpty() && childCount == 0;
+        }
+
+        /**
+         * @param length the length of the array
+         * @param <V>    the type of the indexed values
+         * @return a new array for the children of a node
+         */
+        @SuppressWarnings("unchecked")
+        private static <V> Node<V>[] newChildren(int length) {
+            return (Node<V>[]) new Node<?>[length];
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package Model;
 
-import java.lang.reflect.Field;
-import java.time.LocalDateTime;
 import java.util.Locale;
 import java.util.ResourceBundle;
 
@@ -37,29 +35,32 @@ public abstract class Record {
     }
 
     /**
-     * iterates over all declared fields for a record performing validation on longs and strings
+     * iterates over all declared fields for a record performing validation on longs, strings and dates
      *
      * @throws ValidationError the invalid field error
      */
     public void validate() throws ValidationError {
-        for (final Field declaredField : getClass().getDeclaredFields()) {
-            try {
-                declaredField.setAccessible(true);
-                final Object value = declaredField.get(this);
-                if (value instanceof String) {
-                    if (((String) value).length() == 0) {
-                        throw new ValidationError(getEmptyErrorMessage(declaredField.getName()));
+        final FieldAccessors accessors = FieldAccessors.of(getClass());
+        for (int i = 0; i < accessors.size(); i++) {
+            switch (accessors.getKind(i)) {
+                case STRING:
+                    final String value = accessors.getString(i, this);
+                    if (value == null || value.length() == 0) {
+                        throw new ValidationError(getEmptyErrorMessage(accessors.getName(i)));
                     }
-                } else if (value instanceof Long) {
-                    if ((Long) value == 0) {
-                        throw new ValidationError(getEmptyErrorMessage(declaredField.getName()));
+                    break;
+                case LONG:
+                    if (accessors.getLong(i, this) == 0) {
+                        throw new ValidationError(getEmptyErrorMessage(accessors.getName(i)));
                     }
-                } else if (value instanceof LocalDateTime) {
-                } else {
+                    break;
+                case DATE_TIME:
+                    if (accessors.getObject(i, this) == null) {
+                        throw new ValidationError(getEmptyErrorMessage(accessors.getName(i)));
+                    }
+                    break;
+                default:
                     throw new ValidationError("unreachable");
-                }
-            } catch (IllegalAccessException ex) {
-                System.out.println(ex);
             }
         }
 
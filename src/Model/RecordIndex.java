@@ -0,0 +1,99 @@
+package Model;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * records by id together with a prefix index over their display names, for type-ahead pickers that have to stay fast
+ * with a large number of records. the index is maintained record by record, so it never has to be rebuilt. not
+ * thread-safe, an index that is shared between threads must not be changed after it is published
+ *
+ * @param <T> the type of record
+ */
+public final class RecordIndex<T extends Record> implements LongLookup<T> {
+    private final LongMap<T> records;
+    private final LongMap<String> names;
+    private final PrefixIndex<T> prefixes = new PrefixIndex<>();
+
+    public RecordIndex() {
+        records = new LongMap<>();
+        names = new LongMap<>();
+    }
+
+    /**
+     * @param records the records to index
+     */
+    public RecordIndex(Collection<T> records) {
+        this.records = new LongMap<>(records.size());
+        names = new LongMap<>(records.size());
+        for (T record : records) {
+            put(record);
+        }
+    }
+
+    /**
+     * adds a record or re-indexes it after it was changed. the name is read from Record#toString(), which is also what
+     * a ComboBox displays
+     *
+     * @param record the record to index
+     */
+    public void put(T record) {
+        remove(record.getId());
+        final String name = record.toString();
+        records.put(record.getId(), record);
+        names.put(record.getId(), name);
+        prefixes.add(name, record);
+    }
+
+    /**
+     * @param id the id of the record to remove
+     * @return the record that was removed or null if there wasn't one
+     */
+    public T remove(long id) {
+        final T removed = records.remove(id);
+        if (removed != null) prefixes.remove(names.remove(id), removed);
+        return removed;
+    }
+
+    /**
+     * @param prefix the text typed so far
+     * @param limit  the maximum number of records to return
+     * @return up to limit records with a word in their name that starts with the prefix
+     * @see PrefixIndex#search(String, int)
+     */
+    public List<T> search(String prefix, int limit) {
+        return prefixes.search(prefix, limit);
+    }
+
+    /**
+     * @see LongLookup#get(long)
+     */
+    @Override
+    public T get(long key) {
+        return records.get(key);
+    }
+
+    /**
+     * @see LongLookup#containsKey(long)
+     */
+    @Override
+    public boolean containsKey(long key) {
+        return records.containsKey(key);
+    }
+
+    /**
+     * @see LongLookup#size()
+     */
+    @Override
+    public int size() {
+        return records.size();
+    }
+
+    /**
+     * @see LongLookup#values()
+     */
+    @Override
+    public Collection<T> values() {
+        return records.values();
+    }
+}
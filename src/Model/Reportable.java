@@ -1,9 +1,44 @@
 package Model;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 public interface Reportable {
+    /**
+     * writes the report output for the record directly to the given output so large reports don't build a string
+     * per row
+     *
+     * @param out the output to append the report to
+     * @throws IOException any exception thrown by the output
+     */
+    void appendReport(Appendable out) throws IOException;
+
     /**
      * @return a string that can be displayed in the report
      */
-    String toReportString();
-}
+    default String toReportString() {
+        final StringBuilder output = new StringBuilder();
+        try {
+            appendReport(output);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return output.toString();
+    }
 
+    /**
+     * appends a long without creating an intermediate string when the output is a StringBuilder
+     *
+     * @param out   the output to append to
+     * @param value the value to append
+     * @return the output
+     * @throws IOException any exception thrown by the output
+     */
+    static Appendable appendLong(Appendable out, long value) throws IOException {
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(value);
+            return out;
+        }
+        return out.append(Long.toString(value));
+    }
+}
@@ -0,0 +1,19 @@
+package Model;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * binds one row of a batch to a prepared statement with the typed JDBC setters
+ *
+ * @param <T> the type of the rows
+ */
+@FunctionalInterface
+public interface RowBinder<T> {
+    /**
+     * @param statement the prepared statement the row is added to
+     * @param row       the row to bind
+     * @throws SQLException any exception that occurs when setting the arguments
+     */
+    void bind(PreparedStatement statement, T row) throws SQLException;
+}
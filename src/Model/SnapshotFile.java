@@ -0,0 +1,333 @@
+package Model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * a compact binary copy of the customers, appointments and reference data, read through a memory map so a launch can
+ * show the last known data without waiting for the database. the file starts with a magic number and a format version
+ * and ends with a CRC32 of everything before it, a file that doesn't match is ignored. strings are stored as their
+ * UTF-8 length and bytes, dates as UTC epoch seconds and nanos
+ */
+public final class SnapshotFile {
+    private static final int magic = 0x43313935;
+    private static final int formatVersion = 1;
+    private static final byte customersSection = 1;
+    private static final byte appointmentsSection = 2;
+    private static final byte contactsSection = 3;
+    private static final byte usersSection = 4;
+    private static final byte divisionsSection = 5;
+    private static final byte countriesSection = 6;
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * writes the contents to a temporary file and moves it over the snapshot, so a crash never leaves half a file
+     *
+     * @param path     the snapshot file
+     * @param contents what to save, sections that are null are left out
+     * @throws IOException any exception while writing the file
+     */
+    public static void write(Path path, Contents contents) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        final Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        final CRC32 crc = new CRC32();
+        try (OutputStream file = Files.newOutputStream(temporary)) {
+            final DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new CheckedOutputStream(file, crc), 1 << 16));
+            out.writeInt(magic);
+            out.writeInt(formatVersion);
+            int sections = 0;
+            for (Object section : new Object[]{contents.customers, contents.appointments, contents.contacts,
+                    contents.users, contents.divisions, contents.countries}) {
+                if (section != null) sections++;
+            }
+            out.writeInt(sections);
+            if (contents.customers != null) {
+                startSection(out, customersSection, contents.customersWatermark, contents.customers);
+                for (Customer customer : contents.customers) {
+                    out.writeLong(customer.getId());
+                    writeString(out, customer.getName());
+                    writeString(out, customer.getAddress());
+                    writeString(out, customer.getPostalCode());
+                    writeString(out, customer.getPhone());
+                    out.writeLong(customer.getDivisionId());
+                }
+            }
+            if (contents.appointments != null) {
+                startSection(out, appointmentsSection, contents.appointmentsWatermark, contents.appointments);
+                for (Appointment appointment : contents.appointments) {
+                    out.writeLong(appointment.getId());
+                    writeString(out, appointment.getTitle());
+                    writeString(out, appointment.getDescription());
+                    writeString(out, appointment.getLocation());
+                    writeString(out, appointment.getType());
+                    writeDateTime(out, appointment.getStart());
+                    writeDateTime(out, appointment.getEnd());
+                    out.writeLong(appointment.getCustomerId());
+                    out.writeLong(appointment.getUserId());
+                    out.writeLong(appointment.getContactId());
+                }
+            }
+            if (contents.contacts != null) {
+                startSection(out, contactsSection, 0, contents.contacts);
+                for (Contact contact : contents.contacts) {
+                    out.writeLong(contact.getId());
+                    writeString(out, contact.getName());
+                    writeString(out, contact.getEmail());
+                }
+            }
+            if (contents.users != null) {
+                startSection(out, usersSection, 0, contents.users);
+                for (User user : contents.users) {
+                    out.writeLong(user.getId());
+                    writeString(out, user.getName());
+                }
+            }
+            if (contents.divisions != null) {
+                startSection(out, divisionsSection, 0, contents.divisions);
+                for (Division division : contents.divisions) {
+                    out.writeLong(division.getId());
+                    writeString(out, division.getDivision());
+                    out.writeLong(division.getCountryId());
+                }
+            }
+            if (contents.countries != null) {
+                startSection(out, countriesSection, 0, contents.countries);
+                for (Country country : contents.countries) {
+                    out.writeLong(country.getId());
+                    writeString(out, country.getCountry());
+                }
+            }
+            out.flush();
+            // the checksum covers everything written so far, it is written to the file directly so it isn't included
+            new DataOutputStream(file).writeLong(crc.getValue());
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * maps the file and decodes it
+     *
+     * @param path the snapshot file
+     * @return the contents, or null if there is no file or it is damaged or from another version
+     * @throws IOException any exception while reading the file
+     */
+    public static Contents read(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) return null;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < 20 || size > Integer.MAX_VALUE) return null;
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            final CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().limit((int) size - 8));
+            if (buffer.getLong((int) size - 8) != crc.getValue()) return null;
+            if (buffer.getInt() != magic || buffer.getInt() != formatVersion) return null;
+            final Contents contents = new Contents();
+            final int sections = buffer.getInt();
+            for (int section = 0; section < sections; section++) {
+                final byte type = buffer.get();
+                final long watermark = buffer.getLong();
+                final int count = buffer.getInt();
+                switch (type) {
+                    case customersSection:
+                        contents.customersWatermark = watermark;
+                        contents.customers = readCustomers(buffer, count);
+                        break;
+                    case appointmentsSection:
+                        contents.appointmentsWatermark = watermark;
+                        contents.appointments = readAppointments(buffer, count);
+                        break;
+                    case contactsSection:
+                        final List<Contact> contacts = new ArrayList<>(count);
+                        for (int i = 0; i < count; i++) {
+                            contacts.add(new Contact(buffer.getLong(), readString(buffer), readString(buffer)));
+                        }
+                        contents.contacts = contacts;
+                        break;
+                    case usersSection:
+                        final List<User> users = new ArrayList<>(count);
+                        for (int i = 0; i < count; i++) {
+                            users.add(new User(buffer.getLong(), readString(buffer)));
+                        }
+                        contents.users = users;
+                        break;
+                    case divisionsSection:
+                        final List<Division> divisions = new ArrayList<>(count);
+                        for (int i = 0; i < count; i++) {
+                            divisions.add(new Division(buffer.getLong(), readString(buffer), buffer.getLong()));
+                        }
+                        contents.divisions = divisions;
+                        break;
+                    case countriesSection:
+                        final List<Country> countries = new ArrayList<>(count);
+                        for (int i = 0; i < count; i++) {
+                            countries.add(new Country((int) buffer.getLong(), readString(buffer)));
+                        }
+                        contents.countries = countries;
+                        break;
+                    default:
+                        return null;
+                }
+            }
+            return contents;
+        }
+    }
+
+    private static List<Customer> readCustomers(ByteBuffer buffer, int count) {
+        final List<Customer> customers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            customers.add(new Customer(buffer.getLong(),
+                    readString(buffer),
+                    readString(buffer),
+                    readString(buffer),
+                    readString(buffer),
+                    buffer.getLong()));
+        }
+        return customers;
+    }
+
+    private static List<Appointment> readAppointments(ByteBuffer buffer, int count) {
+        final List<Appointment> appointments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            appointments.add(new Appointment(buffer.getLong(),
+                    readString(buffer),
+                    readString(buffer),
+                    StringDictionary.locations.intern(readString(buffer)),
+                    StringDictionary.types.intern(readString(buffer)),
+                    readDateTime(buffer),
+                    readDateTime(buffer),
+                    buffer.getLong(),
+                    buffer.getLong(),
+                    buffer.getLong()));
+        }
+        return appointments;
+    }
+
+    private static void startSection(DataOutputStream out, byte type, long watermark, Collection<?> records)
+            throws IOException {
+        out.writeByte(type);
+        out.writeLong(watermark);
+        out.writeInt(records.size());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if (length < 0) return null;
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value.getNano());
+    }
+
+    private static LocalDateTime readDateTime(ByteBuffer buffer) {
+        return LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+    }
+
+    /**
+     * the data in a snapshot. the watermarks are the server times, in epoch milliseconds, that the customers and
+     * appointments were last in sync with, changes at or after them are fetched when the snapshot is loaded
+     */
+    public static final class Contents {
+        private List<Customer> customers;
+        private long customersWatermark;
+        private List<Appointment> appointments;
+        private long appointmentsWatermark;
+        private List<Contact> contacts;
+        private List<User> users;
+        private List<Division> divisions;
+        private List<Country> countries;
+
+        public List<Customer> getCustomers() {
+            return customers;
+        }
+
+        public long getCustomersWatermark() {
+            return customersWatermark;
+        }
+
+        public void setCustomers(List<Customer> customers, long watermark) {
+            this.customers = Collections.unmodifiableList(customers);
+            customersWatermark = watermark;
+        }
+
+        public List<Appointment> getAppointments() {
+            return appointments;
+        }
+
+        public long getAppointmentsWatermark() {
+            return appointmentsWatermark;
+        }
+
+        public void setAppointments(List<Appointment> appointments, long watermark) {
+            this.appointments = Collections.unmodifiableList(appointments);
+            appointmentsWatermark = watermark;
+        }
+
+        public List<Contact> getContacts() {
+            return contacts;
+        }
+
+        public List<User> getUsers() {
+            return users;
+        }
+
+        public List<Division> getDivisions() {
+            return divisions;
+        }
+
+        public List<Country> getCountries() {
+            return countries;
+        }
+
+        /**
+         * @return whether the reference data is in the snapshot
+         */
+        public boolean hasReferenceData() {
+            return contacts != null && users != null && divisions != null && countries != null;
+        }
+
+        public void setReferenceData(Collection<Contact> contacts,
+                                     Collection<User> users,
+                                     Collection<Division> divisions,
+                                     Collection<Country> countries) {
+            this.contacts = new ArrayList<>(contacts);
+            this.users = new ArrayList<>(users);
+            this.divisions = new ArrayList<>(divisions);
+            this.countries = new ArrayList<>(countries);
+        }
+    }
+}
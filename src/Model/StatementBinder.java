@@ -0,0 +1,17 @@
+package Model;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * binds arguments directly to a prepared statement with the typed JDBC setters so values don't have to be boxed into a
+ * list first
+ */
+@FunctionalInterface
+public interface StatementBinder {
+    /**
+     * @param statement the prepared statement that will be executed
+     * @throws SQLException any exception that occurs when setting the arguments
+     */
+    void bind(PreparedStatement statement) throws SQLException;
+}
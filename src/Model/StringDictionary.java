@@ -0,0 +1,101 @@
+package Model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * assigns a stable integer code to every distinct string so repetitive column values can be stored as ints and every
+ * equal value can share a single String instance. lookups are lock-free, only adding a new value takes a lock
+ */
+public final class StringDictionary {
+    /**
+     * shared by every appointment so equal types share an instance and can be grouped by code
+     */
+    public static final StringDictionary types = new StringDictionary(true);
+    /**
+     * shared by every appointment so equal locations share an instance and can be grouped by code
+     */
+    public static final StringDictionary locations = new StringDictionary(true);
+    private final ConcurrentMap<String, Integer> codes = new ConcurrentHashMap<>();
+    private final PrefixIndex<String> prefixes;
+    private volatile String[] values = new String[16];
+    private int size = 0;
+
+    public StringDictionary() {
+        this(false);
+    }
+
+    /**
+     * @param searchable whether the values are also added to a prefix index for #complete(String, int)
+     */
+    public StringDictionary(boolean searchable) {
+        prefixes = searchable ? new PrefixIndex<>() : null;
+    }
+
+    /**
+     * @param value the string to encode, may be null
+     * @return the code for the string, -1 for null
+     */
+    public int encode(String value) {
+        if (value == null) return -1;
+        final Integer code = codes.get(value);
+        return code != null ? code : add(value);
+    }
+
+    /**
+     * adds a value that wasn't found in the dictionary. the value is published to the values array before its code is
+     * visible in the map, so any code a reader finds can be decoded
+     *
+     * @param value the string to add
+     * @return the code for the string
+     */
+    private synchronized int add(String value) {
+        final Integer existing = codes.get(value);
+        if (existing != null) return existing;
+        String[] current = values;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = value;
+        values = current;
+        codes.put(value, size);
+        if (prefixes != null) prefixes.add(value, value);
+        return size++;
+    }
+
+    /**
+     * @param code a code returned by #encode(String)
+     * @return the string for the code
+     */
+    public String decode(int code) {
+        return code == -1 ? null : values[code];
+    }
+
+    /**
+     * @param value a string, may be null
+     * @return the single shared instance equal to the string
+     */
+    public String intern(String value) {
+        return decode(encode(value));
+    }
+
+    /**
+     * suggests values for a free text field
+     *
+     * @param prefix the text typed so far
+     * @param limit  the maximum number of values to return
+     * @return up to limit values with a word that starts with the prefix, none if the dictionary isn't searchable
+     */
+    public synchronized List<String> complete(String prefix, int limit) {
+        return prefixes == null ? List.of() : prefixes.search(prefix, limit);
+    }
+
+    /**
+     * @return the number of distinct strings
+     */
+    public synchronized int size() {
+        return size;
+    }
+}
@@ -1,5 +1,9 @@
 package Model;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
 final public class User extends Record {
     final private String name;
 
@@ -12,6 +16,23 @@ final public class User extends Record {
         return name;
     }
 
+    /**
+     * hashes a password into the form stored in the users table, which Login compares against. obviously horribly
+     * unsafe but better than storing passwords in the clear
+     *
+     * @param password the password in the clear
+     * @return the Base64 encoded SHA-512 hash of the password
+     */
+    public static String hashPassword(String password) {
+        try {
+            final byte[] messageDigest = MessageDigest.getInstance("SHA-512").digest(password.getBytes());
+            return Base64.getEncoder().encodeToString(messageDigest);
+        } catch (NoSuchAlgorithmException e) {
+            System.out.println(e);
+            throw new RuntimeException(e);
+        }
+    }
+
     /**
      * overrides built-in toString() for display in a ComboBox
      *
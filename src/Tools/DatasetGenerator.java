@@ -0,0 +1,377 @@
+package Tools;
+
+import Controllers.Base;
+import Model.Appointment;
+import Model.Customer;
+import Model.User;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * fills the database with a synthetic dataset at production scale. the same seed and counts always produce the same
+ * rows, so measurements taken on different machines or days compare. it replaces every user, contact, customer and
+ * appointment and keeps the countries and divisions, and it connects like the app does, so -Ddatabase picks the
+ * database:
+ * <pre>
+ * java -cp out:$JDBC_DRIVER -Ddatabase=embedded Tools.DatasetGenerator --replace appointments=5000000
+ * </pre>
+ * appointments pass the rules of Appointment#customValidate() and AppointmentTable#canUpdate(Appointment): they start
+ * and end on the same day between 8:00 and 22:00, and every customer's appointments follow each other with at least a
+ * 15 minute gap, so none overlap. types and locations follow a Zipf distribution, a few values cover most rows like
+ * in real data. every user's password is their name, stored hashed like Login expects, so the first two users are
+ * the test and admin logins of the sample data
+ */
+public final class DatasetGenerator extends Base {
+    private static final String creator = "generator";
+    private static final String[] types = {"Planning Session", "De-Briefing", "Follow Up", "Consultation", "Review",
+            "Onboarding", "Training", "Escalation"};
+    private static final String[] locations = {"Phoenix, Arizona", "White Plains, New York", "Montreal, Canada",
+            "London, England", "Toronto, Ontario", "Austin, Texas", "Seattle, Washington", "Edinburgh, Scotland",
+            "Denver, Colorado", "Cardiff, Wales", "Vancouver, British Columbia", "Chicago, Illinois", "Boston, Massachusetts",
+            "Belfast, Northern Ireland", "Calgary, Alberta", "Online"};
+    private static final String[] firstNames = {"Anika", "Daniel", "Li", "Maria", "James", "Priya", "Omar", "Sofia",
+            "Chen", "Fatima", "Lucas", "Aisha", "Noah", "Elena", "Kenji", "Grace", "Mateo", "Zara", "Ivan", "Nora"};
+    private static final String[] lastNames = {"Costa", "Garcia", "Lee", "Smith", "Patel", "Nguyen", "Khan", "Rossi",
+            "Schmidt", "Okafor", "Dubois", "Kowalski", "Silva", "Tanaka", "Brown", "Hassan", "Larsen", "Murphy", "Cohen",
+            "Ivanova"};
+    private static final String[] streets = {"Main Street", "Oak Avenue", "Maple Drive", "High Street", "King Road",
+            "Park Lane", "Cedar Court", "Lake Boulevard", "Church Street", "Mill Road"};
+    /**
+     * appointment lengths in minutes and how often each occurs
+     */
+    private static final int[] durations = {15, 30, 45, 60, 90};
+    private static final double[] durationWeights = {0.15, 0.40, 0.10, 0.30, 0.05};
+    private static final LocalTime opening = LocalTime.of(8, 0);
+    private static final LocalTime closing = LocalTime.of(22, 0);
+    private static final int slotMinutes = 15;
+    private final long seed;
+    private final int customersPerDivision;
+    private final int contacts;
+    private final int users;
+    private final long appointments;
+    private final LocalDate firstDay;
+
+    private DatasetGenerator(Map<String, String> options) {
+        seed = Long.parseLong(options.get("seed"));
+        customersPerDivision = Integer.parseInt(options.get("customersPerDivision"));
+        contacts = Math.max(1, Integer.parseInt(options.get("contacts")));
+        users = Math.max(2, Integer.parseInt(options.get("users")));
+        appointments = Long.parseLong(options.get("appointments"));
+        firstDay = LocalDate.parse(options.get("firstDay"));
+    }
+
+    /**
+     * @param args --replace, to confirm the existing rows may be deleted, followed by any of the name=value options
+     * @throws Exception if the database can't be filled
+     */
+    public static void main(String[] args) throws Exception {
+        final Map<String, String> options = new LinkedHashMap<>();
+        options.put("seed", "195");
+        options.put("customersPerDivision", "100");
+        options.put("contacts", "50");
+        options.put("users", "20");
+        options.put("appointments", "1000000");
+        options.put("firstDay", "2024-01-01");
+        boolean replace = false;
+        for (String arg : args) {
+            final int equals = arg.indexOf('=');
+            if (arg.equals("--replace")) {
+                replace = true;
+            } else if (equals > 0 && options.containsKey(arg.substring(0, equals))) {
+                options.put(arg.substring(0, equals), arg.substring(equals + 1));
+            } else {
+                replace = false;
+                break;
+            }
+        }
+        if (!replace) {
+            System.err.println("usage: DatasetGenerator --replace [name=value ...]");
+            System.err.println("deletes every user, contact, customer and appointment and generates new ones. options:");
+            for (Map.Entry<String, String> option : options.entrySet()) {
+                System.err.println("  " + option.getKey() + " (default " + option.getValue() + ")");
+            }
+            System.exit(2);
+        }
+        new DatasetGenerator(options).generate();
+    }
+
+    /**
+     * lambda1: binds a user
+     * lambda2: binds a contact
+     * lambda3: binds a customer after its id
+     * lambda4: binds an appointment after its id
+     *
+     * @throws SQLException any exception while deleting or inserting the rows
+     */
+    private void generate() throws SQLException {
+        try (Connection connection = openConnection()) {
+            final long[] divisionIds = loadDivisionIds(connection);
+            final int customers = divisionIds.length * customersPerDivision;
+            clear(connection);
+            long start = System.nanoTime();
+            final long userCount = executeBatch(connection, "INSERT INTO users " +
+                            "(User_ID, User_Name, Password, Created_By, Last_Updated_By) VALUES (?, ?, ?, ?, ?)",
+                    range(users),
+                    // lambda to bind a user
+                    (stmt, id) -> {
+                        final String name = id == 1 ? "test" : id == 2 ? "admin" : "user" + id;
+                        stmt.setLong(1, id);
+                        stmt.setString(2, name);
+                        stmt.setString(3, User.hashPassword(name));
+                        stmt.setString(4, creator);
+                        stmt.setString(5, creator);
+                    });
+            start = reportInserted("users", userCount, start);
+            final Random contactRandom = random(1);
+            final long contactCount = executeBatch(connection, "INSERT INTO contacts " +
+                            "(Contact_ID, Contact_Name, Email) VALUES (?, ?, ?)",
+                    range(contacts),
+                    // lambda to bind a contact
+                    (stmt, id) -> {
+                        final String first = pick(contactRandom, firstNames);
+                        final String last = pick(contactRandom, lastNames);
+                        stmt.setLong(1, id);
+                        stmt.setString(2, first + " " + last);
+                        stmt.setString(3, (first.charAt(0) + last).toLowerCase() + id + "@company.com");
+                    });
+            start = reportInserted("contacts", contactCount, start);
+            final long customerCount = executeBatch(connection, "INSERT INTO customers " +
+                            "(Customer_ID, Customer_Name, Address, Postal_Code, Phone, Division_ID, Created_By, " +
+                            "Last_Updated_By) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    new CustomerIterator(divisionIds),
+                    // lambda to bind a customer after its id
+                    (stmt, customer) -> {
+                        stmt.setLong(1, customer.getId());
+                        final int index = customer.bindValues(stmt, 2);
+                        stmt.setString(index, creator);
+                        stmt.setString(index + 1, creator);
+                    });
+            start = reportInserted("customers", customerCount, start);
+            final long appointmentCount = executeBatch(connection, "INSERT INTO appointments " +
+                            "(Appointment_ID, Title, Description, `Location`, `Type`, `Start`, `End`, Customer_ID, " +
+                            "User_ID, Contact_ID, Created_By, Last_Updated_By) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    new AppointmentIterator(customers),
+                    // lambda to bind an appointment after its id
+                    (stmt, appointment) -> {
+                        stmt.setLong(1, appointment.getId());
+                        final int index = appointment.bindValues(stmt, 2);
+                        stmt.setString(index, creator);
+                        stmt.setString(index + 1, creator);
+                    });
+            reportInserted("appointments", appointmentCount, start);
+        }
+    }
+
+    /**
+     * @return the ids of the divisions, in order, customers are spread evenly over them
+     */
+    private long[] loadDivisionIds(Connection connection) throws SQLException {
+        final List<Long> ids = new ArrayList<>();
+        try (
+                PreparedStatement stmt = connection.prepareStatement("SELECT Division_ID FROM first_level_divisions " +
+                        "ORDER BY Division_ID");
+                ResultSet rs = stmt.executeQuery()
+        ) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        if (ids.isEmpty()) throw new SQLException("first_level_divisions is empty, load the schema first");
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * deletes the rows that are generated, children first so no foreign key is violated
+     */
+    private void clear(Connection connection) throws SQLException {
+        for (String table : new String[]{"appointments", "customers", "contacts", "users"}) {
+            try (PreparedStatement stmt = connection.prepareStatement("DELETE FROM " + table)) {
+                System.out.println("deleted " + stmt.executeUpdate() + " " + table);
+            }
+        }
+    }
+
+    private long reportInserted(String table, long count, long start) {
+        final long now = System.nanoTime();
+        System.out.printf("inserted %d %s in %d ms%n", count, table, (now - start) / 1_000_000);
+        return now;
+    }
+
+    /**
+     * every kind of row draws from a generator of its own, so changing one count doesn't change the other rows
+     *
+     * @param stream the kind of row
+     * @return a generator for the rows
+     */
+    private Random random(int stream) {
+        return new Random(seed * 31 + stream);
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * @return the ids 1 to count
+     */
+    private static Iterator<Long> range(long count) {
+        return new Iterator<Long>() {
+            private long next = 1;
+
+            @Override
+            public boolean hasNext() {
+                return next <= count;
+            }
+
+            @Override
+            public Long next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return next++;
+            }
+        };
+    }
+
+    /**
+     * draws indexes with probabilities that fall off like 1 / rank ^ exponent
+     */
+    private static final class Zipf {
+        private final double[] cumulative;
+
+        private Zipf(int size, double exponent) {
+            final double[] weights = new double[size];
+            for (int i = 0; i < size; i++) {
+                weights[i] = 1 / Math.pow(i + 1, exponent);
+            }
+            cumulative = cumulative(weights);
+        }
+
+        private int next(Random random) {
+            return draw(cumulative, random);
+        }
+    }
+
+    private static double[] cumulative(double[] weights) {
+        final double[] cumulative = new double[weights.length];
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i] / total;
+            cumulative[i] = sum;
+        }
+        cumulative[weights.length - 1] = 1;
+        return cumulative;
+    }
+
+    private static int draw(double[] cumulative, Random random) {
+        final int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * the customers of every division in turn
+     */
+    private final class CustomerIterator implements Iterator<Customer> {
+        private final long[] divisionIds;
+        private final Random random = random(2);
+        private long next = 0;
+
+        private CustomerIterator(long[] divisionIds) {
+            this.divisionIds = divisionIds;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < (long) divisionIds.length * customersPerDivision;
+        }
+
+        @Override
+        public Customer next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            final Customer customer = new Customer(next + 1,
+                    pick(random, firstNames) + " " + pick(random, lastNames),
+                    (1 + random.nextInt(9999)) + " " + pick(random, streets),
+                    String.format("%05d", random.nextInt(100000)),
+                    String.format("%03d-%03d-%04d", 200 + random.nextInt(800), random.nextInt(1000), random.nextInt(10000)),
+                    divisionIds[(int) (next / customersPerDivision)]);
+            next++;
+            return customer;
+        }
+    }
+
+    /**
+     * the appointments of every customer in turn. each customer's appointments are laid out on a timeline of their
+     * own: after a gap of 15 minutes to two hours the next one starts, and one that would run past closing moves to the
+     * next morning. a single Appointment is reused as the row buffer, each row is bound before the next one is generated
+     */
+    private final class AppointmentIterator implements Iterator<Appointment> {
+        private final int customers;
+        private final Random random = random(3);
+        private final Zipf typeDistribution = new Zipf(types.length, 1.2);
+        private final Zipf locationDistribution = new Zipf(locations.length, 1.0);
+        private final double[] durationDistribution = cumulative(durationWeights);
+        private final Appointment appointment = new Appointment(0, null, null, null, null, null, null, 0, 0, 0);
+        private long next = 0;
+        private int customer = 0;
+        private long remaining = 0;
+        private LocalDateTime cursor;
+
+        private AppointmentIterator(int customers) {
+            this.customers = customers;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < appointments && customers > 0;
+        }
+
+        @Override
+        public Appointment next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            while (remaining == 0) {
+                customer++;
+                // spreads the appointments evenly, the first customers take one more each when they don't divide
+                remaining = appointments / customers + (customer <= appointments % customers ? 1 : 0);
+                cursor = firstDay.atTime(opening).plusMinutes((long) slotMinutes * random.nextInt(8));
+            }
+            final int duration = durations[draw(durationDistribution, random)];
+            LocalDateTime start = cursor.plusMinutes((long) slotMinutes * (1 + random.nextInt(8)));
+            if (start.plusMinutes(duration).isAfter(cursor.toLocalDate().atTime(closing))) {
+                start = cursor.toLocalDate().plusDays(1).atTime(opening)
+                        .plusMinutes((long) slotMinutes * random.nextInt(4));
+            }
+            final LocalDateTime end = start.plusMinutes(duration);
+            cursor = end;
+            remaining--;
+            next++;
+            final String type = types[typeDistribution.next(random)];
+            appointment.setId(next);
+            appointment.setTitle(type + " " + next);
+            appointment.setDescription("Generated " + type.toLowerCase() + " for customer " + customer);
+            appointment.setLocation(locations[locationDistribution.next(random)]);
+            appointment.setType(type);
+            appointment.setStart(start);
+            appointment.setEnd(end);
+            appointment.setCustomerId(customer);
+            appointment.setUserId(1 + random.nextInt(users));
+            appointment.setContactId(1 + random.nextInt(contacts));
+            return appointment;
+        }
+    }
+}
@@ -0,0 +1,424 @@
+package Tools;
+
+import javafx.beans.DefaultProperty;
+import javafx.beans.NamedArg;
+import javafx.event.EventHandler;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.ProcessingInstruction;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.File;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * compiles the FXML views into Java classes that build the same scene graph with plain constructor and setter calls,
+ * so the views don't have to be parsed and reflected over at runtime. it is a build step, run before the application
+ * is compiled and with JavaFX on the classpath. build-views.xml runs it, and IntelliJ runs that before every build:
+ * <pre>
+ * java -cp out:$JAVAFX_LIB/* Tools.FxmlCompiler src/View /Views gen
+ * </pre>
+ * the classes are written to the gen source folder, e.g. gen/Views/LoginView.java for /Views/Login.fxml, and found by
+ * Controllers.ViewLoader. a view without a generated class is still loaded with FXMLLoader
+ */
+public final class FxmlCompiler {
+    private static final String fxNamespace = "http://javafx.com/fxml/1";
+    private final String packageName;
+    private final String resourcePath;
+    private final Map<String, String> classImports = new HashMap<>();
+    private final List<String> packageImports = new ArrayList<>();
+    private final Map<String, Class<?>> resolved = new HashMap<>();
+    private final StringBuilder body = new StringBuilder();
+    private int nodeCount = 0;
+
+    private FxmlCompiler(String packageName, String resourcePath) {
+        this.packageName = packageName;
+        this.resourcePath = resourcePath;
+        packageImports.add("java.lang");
+    }
+
+    /**
+     * @param args the directory with the FXML files, the resource path the views are loaded from and the output
+     *             source directory
+     * @throws Exception if a view can't be compiled
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 3) {
+            System.err.println("usage: FxmlCompiler <fxml directory> <resource path> <output directory>");
+            System.exit(2);
+        }
+        final Path sourceDirectory = Paths.get(args[0]);
+        final String resourcePath = args[1].replaceAll("/+$", "");
+        final String packageName = resourcePath.replaceAll("^/+", "").replace('/', '.');
+        final Path packageDirectory = Paths.get(args[2]).resolve(packageName.replace('.', File.separatorChar));
+        Files.createDirectories(packageDirectory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(sourceDirectory, "*.fxml")) {
+            for (Path file : files) {
+                final String className = file.getFileName().toString().replaceAll("\\.fxml$", "") + "View";
+                final String source = new FxmlCompiler(packageName, resourcePath).compile(file, className);
+                Files.writeString(packageDirectory.resolve(className + ".java"), source);
+                System.out.println("generated " + packageName + "." + className);
+            }
+        }
+    }
+
+    /**
+     * @param file      the FXML file
+     * @param className the name of the class to generate
+     * @return the source of the builder class
+     * @throws Exception if the file can't be parsed or uses something the compiler doesn't support
+     */
+    private String compile(Path file, String className) throws Exception {
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        final Document document = factory.newDocumentBuilder().parse(file.toFile());
+        for (Node node = document.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof ProcessingInstruction && ((ProcessingInstruction) node).getTarget().equals("import")) {
+                addImport(((ProcessingInstruction) node).getData().trim());
+            }
+        }
+        final Element root = document.getDocumentElement();
+        final String controllerClass = root.getAttributeNS(fxNamespace, "controller");
+        final String rootNode = element(root);
+
+        final StringBuilder source = new StringBuilder();
+        source.append("package ").append(packageName).append(";\n\n")
+                .append("/**\n")
+                .append(" * generated from ").append(file.getFileName()).append(" by Tools.FxmlCompiler, do not edit\n")
+                .append(" */\n")
+                .append("public final class ").append(className).append(" implements Controllers.ViewBuilder {\n")
+                .append("    @Override\n")
+                .append("    public Object createController() {\n")
+                .append("        return ").append(controllerClass.isEmpty() ? "null" : "new " + controllerClass + "()")
+                .append(";\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    @SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("    public javafx.scene.Parent build(Object controller, java.util.ResourceBundle resources) ")
+                .append("throws Exception {\n")
+                .append(body)
+                .append("        return ").append(rootNode).append(";\n")
+                .append("    }\n")
+                .append("}\n");
+        return source.toString();
+    }
+
+    private void addImport(String name) {
+        if (name.endsWith(".*")) {
+            packageImports.add(name.substring(0, name.length() - 2));
+        } else {
+            classImports.put(name.substring(name.lastIndexOf('.') + 1), name);
+        }
+    }
+
+    /**
+     * @param name a class name as written in the FXML
+     * @return the class for the name, using the imports of the file
+     * @throws ClassNotFoundException if no import matches the name
+     */
+    private Class<?> resolve(String name) throws ClassNotFoundException {
+        final Class<?> cached = resolved.get(name);
+        if (cached != null) return cached;
+        final List<String> candidates = new ArrayList<>();
+        if (classImports.containsKey(name)) candidates.add(classImports.get(name));
+        if (name.contains(".")) candidates.add(name);
+        for (String packageImport : packageImports) {
+            candidates.add(packageImport + "." + name);
+        }
+        for (String candidate : candidates) {
+            try {
+                final Class<?> type = Class.forName(candidate, false, FxmlCompiler.class.getClassLoader());
+                resolved.put(name, type);
+                return type;
+            } catch (ClassNotFoundException ex) {
+                // try the next import
+            }
+        }
+        throw new ClassNotFoundException(name);
+    }
+
+    /**
+     * emits the code that creates an object element with its attributes and children
+     *
+     * @param element the element
+     * @return the name of the local variable that holds the object
+     * @throws Exception if the element can't be compiled
+     */
+    private String element(Element element) throws Exception {
+        if (fxNamespace.equals(element.getNamespaceURI()) && element.getLocalName().equals("include")) {
+            return include(element);
+        }
+        final Class<?> type = resolve(element.getLocalName());
+        final String variable = "node" + nodeCount++;
+        final Map<String, String> attributes = new LinkedHashMap<>();
+        String fxId = null;
+        final NamedNodeMap attributeNodes = element.getAttributes();
+        for (int i = 0; i < attributeNodes.getLength(); i++) {
+            final Attr attribute = (Attr) attributeNodes.item(i);
+            if ("http://www.w3.org/2000/xmlns/".equals(attribute.getNamespaceURI())) continue;
+            if (fxNamespace.equals(attribute.getNamespaceURI())) {
+                if (attribute.getLocalName().equals("id")) fxId = attribute.getValue();
+                continue;
+            }
+            attributes.put(attribute.getName(), attribute.getValue());
+        }
+
+        final Set<String> constructorArguments = construct(type, variable, attributes);
+        if (fxId != null) {
+            if (hasSetter(type, "id")) line(variable + ".setId(" + quote(fxId) + ");");
+            line("Controllers.ViewLoader.inject(controller, " + quote(fxId) + ", " + variable + ");");
+        }
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            if (constructorArguments.contains(attribute.getKey())) continue;
+            property(type, variable, attribute.getKey(), attribute.getValue());
+        }
+
+        final String defaultProperty = getDefaultProperty(type);
+        final List<String> defaultValues = new ArrayList<>();
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (!(child instanceof Element)) continue;
+            final Element childElement = (Element) child;
+            if (isPropertyElement(childElement)) {
+                final List<String> values = new ArrayList<>();
+                for (Node value = childElement.getFirstChild(); value != null; value = value.getNextSibling()) {
+                    if (value instanceof Element) values.add(element((Element) value));
+                }
+                children(type, variable, childElement.getLocalName(), values);
+            } else {
+                defaultValues.add(element(childElement));
+            }
+        }
+        if (!defaultValues.isEmpty()) {
+            if (defaultProperty == null) throw new IllegalArgumentException(type.getName() + " has no default property");
+            children(type, variable, defaultProperty, defaultValues);
+        }
+        return variable;
+    }
+
+    /**
+     * emits the code for an fx:include, which loads the included view through ViewLoader
+     */
+    private String include(Element element) {
+        final String variable = "node" + nodeCount++;
+        final String source = element.getAttribute("source");
+        final String resource = source.startsWith("/") ? source : resourcePath + "/" + source;
+        line("final javafx.scene.Parent " + variable + " = Controllers.ViewLoader.load(" + quote(resource)
+                + ", null, resources).getRoot();");
+        return variable;
+    }
+
+    /**
+     * emits the constructor call. objects without a no-arg constructor, like Insets, are created with the constructor
+     * whose NamedArg parameters cover the attributes
+     *
+     * @return the attributes that were passed to the constructor
+     */
+    private Set<String> construct(Class<?> type, String variable, Map<String, String> attributes) throws Exception {
+        final String typeName = type.getCanonicalName();
+        try {
+            type.getConstructor();
+            line("final " + typeName + " " + variable + " = new " + typeName + "();");
+            return Set.of();
+        } catch (NoSuchMethodException ex) {
+            // fall through to the named argument constructors
+        }
+        Constructor<?> best = null;
+        for (Constructor<?> constructor : type.getConstructors()) {
+            final Set<String> names = new HashSet<>();
+            boolean named = true;
+            for (Parameter parameter : constructor.getParameters()) {
+                final NamedArg namedArg = parameter.getAnnotation(NamedArg.class);
+                if (namedArg == null) {
+                    named = false;
+                    break;
+                }
+                names.add(namedArg.value());
+            }
+            if (!named || !names.containsAll(instanceAttributes(attributes))) continue;
+            if (best == null || constructor.getParameterCount() < best.getParameterCount()) best = constructor;
+        }
+        if (best == null) throw new IllegalArgumentException("no constructor for " + type.getName() + " " + attributes);
+        final List<String> arguments = new ArrayList<>();
+        final Set<String> used = new HashSet<>();
+        for (Parameter parameter : best.getParameters()) {
+            final NamedArg namedArg = parameter.getAnnotation(NamedArg.class);
+            final String value = attributes.containsKey(namedArg.value())
+                    ? attributes.get(namedArg.value())
+                    : namedArg.defaultValue();
+            arguments.add(value.isEmpty() ? defaultValue(parameter.getType()) : value(parameter.getType(), value));
+            used.add(namedArg.value());
+        }
+        line("final " + typeName + " " + variable + " = new " + typeName + "(" + String.join(", ", arguments) + ");");
+        return used;
+    }
+
+    private static Set<String> instanceAttributes(Map<String, String> attributes) {
+        final Set<String> names = new HashSet<>();
+        for (String name : attributes.keySet()) {
+            if (!isStaticProperty(name)) names.add(name);
+        }
+        return names;
+    }
+
+    /**
+     * emits the setter call for an attribute, or the static setter for attributes like BorderPane.alignment
+     */
+    private void property(Class<?> type, String variable, String name, String value) throws Exception {
+        if (isStaticProperty(name)) {
+            final int dot = name.lastIndexOf('.');
+            final Class<?> owner = resolve(name.substring(0, dot));
+            final String setterName = "set" + capitalize(name.substring(dot + 1));
+            for (Method method : owner.getMethods()) {
+                if (method.getName().equals(setterName)
+                        && Modifier.isStatic(method.getModifiers())
+                        && method.getParameterCount() == 2) {
+                    line(owner.getCanonicalName() + "." + setterName + "(" + variable + ", "
+                            + value(method.getParameterTypes()[1], value) + ");");
+                    return;
+                }
+            }
+            throw new IllegalArgumentException("no static property " + name);
+        }
+        final Method setter = findSetter(type, name);
+        if (setter == null) throw new IllegalArgumentException(type.getName() + " has no property " + name);
+        line(variable + "." + setter.getName() + "(" + value(setter.getParameterTypes()[0], value) + ");");
+    }
+
+    /**
+     * emits the code that adds child elements to a list property or sets a single-valued property
+     */
+    private void children(Class<?> type, String variable, String property, List<String> values) throws Exception {
+        if (values.isEmpty()) return;
+        final Method getter = findGetter(type, property);
+        if (getter != null && List.class.isAssignableFrom(getter.getReturnType())) {
+            line(variable + "." + getter.getName() + "().addAll(" + String.join(", ", values) + ");");
+            return;
+        }
+        final Method setter = findSetter(type, property);
+        if (setter == null || values.size() != 1) {
+            throw new IllegalArgumentException(type.getName() + " can't hold " + values.size() + " " + property);
+        }
+        line(variable + "." + setter.getName() + "(" + values.get(0) + ");");
+    }
+
+    /**
+     * @param type  the type of the parameter
+     * @param value the attribute value
+     * @return a Java expression for the value
+     */
+    private static String value(Class<?> type, String value) {
+        if (value.startsWith("%")) return "resources.getString(" + quote(value.substring(1)) + ")";
+        if (value.startsWith("#") && EventHandler.class.isAssignableFrom(type)) {
+            return "Controllers.ViewLoader.handler(controller, " + quote(value.substring(1)) + ")";
+        }
+        if (type == String.class || type == Object.class) return quote(value);
+        if (type == boolean.class || type == Boolean.class) return Boolean.toString(Boolean.parseBoolean(value));
+        if (type == int.class || type == Integer.class) return Integer.toString(Integer.parseInt(value));
+        if (type == long.class || type == Long.class) return Long.parseLong(value) + "L";
+        if (type == float.class || type == Float.class) return Float.parseFloat(value) + "f";
+        if (type == double.class || type == Double.class) {
+            final double number = Double.parseDouble(value);
+            if (number == Double.NEGATIVE_INFINITY) return "Double.NEGATIVE_INFINITY";
+            if (number == Double.POSITIVE_INFINITY) return "Double.POSITIVE_INFINITY";
+            return Double.toString(number);
+        }
+        if (type.isEnum()) {
+            for (Object constant : type.getEnumConstants()) {
+                if (((Enum<?>) constant).name().equalsIgnoreCase(value.replace('-', '_'))) {
+                    return type.getCanonicalName() + "." + ((Enum<?>) constant).name();
+                }
+            }
+            throw new IllegalArgumentException(value + " is not a " + type.getName());
+        }
+        throw new IllegalArgumentException("unsupported property type " + type.getName());
+    }
+
+    private static String defaultValue(Class<?> type) {
+        if (type == boolean.class) return "false";
+        if (type.isPrimitive()) return type == double.class || type == float.class ? "0.0" : "0";
+        return "null";
+    }
+
+    private static String getDefaultProperty(Class<?> type) {
+        final DefaultProperty annotation = type.getAnnotation(DefaultProperty.class);
+        return annotation == null ? null : annotation.value();
+    }
+
+    private static Method findSetter(Class<?> type, String property) {
+        final String name = "set" + capitalize(property);
+        for (Method method : type.getMethods()) {
+            if (method.getName().equals(name)
+                    && method.getParameterCount() == 1
+                    && !Modifier.isStatic(method.getModifiers())
+                    && !method.isBridge()) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasSetter(Class<?> type, String property) {
+        return findSetter(type, property) != null;
+    }
+
+    private static Method findGetter(Class<?> type, String property) {
+        try {
+            return type.getMethod("get" + capitalize(property));
+        } catch (NoSuchMethodException ex) {
+            return null;
+        }
+    }
+
+    private static boolean isPropertyElement(Element element) {
+        return !fxNamespace.equals(element.getNamespaceURI()) && Character.isLowerCase(element.getLocalName().charAt(0));
+    }
+
+    private static boolean isStaticProperty(String attribute) {
+        return attribute.indexOf('.') > 0 && Character.isUpperCase(attribute.charAt(0));
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static String quote(String value) {
+        final StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    quoted.append("\\\"");
+                    break;
+                case '\\':
+                    quoted.append("\\\\");
+                    break;
+                case '\n':
+                    quoted.append("\\n");
+                    break;
+                default:
+                    quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private void line(String code) {
+        body.append("        ").append(code).append('\n');
+    }
+}
@@ -0,0 +1,205 @@
+package Tools;
+
+import Controllers.Base;
+import Controllers.ReportWriter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * writes the reports of the reports tab to files without starting the user interface, so they can be produced on a
+ * server, e.g. nightly from cron. it shares the queries and formatting with the tab through ReportWriter and connects
+ * like the app does, so -Ddatabase picks the database. the App resource bundle has to be on the classpath for the
+ * headings:
+ * <pre>
+ * java -cp out:$JDBC_DRIVER Tools.ReportRunner reports=1,2 from=2024-01-01 to=2024-02-01 out=reports/2024-01 split=true
+ * </pre>
+ * every report runs on a connection of its own, concurrently with the others, and is streamed into report1.txt,
+ * report2.txt and report3.txt in the output directory. with split=true the schedules of report 2 go to one file per
+ * contact in report2/ instead. files are written under a temporary name and moved into place once complete, so a
+ * reader never sees half a report. the exit status is 1 when any report failed
+ */
+public final class ReportRunner extends Base {
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final Path directory;
+    private final boolean split;
+
+    private ReportRunner(Map<String, String> options) {
+        from = options.get("from").isEmpty() ? null : LocalDate.parse(options.get("from")).atStartOfDay();
+        to = options.get("to").isEmpty() ? null : LocalDate.parse(options.get("to")).atStartOfDay();
+        directory = Paths.get(options.get("out"));
+        split = Boolean.parseBoolean(options.get("split"));
+    }
+
+    /**
+     * lambda1: creates the daemon threads the reports run on
+     * lambda2: runs a report
+     *
+     * @param args any of the name=value options
+     * @throws Exception if the output directory can't be created
+     */
+    public static void main(String[] args) throws Exception {
+        final Map<String, String> options = new LinkedHashMap<>();
+        options.put("reports", "1,2,3");
+        options.put("from", "");
+        options.put("to", "");
+        options.put("out", "reports");
+        options.put("threads", Integer.toString(Runtime.getRuntime().availableProcessors()));
+        options.put("split", "false");
+        for (String arg : args) {
+            final int equals = arg.indexOf('=');
+            if (equals <= 0 || !options.containsKey(arg.substring(0, equals))) {
+                System.err.println("usage: ReportRunner [name=value ...]");
+                System.err.println("from and to are dates, the appointments starting from the first and before the " +
+                        "second are reported. options:");
+                for (Map.Entry<String, String> option : options.entrySet()) {
+                    System.err.println("  " + option.getKey() + " (default " + option.getValue() + ")");
+                }
+                System.exit(2);
+            }
+            options.put(arg.substring(0, equals), arg.substring(equals + 1));
+        }
+        setLocaleAndBundle();
+        final ReportRunner runner = new ReportRunner(options);
+        Files.createDirectories(runner.directory);
+
+        // lambda to create the daemon threads the reports run on
+        final ExecutorService executor = Executors.newFixedThreadPool(Integer.parseInt(options.get("threads")),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "report-runner");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        final Map<String, Future<?>> reports = new LinkedHashMap<>();
+        for (String report : options.get("reports").split(",")) {
+            // lambda to run a report
+            reports.put(report.trim(), executor.submit(() -> {
+                runner.run(report.trim());
+                return null;
+            }));
+        }
+        boolean failed = false;
+        for (Map.Entry<String, Future<?>> report : reports.entrySet()) {
+            try {
+                report.getValue().get();
+                System.out.println("wrote report " + report.getKey());
+            } catch (ExecutionException ex) {
+                failed = true;
+                System.err.println("report " + report.getKey() + " failed");
+                ex.getCause().printStackTrace();
+            }
+        }
+        executor.shutdown();
+        System.exit(failed ? 1 : 0);
+    }
+
+    /**
+     * lambda1: opens the file of the next contact, once the previous one is complete
+     *
+     * @param report the number of the report to write
+     * @throws SQLException any exception while querying
+     * @throws IOException  any exception while writing
+     */
+    private void run(String report) throws SQLException, IOException {
+        try (Connection connection = openConnection()) {
+            final ReportWriter writer = new ReportWriter(connection, from, to);
+            switch (report) {
+                case "1":
+                    try (ReportFile file = new ReportFile(directory.resolve("report1.txt"))) {
+                        writer.writeAppointmentsByMonthAndType(file.writer);
+                        file.commit();
+                    }
+                    break;
+                case "2":
+                    if (split) {
+                        final Path contacts = Files.createDirectories(directory.resolve("report2"));
+                        final List<ReportFile> open = new ArrayList<>(1);
+                        try {
+                            // lambda to open the file of the next contact, once the previous one is complete
+                            writer.writeScheduleByContact(contact -> {
+                                if (!open.isEmpty()) open.remove(0).commitAndClose();
+                                open.add(new ReportFile(contacts.resolve("contact-" + contact.getId() + ".txt")));
+                                return open.get(0).writer;
+                            });
+                            if (!open.isEmpty()) open.remove(0).commitAndClose();
+                        } finally {
+                            for (ReportFile file : open) {
+                                file.close();
+                            }
+                        }
+                    } else {
+                        try (ReportFile file = new ReportFile(directory.resolve("report2.txt"))) {
+                            writer.writeScheduleByContact(contact -> file.writer);
+                            file.commit();
+                        }
+                    }
+                    break;
+                case "3":
+                    try (ReportFile file = new ReportFile(directory.resolve("report3.txt"))) {
+                        writer.writeCustomersByDivision(file.writer);
+                        file.commit();
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("there is no report " + report);
+            }
+        }
+    }
+
+    /**
+     * a report file that is written under a temporary name and only replaces the file when it is committed. closing
+     * it without committing, e.g. after an error, deletes what was written
+     */
+    private static final class ReportFile implements Closeable {
+        private final Path path;
+        private final Path temporary;
+        private final BufferedWriter writer;
+        private boolean committed = false;
+
+        private ReportFile(Path path) throws IOException {
+            this.path = path;
+            temporary = path.resolveSibling(path.getFileName() + ".tmp");
+            writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8);
+        }
+
+        private void commit() throws IOException {
+            writer.close();
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+        }
+
+        private void commitAndClose() throws IOException {
+            try {
+                commit();
+            } finally {
+                close();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (committed) return;
+            writer.close();
+            Files.deleteIfExists(temporary);
+        }
+    }
+}